@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2021 Avaloq Evolution AG and others.
+ * Copyright (c) 2009, 2026 Avaloq Evolution AG and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,7 @@ import org.eclipse.jface.text.IRewriteTarget;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension;
+import org.eclipse.jface.text.ITextViewerExtension10;
 import org.eclipse.jface.text.MultiStringMatcher;
 import org.eclipse.jface.text.MultiStringMatcher.Match;
 import org.eclipse.jface.text.MultiTextSelection;
@@ -423,9 +424,10 @@ public final class SelectionProcessor {
 				TextEdit edit= replace(selection, replacement);
 				if (edit instanceof MultiTextEdit) {
 					int offsetDelta= 0;
+					TextEdit[] children= edit.getChildren();
 					List<IRegion> afterEdit= new ArrayList<>(Math.min(edit.getLength(), selection.getLength()));
-					for (int i= 0; i < Math.min(edit.getChildrenSize(), selection.getLength()); i++) {
-						ReplaceEdit currentEdit= (ReplaceEdit) edit.getChildren()[i];
+					for (int i= 0; i < Math.min(children.length, selection.getLength()); i++) {
+						ReplaceEdit currentEdit= (ReplaceEdit) children[i];
 						offsetDelta+= currentEdit.getText().length() - currentEdit.getRegion().getLength();
 						afterEdit.add(new Region(currentEdit.getOffset() + offsetDelta, 0));
 					}
@@ -791,6 +793,8 @@ public final class SelectionProcessor {
 
 	private IRewriteTarget fRewriteTarget;
 
+	private ITextViewerExtension10 fEditTarget;
+
 	private ISelectionProvider fSelectionProvider;
 
 	private StyledText fStyledText;
@@ -806,6 +810,9 @@ public final class SelectionProcessor {
 			ITextViewerExtension ext= (ITextViewerExtension)viewer;
 			fRewriteTarget= ext.getRewriteTarget();
 		}
+		if (viewer instanceof ITextViewerExtension10) {
+			fEditTarget= (ITextViewerExtension10) viewer;
+		}
 		fSelectionProvider= viewer.getSelectionProvider();
 		fStyledText= viewer.getTextWidget();
 	}
@@ -939,7 +946,7 @@ public final class SelectionProcessor {
 		if (complex && fRewriteTarget != null)
 			fRewriteTarget.beginCompoundChange();
 		try {
-			edit.apply(fDocument, TextEdit.UPDATE_REGIONS);
+			apply(edit);
 			if (fSelectionProvider != null) {
 				ISelection empty= makeDeleteSelection(selection);
 				fSelectionProvider.setSelection(empty);
@@ -964,7 +971,7 @@ public final class SelectionProcessor {
 			fRewriteTarget.beginCompoundChange();
 		try {
 			ISelection newSelection= makeBackspaceSelection(selection);
-			edit.apply(fDocument, TextEdit.UPDATE_REGIONS);
+			apply(edit);
 			if (fSelectionProvider != null) {
 				fSelectionProvider.setSelection(newSelection);
 			}
@@ -988,7 +995,7 @@ public final class SelectionProcessor {
 		if (complex && fRewriteTarget != null)
 			fRewriteTarget.beginCompoundChange();
 		try {
-			edit.apply(fDocument, TextEdit.UPDATE_REGIONS);
+			apply(edit);
 
 			if (fSelectionProvider != null) {
 				ISelection empty= makeReplaceSelection(selection, replacement);
@@ -1000,6 +1007,20 @@ public final class SelectionProcessor {
 		}
 	}
 
+	/**
+	 * Applies the given edit to the underlying document. Edits for many ranges are applied by the
+	 * viewer, if possible, which updates its widget only once for all of them.
+	 *
+	 * @param edit the edit to apply
+	 * @throws BadLocationException if the edit is not valid on the document
+	 */
+	private void apply(TextEdit edit) throws BadLocationException {
+		if (fEditTarget != null && edit.hasChildren())
+			fEditTarget.applyEdit(edit);
+		else
+			edit.apply(fDocument, TextEdit.UPDATE_REGIONS);
+	}
+
 	/**
 	 * Returns the text regions covered by the given selection.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -156,6 +156,9 @@ public final class RevisionPainter {
 
 		private RGB fGradientStop;
 
+		/** Cached gradient from the most recent to the oldest revision. */
+		private RGB[] fGradient;
+
 		/**
 		 * Sets the revision information, which is needed to compute the relative age of a revision.
 		 *
@@ -167,6 +170,7 @@ public final class RevisionPainter {
 			fFocusColors.clear();
 			fGradientStart= null;
 			fGradientStop= null;
+			fGradient= null;
 			if (info == null)
 				return;
 			List<Long> revisions= new ArrayList<>();
@@ -197,8 +201,10 @@ public final class RevisionPainter {
 						fGradientStop= getRGB(JFacePreferences.REVISION_OLDEST_COLOR, BY_DATE_END_COLOR);
 					}
 					// gradient from most recent to oldest
-					RGB[] gradient= Colors.palette(fGradientStart, fGradientStop, fRevisions.size());
-					rgb= gradient[gradient.length - index - 1];
+					if (fGradient == null) {
+						fGradient= Colors.palette(fGradientStart, fGradientStop, fRevisions.size());
+					}
+					rgb= fGradient[fGradient.length - index - 1];
 				}
 				scale= 0.99f;
 			} else if (fRenderingMode == IRevisionRulerColumnExtension.AUTHOR) {
@@ -226,8 +232,19 @@ public final class RevisionPainter {
 
 		private int computeAgeIndex(Revision revision) {
 			long age= computeAge(revision);
-			int index= fRevisions.indexOf(Long.valueOf(age));
-			return index;
+			// first index of age in the sorted list
+			int low= 0;
+			int high= fRevisions.size();
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fRevisions.get(mid).longValue() < age)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			if (low < fRevisions.size() && fRevisions.get(low).longValue() == age)
+				return low;
+			return -1;
 		}
 
 		private RGB getShadedColor(RGB color, float scale, boolean focus) {
@@ -949,7 +966,8 @@ public final class RevisionPainter {
 		if (ranges.isEmpty() || line == -1)
 			return null;
 
-		for (RevisionRange range : ranges) {
+		for (int i= getSearchStart(ranges, line); i < ranges.size() && ranges.get(i).getStartLine() <= line; i++) {
+			RevisionRange range= ranges.get(i);
 			if (contains(range, line))
 				return range;
 		}
@@ -973,7 +991,7 @@ public final class RevisionPainter {
 		// return the interesting subset
 		int end= end(lines);
 		int first= -1, last= -1;
-		for (int i= 0; i < ranges.size(); i++) {
+		for (int i= getSearchStart(ranges, lines.getStartLine()); i < ranges.size(); i++) {
 			RevisionRange range= ranges.get(i);
 			int rangeEnd= end(range);
 			if (first == -1 && rangeEnd > lines.getStartLine())
@@ -991,6 +1009,32 @@ public final class RevisionPainter {
 		return ranges.subList(first, last + 1);
 	}
 
+	/**
+	 * Returns the index of the first range that may contain <code>line</code> or a later line. The
+	 * ranges are sorted by their start line and do not overlap, so the search is a binary search
+	 * for the last range starting at or before <code>line</code>.
+	 *
+	 * @param ranges the sorted revision ranges
+	 * @param line the line of interest
+	 * @return the index to start searching for ranges containing <code>line</code> from
+	 */
+	private static int getSearchStart(List<RevisionRange> ranges, int line) {
+		int low= 0;
+		int high= ranges.size();
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (ranges.get(mid).getStartLine() <= line)
+				low= mid + 1;
+			else
+				high= mid;
+		}
+		int index= Math.max(low - 1, 0);
+		// empty ranges may start at the same line as the range containing it
+		while (index > 0 && end(ranges.get(index - 1)) > line)
+			index--;
+		return index;
+	}
+
 	/**
 	 * Gets all change ranges of the revisions in the revision model and adapts them to the current
 	 * quick diff information. The list is cached.
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.internal.text.source;
+
+import java.util.Arrays;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentPartitioningListener;
+import org.eclipse.jface.text.IDocumentPartitioningListenerExtension2;
+
+
+/**
+ * Index of the pair characters of a document, used by
+ * {@link org.eclipse.jface.text.source.DefaultCharacterPairMatcher} to step from pair character
+ * to pair character instead of over every character of the document.
+ * <p>
+ * The index keeps the sorted offsets of all pair characters of the document, and for the pair
+ * characters whose peer has already been searched the offset of the peer in the matcher's
+ * partitioning. A match query can thus skip nested pairs that have been matched before. The
+ * offsets are updated with every document change; the known peers are forgotten when a change
+ * adds or removes pair characters or changes the partitioning.
+ * </p>
+ * <p>
+ * Each matcher owns its index. The document may be changed in another thread than the one
+ * querying the index: all state is guarded by the index itself, which never calls the document
+ * while holding its lock. A query passes the stamp returned by {@link #prepare()} and fails with a
+ * {@link BadLocationException} once the document or its partitioning has changed since.
+ * </p>
+ */
+public final class CharacterPairIndex implements IDocumentListener, IDocumentPartitioningListener, IDocumentPartitioningListenerExtension2 {
+
+	/** Peer value of a pair character whose peer has not been searched yet. */
+	public static final int UNKNOWN= -2;
+	/** Peer value of a pair character that has no peer. */
+	public static final int NONE= -1;
+
+	private static final int[] NO_OFFSETS= new int[0];
+
+	/** Entry of {@link #fPeers} for a pair character without peer. */
+	private static final int NONE_ENTRY= Integer.MIN_VALUE;
+
+	private final String fPartitioning;
+	private final char[] fPairs;
+
+	private IDocument fDocument;
+
+	/**
+	 * Sorted offsets of the pair characters, valid for the first <code>fSize</code> entries. The
+	 * entries from {@link #fShiftIndex} on are still to be shifted by {@link #fShiftDelta}, see
+	 * {@link #offsetAt(int)}.
+	 */
+	private int[] fOffsets= NO_OFFSETS;
+	private int fSize;
+	/** Index of the first offset the pending shift applies to. */
+	private int fShiftIndex;
+	/** Pending shift of the offsets, accumulated while the document is changed in one place. */
+	private int fShiftDelta;
+	/**
+	 * Distance from each pair character to the index of its peer, or {@link #NONE_ENTRY}. An entry
+	 * is only known if its stamp in {@link #fPeerStamps} is the current {@link #fPeerGeneration}.
+	 */
+	private int[] fPeers= NO_OFFSETS;
+	private int[] fPeerStamps= NO_OFFSETS;
+	/** Incremented whenever the known peers may have become wrong. */
+	private int fPeerGeneration= 1;
+	/** Incremented with every change of the document or its partitioning. */
+	private int fModificationCount;
+	/** Index of the most recently looked up pair character, as searches step through neighbors. */
+	private int fLastIndex;
+	private boolean fValid;
+	private boolean fInChange;
+
+	/**
+	 * Creates a new index.
+	 *
+	 * @param partitioning the partitioning the pairs are matched in
+	 * @param pairs the pair characters, all different
+	 */
+	public CharacterPairIndex(String partitioning, char[] pairs) {
+		fPartitioning= partitioning;
+		fPairs= pairs.clone();
+	}
+
+	/**
+	 * Sets the indexed document, and listens to its changes.
+	 *
+	 * @param document the document to index, or <code>null</code> to stop indexing
+	 */
+	public void setDocument(IDocument document) {
+		IDocument previous;
+		synchronized (this) {
+			previous= fDocument;
+			if (previous == document)
+				return;
+			fDocument= document;
+			fInChange= false;
+			fModificationCount++;
+			invalidate();
+		}
+		if (previous != null) {
+			previous.removeDocumentListener(this);
+			previous.removeDocumentPartitioningListener(this);
+		}
+		if (document != null) {
+			document.addDocumentListener(this);
+			document.addDocumentPartitioningListener(this);
+		}
+	}
+
+	/**
+	 * Returns the indexed document.
+	 *
+	 * @return the document, or <code>null</code> if none
+	 */
+	public synchronized IDocument getDocument() {
+		return fDocument;
+	}
+
+	/**
+	 * Prepares the index for queries, building it from the document if needed.
+	 *
+	 * @return the stamp to pass to the queries, or <code>-1</code> if the index cannot be used
+	 *         because there is no document or it is being changed
+	 */
+	public int prepare() {
+		IDocument document;
+		int stamp;
+		synchronized (this) {
+			if (fDocument == null || fInChange)
+				return -1;
+			if (fValid)
+				return fModificationCount;
+			document= fDocument;
+			stamp= fModificationCount;
+		}
+
+		String text= document.get();
+		int[] offsets= new int[16];
+		int size= 0;
+		for (int i= 0; i < text.length(); i++) {
+			if (isPairCharacter(text.charAt(i))) {
+				if (size == offsets.length)
+					offsets= Arrays.copyOf(offsets, size * 2);
+				offsets[size++]= i;
+			}
+		}
+
+		synchronized (this) {
+			// the document changed while it was read
+			if (document != fDocument || stamp != fModificationCount || fInChange)
+				return -1;
+			fOffsets= offsets;
+			fSize= size;
+			fShiftIndex= 0;
+			fShiftDelta= 0;
+			fPeers= new int[offsets.length];
+			fPeerStamps= new int[offsets.length];
+			fLastIndex= 0;
+			fValid= true;
+			return stamp;
+		}
+	}
+
+	/**
+	 * Returns the offset of the first pair character at or after the given offset when searching
+	 * forward, or at or before it when searching backward.
+	 *
+	 * @param offset the offset to start from
+	 * @param forward the direction of the search
+	 * @param stamp the stamp returned by {@link #prepare()}
+	 * @return the offset of the pair character, or <code>-1</code> if there is none
+	 * @throws BadLocationException if the document has changed since the index was prepared
+	 */
+	public synchronized int findPairCharacter(int offset, boolean forward, int stamp) throws BadLocationException {
+		checkStamp(stamp);
+		int i= forward ? lowerBound(offset) : lowerBound(offset + 1) - 1;
+		if (i < 0 || i >= fSize)
+			return -1;
+		return offsetAt(i);
+	}
+
+	/**
+	 * Returns the known peer of the pair character at the given offset.
+	 *
+	 * @param offset the offset of a pair character
+	 * @param stamp the stamp returned by {@link #prepare()}
+	 * @return the offset of the peer, or {@link #NONE} if the character has no peer, or
+	 *         {@link #UNKNOWN} if the peer has not been searched
+	 * @throws BadLocationException if the document has changed since the index was prepared
+	 */
+	public synchronized int getPeer(int offset, int stamp) throws BadLocationException {
+		checkStamp(stamp);
+		int i= indexOf(offset);
+		if (i == -1 || fPeerStamps[i] != fPeerGeneration)
+			return UNKNOWN;
+		int entry= fPeers[i];
+		if (entry == NONE_ENTRY)
+			return NONE;
+		// the search continues after the peer
+		fLastIndex= i + entry;
+		return offsetAt(fLastIndex);
+	}
+
+	/**
+	 * Remembers the peer of a pair character, or that it has none. Does nothing if the document
+	 * has changed since the index was prepared.
+	 *
+	 * @param offset the offset of a pair character
+	 * @param peer the offset of its peer, or {@link #NONE}
+	 * @param stamp the stamp returned by {@link #prepare()}
+	 */
+	public synchronized void setPeer(int offset, int peer, int stamp) {
+		if (!fValid || stamp != fModificationCount)
+			return;
+		int i= indexOf(offset);
+		if (i == -1)
+			return;
+		if (peer == NONE) {
+			fPeers[i]= NONE_ENTRY;
+			fPeerStamps[i]= fPeerGeneration;
+			return;
+		}
+		int j= indexOf(peer);
+		if (j != -1) {
+			fPeers[i]= j - i;
+			fPeers[j]= i - j;
+			fPeerStamps[i]= fPeerGeneration;
+			fPeerStamps[j]= fPeerGeneration;
+		}
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		IDocument document= event.getDocument();
+		// rebuild once a rewrite session is over instead of updating the index for every change
+		boolean inSession= document instanceof IDocumentExtension4 extension && extension.getActiveRewriteSession() != null;
+		synchronized (this) {
+			if (document != fDocument)
+				return;
+			fInChange= true;
+			fModificationCount++;
+			if (inSession)
+				invalidate();
+		}
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		int offset= event.getOffset();
+		String text= event.getText();
+		int textLength= text != null ? text.length() : 0;
+		int added= 0;
+		for (int i= 0; i < textLength; i++) {
+			if (isPairCharacter(text.charAt(i)))
+				added++;
+		}
+
+		synchronized (this) {
+			if (event.getDocument() != fDocument)
+				return;
+			fInChange= false;
+			if (!fValid)
+				return;
+
+			int removedStart= lowerBound(offset);
+			int removedEnd= lowerBound(offset + event.getLength());
+			moveShift(removedStart);
+			if (added > 0 || removedEnd > removedStart) {
+				// the pairs may have changed
+				fPeerGeneration++;
+				int size= fSize + added - (removedEnd - removedStart);
+				if (size > fOffsets.length) {
+					int capacity= Math.max(size, fOffsets.length * 2);
+					fOffsets= Arrays.copyOf(fOffsets, capacity);
+					fPeers= new int[capacity];
+					fPeerStamps= new int[capacity];
+				}
+				System.arraycopy(fOffsets, removedEnd, fOffsets, removedStart + added, fSize - removedEnd);
+				int k= removedStart;
+				for (int i= 0; i < textLength; i++) {
+					if (isPairCharacter(text.charAt(i)))
+						fOffsets[k++]= offset + i;
+				}
+				fSize= size;
+				fShiftIndex= k;
+			}
+			fShiftDelta+= textLength - event.getLength();
+		}
+	}
+
+	@Override
+	public void documentPartitioningChanged(IDocument document) {
+		synchronized (this) {
+			if (document == fDocument)
+				partitioningChanged();
+		}
+	}
+
+	@Override
+	public void documentPartitioningChanged(DocumentPartitioningChangedEvent event) {
+		if (event.getChangedRegion(fPartitioning) == null)
+			return;
+		synchronized (this) {
+			if (event.getDocument() == fDocument)
+				partitioningChanged();
+		}
+	}
+
+	private void partitioningChanged() {
+		fModificationCount++;
+		fPeerGeneration++;
+	}
+
+	private void checkStamp(int stamp) throws BadLocationException {
+		if (!fValid || stamp != fModificationCount)
+			throw new BadLocationException();
+	}
+
+	private void invalidate() {
+		fValid= false;
+		fOffsets= NO_OFFSETS;
+		fPeers= NO_OFFSETS;
+		fPeerStamps= NO_OFFSETS;
+		fSize= 0;
+		fShiftIndex= 0;
+		fShiftDelta= 0;
+		fLastIndex= 0;
+	}
+
+	private boolean isPairCharacter(char c) {
+		for (char pair : fPairs) {
+			if (c == pair)
+				return true;
+		}
+		return false;
+	}
+
+	private int offsetAt(int i) {
+		return i < fShiftIndex ? fOffsets[i] : fOffsets[i] + fShiftDelta;
+	}
+
+	/**
+	 * Moves the start of the pending shift to the given index, applying the shift only to the
+	 * offsets between the previous and the new start.
+	 *
+	 * @param index the new index of the first shifted offset
+	 */
+	private void moveShift(int index) {
+		if (fShiftDelta != 0) {
+			for (int i= fShiftIndex; i < index; i++)
+				fOffsets[i]+= fShiftDelta;
+			for (int i= index; i < fShiftIndex; i++)
+				fOffsets[i]-= fShiftDelta;
+		}
+		fShiftIndex= index;
+	}
+
+	/**
+	 * Returns the index of the first pair character at or after the given offset.
+	 *
+	 * @param offset the offset
+	 * @return the index, <code>fSize</code> if there is no such pair character
+	 */
+	private int lowerBound(int offset) {
+		for (int i= Math.max(fLastIndex - 1, 0); i <= fLastIndex + 1 && i <= fSize; i++) {
+			if ((i == fSize || offsetAt(i) >= offset) && (i == 0 || offsetAt(i - 1) < offset)) {
+				fLastIndex= i;
+				return i;
+			}
+		}
+		int low= 0;
+		int high= fSize;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (offsetAt(mid) < offset)
+				low= mid + 1;
+			else
+				high= mid;
+		}
+		fLastIndex= low;
+		return low;
+	}
+
+	private int indexOf(int offset) {
+		int i= lowerBound(offset);
+		return i < fSize && offsetAt(i) == offset ? i : -1;
+	}
+}
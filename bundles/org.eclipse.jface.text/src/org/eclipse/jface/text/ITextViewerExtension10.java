@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.TextEdit;
+
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.ITextViewer}. Adds the
+ * ability to apply a text edit touching many ranges of the document, such as the
+ * edits for all carets of a multi or block selection, as one modification of the
+ * viewer.
+ *
+ * @since 3.27
+ */
+public interface ITextViewerExtension10 {
+
+	/**
+	 * Applies the given edit to the viewer's document. All changes of the edit
+	 * are undone by a single undo operation. If the edit consists of many
+	 * changes, they are applied in a document rewrite session and the viewer
+	 * redraws once after all changes have been applied instead of after every
+	 * change.
+	 * <p>
+	 * The regions of the edit are updated to the modified document.
+	 * </p>
+	 *
+	 * @param edit the edit to apply, with offsets of the viewer's document
+	 * @throws BadLocationException if the edit is not valid on the document
+	 * @throws MalformedTreeException if the edit tree is not well formed
+	 */
+	void applyEdit(TextEdit edit) throws BadLocationException, MalformedTreeException;
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -68,6 +68,9 @@ import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.core.runtime.Assert;
 
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.TextEdit;
+
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.internal.text.NonDeletingPositionUpdater;
 import org.eclipse.jface.internal.text.SelectionProcessor;
@@ -114,7 +117,7 @@ import org.eclipse.jface.text.projection.ChildDocumentManager;
  * @noextend This class is not intended to be subclassed by clients.
  */
 public class TextViewer extends Viewer implements
-		ITextViewer, ITextViewerExtension, ITextViewerExtension2, ITextViewerExtension4, ITextViewerExtension6, ITextViewerExtension7, ITextViewerExtension8, ITextViewerExtension9,
+		ITextViewer, ITextViewerExtension, ITextViewerExtension2, ITextViewerExtension4, ITextViewerExtension6, ITextViewerExtension7, ITextViewerExtension8, ITextViewerExtension9, ITextViewerExtension10,
 					IEditingSupportRegistry, ITextOperationTarget, ITextOperationTargetExtension,
 					IWidgetTokenOwner, IWidgetTokenOwnerExtension, IPostSelectionProvider {
 
@@ -123,6 +126,12 @@ public class TextViewer extends Viewer implements
 	/** Internal flag to indicate the debug state. */
 	private static final boolean TRACE_DOUBLE_CLICK= false;
 
+	/**
+	 * Number of changes of an edit from which on {@link #applyEdit(TextEdit)} uses a rewrite
+	 * session, i.e. redraws the widget once instead of updating it for every change.
+	 */
+	private static final int APPLY_EDIT_REWRITE_SESSION_THRESHOLD= 20;
+
 	// FIXME always use setRedraw to avoid flickering due to scrolling
 	// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=158746
 	private static final boolean REDRAW_BUG_158746= true;
@@ -5146,6 +5155,33 @@ public class TextViewer extends Viewer implements
 		return fRewriteTarget;
 	}
 
+	/*
+	 * @see org.eclipse.jface.text.ITextViewerExtension10#applyEdit(org.eclipse.text.edits.TextEdit)
+	 * @since 3.27
+	 */
+	@Override
+	public void applyEdit(TextEdit edit) throws BadLocationException, MalformedTreeException {
+		IDocument document= getDocument();
+		if (document == null)
+			return;
+
+		DocumentRewriteSession rewriteSession= null;
+		IRewriteTarget target= getRewriteTarget();
+		target.beginCompoundChange();
+		try {
+			if (edit.getChildrenSize() >= APPLY_EDIT_REWRITE_SESSION_THRESHOLD && document instanceof IDocumentExtension4) {
+				IDocumentExtension4 extension= (IDocumentExtension4) document;
+				if (extension.getActiveRewriteSession() == null)
+					rewriteSession= extension.startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+			}
+			edit.apply(document, TextEdit.UPDATE_REGIONS);
+		} finally {
+			if (rewriteSession != null)
+				((IDocumentExtension4) document).stopRewriteSession(rewriteSession);
+			target.endCompoundChange();
+		}
+	}
+
 	@Override
 	public ITextHover getCurrentTextHover() {
 		if (fTextHoverManager == null)
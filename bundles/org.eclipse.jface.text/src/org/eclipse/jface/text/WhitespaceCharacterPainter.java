@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 Wind River Systems, Inc., IBM Corporation and others.
+ * Copyright (c) 2006, 2026 Wind River Systems, Inc., IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.swt.custom.StyledTextContent;
 import org.eclipse.swt.events.PaintEvent;
 import org.eclipse.swt.events.PaintListener;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontMetrics;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
@@ -87,6 +88,10 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 	private boolean fShowLineFeed= true;
 	/** @since 3.7 */
 	private int fAlpha= 80;
+	/** The font for which the whitespace signs have been measured, <code>null</code> if none. */
+	private Font fMeasuredFont;
+	/** Whether the space signs are as wide as a space in the measured font. */
+	private boolean fSpaceCharsAreSameWidth;
 
 	/**
 	 * Creates a new painter for the given text viewer.
@@ -144,6 +149,7 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 	public void dispose() {
 		fTextViewer= null;
 		fTextWidget= null;
+		fMeasuredFont= null;
 	}
 
 	@Override
@@ -158,6 +164,7 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 			fTextWidget.addPaintListener(this);
 			redrawAll();
 		} else if (reason == CONFIGURATION || reason == INTERNAL) {
+			fMeasuredFont= null;
 			redrawAll();
 		}
 	}
@@ -189,26 +196,31 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 	 * Draw characters in view range.
 	 */
 	private void handleDrawRequest(GC gc, int x, int y, int w, int h) {
-		int startLine= fTextWidget.getLineIndex(y);
-		int endLine= fTextWidget.getLineIndex(y + h - 1);
-		if (startLine <= endLine && startLine < fTextWidget.getLineCount()) {
+		// only draw into the visible part of the request, without the margins
+		Rectangle clientArea= fTextWidget.getClientArea();
+		int leftMargin= fTextWidget.getLeftMargin();
+		int rightMargin= fTextWidget.getRightMargin();
+		clientArea.x+= leftMargin;
+		clientArea.width-= leftMargin + rightMargin;
+		Rectangle area= new Rectangle(x, y, w, h);
+		area.intersect(clientArea);
+		if (area.isEmpty()) {
+			return;
+		}
 
-			// avoid painting into the margins:
+		int startLine= fTextWidget.getLineIndex(area.y);
+		int endLine= fTextWidget.getLineIndex(area.y + area.height - 1);
+		if (startLine <= endLine && startLine < fTextWidget.getLineCount()) {
 			Rectangle clipping= gc.getClipping();
-			Rectangle clientArea= fTextWidget.getClientArea();
-			int leftMargin= fTextWidget.getLeftMargin();
-			int rightMargin= fTextWidget.getRightMargin();
-			clientArea.x+= leftMargin;
-			clientArea.width-= leftMargin + rightMargin;
-			clipping.intersect(clientArea);
-			gc.setClipping(clientArea);
+			Rectangle drawClipping= clipping.intersection(clientArea);
+			gc.setClipping(drawClipping);
 			if (fIsAdvancedGraphicsPresent) {
 				int alpha= gc.getAlpha();
 				gc.setAlpha(fAlpha);
-				drawLineRange(gc, startLine, endLine, x, w);
+				drawLineRange(gc, startLine, endLine, area.x, area.width, clientArea.width);
 				gc.setAlpha(alpha);
 			} else {
-				drawLineRange(gc, startLine, endLine, x, w);
+				drawLineRange(gc, startLine, endLine, area.x, area.width, clientArea.width);
 			}
 			gc.setClipping(clipping);
 		}
@@ -222,13 +234,21 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 	 * @param endLine last line number (inclusive)
 	 * @param x the X-coordinate of the drawing range
 	 * @param w the width of the drawing range
+	 * @param viewPortWidth the width of the visible text area
 	 */
-	private void drawLineRange(GC gc, int startLine, int endLine, int x, int w) {
-		final int viewPortWidth= fTextWidget.getClientArea().width;
-		int spaceCharWidth= gc.stringExtent(" ").x; //$NON-NLS-1$
-		boolean spaceCharsAreSameWidth= spaceCharWidth == gc.stringExtent(SPACE_SIGN_STRING).x &&
-				spaceCharWidth == gc.stringExtent(IDEOGRAPHIC_SPACE_SIGN_STRING).x;
-		StyleRangeWithMetricsOffsets cache= new StyleRangeWithMetricsOffsets();
+	private void drawLineRange(GC gc, int startLine, int endLine, int x, int w, int viewPortWidth) {
+		Font font= gc.getFont();
+		if (font == null || !font.equals(fMeasuredFont)) {
+			int spaceCharWidth= gc.stringExtent(" ").x; //$NON-NLS-1$
+			fSpaceCharsAreSameWidth= spaceCharWidth == gc.stringExtent(SPACE_SIGN_STRING).x &&
+					spaceCharWidth == gc.stringExtent(IDEOGRAPHIC_SPACE_SIGN_STRING).x;
+			fMeasuredFont= font;
+		}
+		boolean spaceCharsAreSameWidth= fSpaceCharsAreSameWidth;
+		FontMetrics fontMetrics= gc.getFontMetrics();
+		int fontBaseline= fontMetrics.getAscent() + fontMetrics.getLeading();
+		int rangeEndOffset= endLine < fTextWidget.getLineCount() - 1 ? fTextWidget.getOffsetAtLine(endLine + 1) : fTextWidget.getCharCount();
+		StyleRangeWithMetricsOffsets cache= new StyleRangeWithMetricsOffsets(fTextWidget.getOffsetAtLine(startLine), rangeEndOffset);
 		for (int line= startLine; line <= endLine; line++) {
 			int lineOffset= fTextWidget.getOffsetAtLine(line);
 			// line end offset including line delimiter
@@ -277,7 +297,7 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 			}
 			// draw character range
 			if (endOffset > startOffset) {
-				drawCharRange(gc, startOffset, endOffset, lineOffset, lineEndOffset, spaceCharsAreSameWidth, cache);
+				drawCharRange(gc, startOffset, endOffset, lineOffset, lineEndOffset, spaceCharsAreSameWidth, fontBaseline, cache);
 			}
 		}
 	}
@@ -296,8 +316,10 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 	 * @param lineEndOffset exclusive end index of the line
 	 * @param spaceCharsAreSameWidth whether or not all space chars are same width, if <code>true</code>
 	 *            rendering can be optimized
+	 * @param fontBaseline the baseline of the font of the GC
+	 * @param cache the style ranges with metrics of the drawn lines
 	 */
-	private void drawCharRange(GC gc, int startOffset, int endOffset, int lineOffset, int lineEndOffset, boolean spaceCharsAreSameWidth, StyleRangeWithMetricsOffsets cache) {
+	private void drawCharRange(GC gc, int startOffset, int endOffset, int lineOffset, int lineEndOffset, boolean spaceCharsAreSameWidth, int fontBaseline, StyleRangeWithMetricsOffsets cache) {
 		StyledTextContent content= fTextWidget.getContent();
 		String lineText= content.getTextRange(lineOffset, lineEndOffset - lineOffset);
 		int startOffsetInLine= startOffset - lineOffset;
@@ -449,7 +471,7 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 							fg= styleRange.foreground;
 						}
 					}
-					draw(gc, widgetOffset, visibleChar.toString(), fg, cache);
+					draw(gc, widgetOffset, visibleChar.toString(), fg, fontBaseline, cache);
 				}
 				visibleChar.delete(0, visibleChar.length());
 			}
@@ -501,12 +523,12 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 	 * @param offset the widget offset
 	 * @param s the string to be drawn
 	 * @param fg the foreground color
+	 * @param fontBaseline the baseline of the font of the GC
+	 * @param cache the style ranges with metrics of the drawn lines
 	 */
-	private void draw(GC gc, int offset, String s, Color fg,StyleRangeWithMetricsOffsets cache) {
+	private void draw(GC gc, int offset, String s, Color fg, int fontBaseline, StyleRangeWithMetricsOffsets cache) {
 		// Compute baseline delta (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=165640)
 		int baseline= fTextWidget.getBaseline(offset);
-		FontMetrics fontMetrics= gc.getFontMetrics();
-		int fontBaseline= fontMetrics.getAscent() + fontMetrics.getLeading();
 		int baslineDelta= baseline - fontBaseline;
 
 		Point pos= fTextWidget.getLocationAtOffset(offset);
@@ -523,9 +545,26 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 		gc.drawString(s, pos.x, pos.y + baslineDelta, true);
 	}
 
+	/**
+	 * The style ranges with metrics, such as code minings, in a range of the widget, looked up
+	 * when first needed.
+	 */
 	private static class StyleRangeWithMetricsOffsets {
+		private final int fStart;
+		private final int fEnd;
 		private Map<Integer, StyleRange> offsets= null;
 
+		/**
+		 * Creates the style ranges with metrics of the given range.
+		 *
+		 * @param start the start offset of the range in the widget
+		 * @param end the exclusive end offset of the range in the widget
+		 */
+		StyleRangeWithMetricsOffsets(int start, int end) {
+			fStart= start;
+			fEnd= end;
+		}
+
 		public boolean contains(StyledText st, int offset) {
 			if (offsets == null) {
 				fillMap(st);
@@ -546,12 +585,15 @@ public class WhitespaceCharacterPainter implements IPainter, PaintListener {
 
 		private void fillMap(StyledText st) {
 			offsets= new HashMap<>();
-			StyleRange[] ranges= st.getStyleRanges();
+			// the ranges are clipped to the requested range, include the offset before it to recognize
+			// clipped ranges which do not start in the range
+			int start= Math.max(0, fStart - 1);
+			StyleRange[] ranges= st.getStyleRanges(start, Math.min(fEnd, st.getCharCount()) - start);
 			if (ranges == null) {
 				return;
 			}
 			for (StyleRange range : ranges) {
-				if (range != null && range.metrics != null) {
+				if (range != null && range.metrics != null && range.start >= fStart) {
 					offsets.put(range.start, range);
 				}
 			}
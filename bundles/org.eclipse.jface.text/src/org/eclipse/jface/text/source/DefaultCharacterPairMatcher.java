@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,8 @@ import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextUtilities;
 
+import org.eclipse.jface.internal.text.source.CharacterPairIndex;
+
 /**
  * A character pair matcher that matches a specified set of character
  * pairs against each other.  Only characters that occur in the same
@@ -35,6 +37,13 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 	private final CharPairs fPairs;
 	private final String fPartitioning;
 	private final boolean fCaretEitherSideOfBracket;
+	/** Whether the characters of the pairs are all different, so that the peers can be indexed. */
+	private final boolean fIndexable;
+	/**
+	 * The index of the pair characters of the most recently matched document. It listens to that
+	 * document until another document is matched or the matcher is cleared or disposed.
+	 */
+	private CharacterPairIndex fIndex;
 
 	/**
 	 * Creates a new character pair matcher that matches the specified characters within the
@@ -79,6 +88,7 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 		fPairs= new CharPairs(chars);
 		fPartitioning= partitioning;
 		fCaretEitherSideOfBracket= caretEitherSideOfBracket;
+		fIndexable= new String(chars).chars().distinct().count() == chars.length;
 	}
 
 	/**
@@ -152,11 +162,12 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 		//bracket is not selected
 		try {
 			final String partition= TextUtilities.getContentType(document, fPartitioning, offset, false);
-			DocumentPartitionAccessor partDoc= new DocumentPartitionAccessor(document, fPartitioning, partition);
+			CharacterPairIndex index= getIndex(document);
+			DocumentPartitionAccessor partDoc= new DocumentPartitionAccessor(document, fPartitioning, partition, index);
 			IRegion enclosingPeers= findEnclosingPeers(document, partDoc, offset, length, 0, document.getLength());
 			if (enclosingPeers != null)
 				return enclosingPeers;
-			partDoc= new DocumentPartitionAccessor(document, fPartitioning, IDocument.DEFAULT_CONTENT_TYPE);
+			partDoc= new DocumentPartitionAccessor(document, fPartitioning, IDocument.DEFAULT_CONTENT_TYPE, index);
 			return findEnclosingPeers(document, partDoc, offset, length, 0, document.getLength());
 		} catch (BadLocationException ble) {
 			fAnchor= -1;
@@ -304,7 +315,7 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 		final int searchStartPosition= isForward ? caretOffset : (fCaretEitherSideOfBracket ? caretOffset - 1 : caretOffset - 2);
 		final int adjustedOffset= isForward ? caretOffset - 1 : (fCaretEitherSideOfBracket ? caretOffset + 1 : caretOffset);
 		final String partition= TextUtilities.getContentType(doc, fPartitioning, ((!isForward && fCaretEitherSideOfBracket) ? caretOffset : Math.max(caretOffset - 1, 0)), false);
-		final DocumentPartitionAccessor partDoc= new DocumentPartitionAccessor(doc, fPartitioning, partition);
+		final DocumentPartitionAccessor partDoc= new DocumentPartitionAccessor(doc, fPartitioning, partition, getIndex(doc));
 		int endOffset= findMatchingPeer(partDoc, ch, fPairs.getMatching(ch),
 				isForward, isForward ? doc.getLength() : -1, searchStartPosition);
 		if (endOffset == -1)
@@ -329,19 +340,48 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 	 * @throws BadLocationException if the document is accessed with invalid offset or line
 	 */
 	private int findMatchingPeer(DocumentPartitionAccessor doc, char start, char end, boolean searchForward, int boundary, int startPos) throws BadLocationException {
-		int pos= startPos;
+		int origin= startPos + (searchForward ? -1 : 1);
+		boolean cacheable= doc.inPartition(origin);
+		int peer= cacheable ? doc.getPeer(origin) : CharacterPairIndex.UNKNOWN;
+		if (peer != CharacterPairIndex.UNKNOWN)
+			return peer;
+
+		// the offsets of the nested start characters whose peer has not been found yet
+		int[] nested= new int[8];
 		int nestingLevel= 0;
+		int pos= doc.skipToPairCharacter(startPos, searchForward);
 		while (pos != boundary) {
 			final char c= doc.getChar(pos);
 			if (c == end && doc.inPartition(pos)) {
-				if (nestingLevel == 0)
+				if (nestingLevel == 0) {
+					if (cacheable)
+						doc.setPeer(origin, pos);
 					return pos;
+				}
 				nestingLevel--;
+				doc.setPeer(nested[nestingLevel], pos);
 			} else if (c == start && doc.inPartition(pos)) {
-				nestingLevel++;
+				peer= doc.getPeer(pos);
+				if (peer == CharacterPairIndex.NONE)
+					break;
+				if (peer != CharacterPairIndex.UNKNOWN) {
+					// skip the nested pair
+					pos= peer;
+				} else {
+					if (nestingLevel == nested.length) {
+						int[] grown= new int[nestingLevel * 2];
+						System.arraycopy(nested, 0, grown, 0, nestingLevel);
+						nested= grown;
+					}
+					nested[nestingLevel++]= pos;
+				}
 			}
 			pos= doc.getNextPosition(pos, searchForward);
 		}
+		if (cacheable)
+			doc.setPeer(origin, CharacterPairIndex.NONE);
+		for (int i= 0; i < nestingLevel; i++)
+			doc.setPeer(nested[i], CharacterPairIndex.NONE);
 		return -1;
 	}
 
@@ -453,17 +493,41 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 		return -1;
 	}
 
+	/**
+	 * Returns the index of the pair characters of the given document, which then replaces the
+	 * document indexed before.
+	 *
+	 * @param document the document
+	 * @return the index, or <code>null</code> if the pairs cannot be indexed
+	 */
+	private CharacterPairIndex getIndex(IDocument document) {
+		if (!fIndexable)
+			return null;
+		if (fIndex == null)
+			fIndex= new CharacterPairIndex(fPartitioning, fPairs.fPairs);
+		fIndex.setDocument(document);
+		return fIndex;
+	}
+
 	@Override
 	public int getAnchor() {
 		return fAnchor;
 	}
 
 	@Override
-	public void dispose() { }
+	public void dispose() {
+		if (fIndex != null) {
+			fIndex.setDocument(null);
+			fIndex= null;
+		}
+	}
 
 	@Override
 	public void clear() {
 		fAnchor= -1;
+		// stop following the document until the next match
+		if (fIndex != null)
+			fIndex.setDocument(null);
 	}
 
 	/**
@@ -471,11 +535,17 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 	 * partitioning information.  A document is tied to a particular
 	 * partition and, when considering whether or not a position is a
 	 * valid match, only considers position within its partition.
+	 * <p>
+	 * If the document's pair characters are indexed, the accessor steps from
+	 * pair character to pair character and knows the peers found before.
+	 * </p>
 	 */
 	private static class DocumentPartitionAccessor {
 
 		private final IDocument fDocument;
 		private final String fPartitioning, fPartition;
+		private final CharacterPairIndex fIndex;
+		private final int fStamp;
 		private ITypedRegion fCachedPartition;
 		private int fLength;
 
@@ -485,12 +555,16 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 		 * @param doc the document to wrap
 		 * @param partitioning the partitioning used
 		 * @param partition the partition managed by this document
+		 * @param index the index of the pair characters, or <code>null</code>
 		 */
 		public DocumentPartitionAccessor(IDocument doc, String partitioning,
-				String partition) {
+				String partition, CharacterPairIndex index) {
 			fDocument= doc;
 			fPartitioning= partitioning;
 			fPartition= partition;
+			int stamp= index != null ? index.prepare() : -1;
+			fIndex= stamp != -1 ? index : null;
+			fStamp= stamp;
 			fLength= doc.getLength();
 		}
 
@@ -524,8 +598,57 @@ public class DefaultCharacterPairMatcher implements ICharacterPairMatcher, IChar
 		 * @param pos an offset within the document
 		 * @param searchForward the direction of the search
 		 * @return the next position to query
+		 * @throws BadLocationException if the document has changed since the search started
+		 */
+		public int getNextPosition(int pos, boolean searchForward) throws BadLocationException {
+			return skipToPairCharacter(getNextPartitionPosition(pos, searchForward), searchForward);
+		}
+
+		/**
+		 * Returns the position of the first pair character at or after the specified position when
+		 * searching forward, or at or before it when searching backward. Returns the position
+		 * itself if the pair characters are not indexed.
+		 *
+		 * @param pos an offset within the document
+		 * @param searchForward the direction of the search
+		 * @return the position to query, the length of the document or <code>-1</code> if there
+		 *         is no more pair character
+		 * @throws BadLocationException if the document has changed since the search started
 		 */
-		public int getNextPosition(int pos, boolean searchForward) {
+		public int skipToPairCharacter(int pos, boolean searchForward) throws BadLocationException {
+			if (fIndex == null || pos < 0 || pos >= fLength)
+				return pos;
+			int pairCharacter= fIndex.findPairCharacter(pos, searchForward, fStamp);
+			if (pairCharacter == -1)
+				return searchForward ? fLength : -1;
+			return pairCharacter;
+		}
+
+		/**
+		 * Returns the peer of the pair character at the specified position found by an earlier
+		 * search.
+		 *
+		 * @param pos the offset of a pair character in this document's partition
+		 * @return the offset of the peer, {@link CharacterPairIndex#NONE} if there is no peer, or
+		 *         {@link CharacterPairIndex#UNKNOWN} if the peer is not known
+		 * @throws BadLocationException if the document has changed since the search started
+		 */
+		public int getPeer(int pos) throws BadLocationException {
+			return fIndex != null ? fIndex.getPeer(pos, fStamp) : CharacterPairIndex.UNKNOWN;
+		}
+
+		/**
+		 * Remembers the peer of the pair character at the specified position.
+		 *
+		 * @param pos the offset of a pair character in this document's partition
+		 * @param peer the offset of its peer, or {@link CharacterPairIndex#NONE}
+		 */
+		public void setPeer(int pos, int peer) {
+			if (fIndex != null)
+				fIndex.setPeer(pos, peer, fStamp);
+		}
+
+		private int getNextPartitionPosition(int pos, boolean searchForward) {
 			final ITypedRegion partition= getPartition(pos);
 			if (partition == null || fPartition.equals(partition.getType()))
 				return simpleIncrement(pos, searchForward);
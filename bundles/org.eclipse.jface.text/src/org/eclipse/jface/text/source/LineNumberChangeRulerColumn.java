@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -128,11 +128,12 @@ public class LineNumberChangeRulerColumn extends LineNumberRulerColumn implement
 
 	@Override
 	protected String createDisplayString(int line) {
+		if (!fCharacterDisplay || getModel() == null)
+			return fShowNumbers ? super.createDisplayString(line) : ""; //$NON-NLS-1$
 		StringBuilder buffer= new StringBuilder();
 		if (fShowNumbers)
 			buffer.append(super.createDisplayString(line));
-		if (fCharacterDisplay && getModel() != null)
-			buffer.append(fDiffPainter.getDisplayCharacter(line));
+		buffer.append(fDiffPainter.getDisplayCharacter(line));
 		return buffer.toString();
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,6 +61,9 @@ import org.eclipse.jface.text.TextEvent;
  */
 public class LineNumberRulerColumn implements IVerticalRulerColumn {
 
+	/** The number of line number strings kept by {@link #createDisplayString(int)}, a power of two */
+	private static final int DISPLAY_STRING_CACHE_SIZE= 256;
+
 	/**
 	 * Internal listener class.
 	 */
@@ -368,6 +371,12 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 	private Font fFont;
 	/** The indentation cache */
 	private int[] fIndentation;
+	/** The line number strings by line modulo the cache size */
+	private final String[] fDisplayStrings= new String[DISPLAY_STRING_CACHE_SIZE];
+	/** The lines of the strings in <code>fDisplayStrings</code> */
+	private final int[] fDisplayStringLines= new int[DISPLAY_STRING_CACHE_SIZE];
+	/** The font baseline of the GC being painted, <code>-1</code> if not painting */
+	private int fFontBaseline= -1;
 	/** The foreground color */
 	private Color fForeground;
 	/** The background color */
@@ -839,6 +848,16 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 	 * @since 3.2
 	 */
 	void doPaint(GC gc, ILineRange visibleLines) {
+		FontMetrics fm= gc.getFontMetrics();
+		fFontBaseline= fm.getAscent() + fm.getLeading();
+		try {
+			doPaintLines(gc, visibleLines);
+		} finally {
+			fFontBaseline= -1;
+		}
+	}
+
+	private void doPaintLines(GC gc, ILineRange visibleLines) {
 		Display display= fCachedTextWidget.getDisplay();
 
 		int firstWidgetLineToDraw= JFaceTextUtil.modelLineToWidgetLine(fCachedTextViewer, visibleLines.getStartLine());
@@ -885,14 +904,21 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 
 	/**
 	 * Computes the string to be printed for <code>line</code>. The default implementation returns
-	 * <code>Integer.toString(line + 1)</code>.
+	 * <code>Integer.toString(line + 1)</code>, reusing the strings of recently painted lines.
 	 *
 	 * @param line the line number for which the line number string is generated
 	 * @return the string to be printed on the line number bar for <code>line</code>
 	 * @since 3.0
 	 */
 	protected String createDisplayString(int line) {
-		return Integer.toString(line + 1);
+		int index= line & (DISPLAY_STRING_CACHE_SIZE - 1);
+		String s= fDisplayStrings[index];
+		if (s == null || fDisplayStringLines[index] != line) {
+			s= Integer.toString(line + 1);
+			fDisplayStrings[index]= s;
+			fDisplayStringLines[index]= line;
+		}
+		return s;
 	}
 
 	/**
@@ -917,8 +943,11 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 		int offset= fCachedTextWidget.getOffsetAtLine(widgetLine);
 		int widgetBaseline= fCachedTextWidget.getBaseline(offset);
 
-		FontMetrics fm= gc.getFontMetrics();
-		int fontBaseline= fm.getAscent() + fm.getLeading();
+		int fontBaseline= fFontBaseline;
+		if (fontBaseline == -1) {
+			FontMetrics fm= gc.getFontMetrics();
+			fontBaseline= fm.getAscent() + fm.getLeading();
+		}
 		int baselineBias= widgetBaseline - fontBaseline;
 		return Math.max(0, baselineBias);
 	}
@@ -20,8 +20,12 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ResourcesPlugin;
+
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TextSearchResultCache;
 
 public class SearchCorePlugin extends Plugin {
 	/**
@@ -36,6 +40,7 @@ public class SearchCorePlugin extends Plugin {
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private TextSearchResultCache fTextSearchResultCache;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -58,7 +63,13 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		synchronized (this) {
+			if (fTextSearchResultCache != null) {
+				ResourcesPlugin.getWorkspace().removeResourceChangeListener(fTextSearchResultCache);
+				fTextSearchResultCache.clear();
+				fTextSearchResultCache = null;
+			}
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -68,6 +79,14 @@ public class SearchCorePlugin extends Plugin {
 		return fTextSearchEngineRegistry;
 	}
 
+	public synchronized TextSearchResultCache getTextSearchResultCache() {
+		if (fTextSearchResultCache == null) {
+			fTextSearchResultCache = new TextSearchResultCache();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(fTextSearchResultCache, IResourceChangeEvent.POST_CHANGE);
+		}
+		return fTextSearchResultCache;
+	}
+
 	public DirtyFileProvider getDirtyFileDiscovery() {
 		if (fDirtyFileSearchParticipant == null) {
 			this.fDirtyFileSearchParticipantTracker.open();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,13 +17,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.content.IContentDescription;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 
 public class FileCharSequenceProvider {
 
@@ -36,13 +41,29 @@ public class FileCharSequenceProvider {
 	private static int NUMBER_OF_BUFFERS = 3;
 	public static int BUFFER_SIZE = 2 << 18; // public for testing
 
+	/**
+	 * Files up to this size are read as bytes if their content does not need
+	 * decoding, larger files always go through a reader.
+	 */
+	private static final int MAX_BYTE_BUFFER_LENGTH = 1 << 26; // 64MB
+
+	/**
+	 * Byte buffers up to this size are kept for the next file.
+	 */
+	private static final int MAX_REUSED_BYTE_BUFFER_LENGTH = 1 << 23; // 8MB
+
 	private FileCharSequence fReused= null;
+	private ByteBuffer fReusedBytes= null;
 
 	public CharSequence newCharSequence(IFile file) throws CoreException, IOException {
 		String string = toShortString(file);
 		if (string != null) {
 			return string;
 		}
+		CharSequence asciiSequence = toAsciiCharSequence(file);
+		if (asciiSequence != null) {
+			return asciiSequence;
+		}
 		FileCharSequence charSequence = getCharSequence(file);
 		// File too large for String
 		return charSequence;
@@ -59,7 +80,9 @@ public class FileCharSequenceProvider {
 	}
 
 	public void releaseCharSequence(CharSequence seq) throws IOException {
-		if (seq instanceof FileCharSequence) {
+		if (seq instanceof ByteCharSequence byteSequence) {
+			releaseByteBuffer(byteSequence.getBytes());
+		} else if (seq instanceof FileCharSequence) {
 			FileCharSequence curr= (FileCharSequence) seq;
 			try {
 				curr.close();
@@ -235,6 +258,55 @@ public class FileCharSequenceProvider {
 		}
 	}
 
+	/**
+	 * A char sequence on a byte buffer holding only single byte characters.
+	 * Every byte is exposed as the char with the same unsigned value, no
+	 * decoding takes place.
+	 */
+	private static final class ByteCharSequence implements CharSequence {
+		private final ByteBuffer fBytes;
+
+		public ByteCharSequence(ByteBuffer bytes) {
+			fBytes= bytes;
+		}
+
+		@Override
+		public int length() {
+			return fBytes.limit();
+		}
+
+		@Override
+		public char charAt(int index) {
+			// absolute get throws IndexOutOfBoundsException for invalid indices
+			return (char) (fBytes.get(index) & 0xff);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (end < start) {
+				throw new IndexOutOfBoundsException("end cannot be smaller than start"); //$NON-NLS-1$
+			}
+			if (start < 0) {
+				throw new IndexOutOfBoundsException("start must be larger than 0"); //$NON-NLS-1$
+			}
+			if (end > fBytes.limit()) {
+				throw new IndexOutOfBoundsException("end must be smaller or equal than length"); //$NON-NLS-1$
+			}
+			return new ByteCharSequence(fBytes.slice(start, end - start));
+		}
+
+		public ByteBuffer getBytes() {
+			return fBytes;
+		}
+
+		@Override
+		public String toString() {
+			byte[] bytes= new byte[fBytes.limit()];
+			fBytes.get(0, bytes);
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+	}
+
 	private static final class FileCharSequence implements CharSequence {
 		private Reader fReader;
 		private int fReaderPos;
@@ -510,6 +582,96 @@ public class FileCharSequenceProvider {
 		}
 	}
 
+	/*
+	 * Reads the local file into a reusable byte buffer and exposes its bytes
+	 * directly as chars if the file's charset maps every byte to the char of the
+	 * same value. For UTF-8 and US-ASCII this only holds if the file is pure
+	 * ASCII, which is checked upfront. Returns null if the file has to be decoded
+	 * through a reader.
+	 */
+	private CharSequence toAsciiCharSequence(IFile file) {
+		try {
+			IPath location = file.getLocation();
+			if (location == null || !file.isSynchronized(IResource.DEPTH_ZERO)) {
+				return null;
+			}
+			String charset = file.getCharset();
+			boolean isLatin1 = StandardCharsets.ISO_8859_1.name().equals(charset);
+			boolean isUtf8 = StandardCharsets.UTF_8.name().equals(charset);
+			if (!isLatin1 && !isUtf8 && !StandardCharsets.US_ASCII.name().equals(charset)) {
+				return null;
+			}
+			ByteBuffer content;
+			try (FileChannel channel = FileChannel.open(location.toPath(), StandardOpenOption.READ)) {
+				long size = channel.size();
+				if (size > MAX_BYTE_BUFFER_LENGTH) {
+					return null;
+				}
+				content = getByteBuffer((int) size);
+				while (content.hasRemaining() && channel.read(content) != -1) {
+					// read fully
+				}
+				content.flip();
+			}
+			int offset = 0;
+			if (isUtf8 && startsWith(content, IContentDescription.BOM_UTF_8)) {
+				offset = IContentDescription.BOM_UTF_8.length;
+			}
+			content = content.slice(offset, content.limit() - offset);
+			if (!isLatin1 && !isAscii(content)) {
+				releaseByteBuffer(content);
+				return null;
+			}
+			return new ByteCharSequence(content);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private ByteBuffer getByteBuffer(int size) {
+		ByteBuffer buffer = fReusedBytes;
+		fReusedBytes = null;
+		if (buffer == null || buffer.capacity() < size) {
+			buffer = ByteBuffer.allocate(size);
+		}
+		return buffer.clear().limit(size);
+	}
+
+	private void releaseByteBuffer(ByteBuffer slice) {
+		// slices share the backing array, so the whole buffer can be reused
+		if (fReusedBytes == null && slice.hasArray() && slice.array().length <= MAX_REUSED_BYTE_BUFFER_LENGTH) {
+			fReusedBytes = ByteBuffer.wrap(slice.array());
+		}
+	}
+
+	private static boolean isAscii(ByteBuffer buffer) {
+		final long highBits = 0x8080808080808080L;
+		int length = buffer.limit();
+		int i = 0;
+		for (; i + Long.BYTES <= length; i += Long.BYTES) {
+			if ((buffer.getLong(i) & highBits) != 0) {
+				return false;
+			}
+		}
+		for (; i < length; i++) {
+			if (buffer.get(i) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean startsWith(ByteBuffer buffer, byte[] start) {
+		if (buffer.limit() < start.length) {
+			return false;
+		}
+		for (int i = 0; i < start.length; i++) {
+			if (buffer.get(i) != start[i])
+				return false;
+		}
+		return true;
+	}
+
 	private static boolean startsWith(byte[] a, byte[] start) {
 		if (a.length < start.length) {
 			return false;
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.MultiStringMatcher;
+import org.eclipse.jface.text.MultiStringMatcher.Match;
+
+/**
+ * Finds the matches of a search pattern that consists of a literal or an
+ * alternation of literals without going through {@link java.util.regex.Matcher}.
+ * A single literal is searched with the Boyer-Moore-Horspool algorithm, several
+ * literals are searched with a {@link MultiStringMatcher}.
+ * <p>
+ * The matches are the same as the ones the regular expression finds when
+ * {@link java.util.regex.Matcher#find() find} is called repeatedly. Instances
+ * are immutable and can be shared between threads.
+ * </p>
+ */
+public abstract class LiteralMatcher {
+
+	/**
+	 * The characters with a special meaning in a regular expression outside of
+	 * a character class.
+	 */
+	private static final String META_CHARACTERS= "\\[](){}.*+?^$|"; //$NON-NLS-1$
+
+	private static final int UNSUPPORTED_FLAGS= Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.CANON_EQ;
+
+	/**
+	 * Creates a matcher for the given pattern if the pattern only matches
+	 * literals, e.g. because it has been quoted by {@link PatternConstructor}.
+	 *
+	 * @param pattern the search pattern
+	 * @return a matcher finding the same matches as the pattern, or
+	 *         <code>null</code> if the pattern is not a literal or an
+	 *         alternation of literals
+	 */
+	public static LiteralMatcher create(Pattern pattern) {
+		if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0) {
+			return null;
+		}
+		List<String> literals;
+		if ((pattern.flags() & Pattern.LITERAL) != 0) {
+			literals= List.of(pattern.pattern());
+		} else {
+			literals= parseLiterals(pattern.pattern());
+		}
+		if (literals == null || literals.isEmpty() || literals.contains("")) { //$NON-NLS-1$
+			return null;
+		}
+		if (literals.size() == 1) {
+			return new SingleLiteralMatcher(literals.get(0));
+		}
+		// A regular expression takes the first alternative that matches, the
+		// MultiStringMatcher the longest. Both agree if no literal is a prefix
+		// of another one. In a sorted set such a prefix is followed by an
+		// element starting with it.
+		TreeSet<String> sorted= new TreeSet<>(literals);
+		String previous= null;
+		for (String literal : sorted) {
+			if (previous != null && literal.startsWith(previous)) {
+				return null;
+			}
+			previous= literal;
+		}
+		if (sorted.size() == 1) {
+			return new SingleLiteralMatcher(sorted.first());
+		}
+		return new MultipleLiteralsMatcher(MultiStringMatcher.create(sorted.toArray(new String[sorted.size()])));
+	}
+
+	/**
+	 * Splits a regular expression into the literals of a top level
+	 * alternation.
+	 *
+	 * @param regex the regular expression
+	 * @return the literals, or <code>null</code> if the expression contains
+	 *         constructs other than quoted or plain characters and top level
+	 *         alternations
+	 */
+	private static List<String> parseLiterals(String regex) {
+		List<String> literals= new ArrayList<>();
+		StringBuilder current= new StringBuilder();
+		int length= regex.length();
+		int i= 0;
+		while (i < length) {
+			char ch= regex.charAt(i);
+			if (ch == '\\') {
+				if (i + 1 >= length) {
+					return null;
+				}
+				char ch1= regex.charAt(i + 1);
+				if (ch1 == 'Q') {
+					int end= regex.indexOf("\\E", i + 2); //$NON-NLS-1$
+					if (end == -1) {
+						current.append(regex, i + 2, length);
+						i= length;
+					} else {
+						current.append(regex, i + 2, end);
+						i= end + 2;
+					}
+				} else if (!Character.isLetterOrDigit(ch1)) {
+					// a backslash before a non-alphabetic character quotes it
+					current.append(ch1);
+					i+= 2;
+				} else {
+					// escaped constructs like \b, \d, \R or back references
+					return null;
+				}
+			} else if (ch == '|') {
+				literals.add(current.toString());
+				current.setLength(0);
+				i++;
+			} else if (META_CHARACTERS.indexOf(ch) != -1) {
+				return null;
+			} else {
+				current.append(ch);
+				i++;
+			}
+		}
+		literals.add(current.toString());
+		return literals;
+	}
+
+	/**
+	 * Returns the leftmost match in the text at or after the given offset.
+	 *
+	 * @param text the text to search
+	 * @param offset the offset to start searching at
+	 * @return the match or <code>null</code> if there is no further match
+	 */
+	public abstract Match indexOf(CharSequence text, int offset);
+
+	private static final class LiteralMatch implements Match {
+		private final String fText;
+		private final int fOffset;
+
+		public LiteralMatch(String text, int offset) {
+			fText= text;
+			fOffset= offset;
+		}
+
+		@Override
+		public String getText() {
+			return fText;
+		}
+
+		@Override
+		public int getOffset() {
+			return fOffset;
+		}
+	}
+
+	private static final class SingleLiteralMatcher extends LiteralMatcher {
+		private static final int SHIFT_TABLE_SIZE= 256;
+
+		private final String fLiteral;
+
+		/**
+		 * Horspool shifts indexed by the low byte of a character. Characters
+		 * sharing a low byte use the smallest of their shifts, which is always
+		 * safe.
+		 */
+		private final int[] fShifts;
+
+		public SingleLiteralMatcher(String literal) {
+			fLiteral= literal;
+			int last= literal.length() - 1;
+			fShifts= new int[SHIFT_TABLE_SIZE];
+			for (int i= 0; i < SHIFT_TABLE_SIZE; i++) {
+				fShifts[i]= literal.length();
+			}
+			for (int i= 0; i < last; i++) {
+				// later characters give smaller shifts
+				fShifts[literal.charAt(i) & (SHIFT_TABLE_SIZE - 1)]= last - i;
+			}
+		}
+
+		@Override
+		public Match indexOf(CharSequence text, int offset) {
+			String literal= fLiteral;
+			int last= literal.length() - 1;
+			char lastChar= literal.charAt(last);
+			int end= text.length() - last;
+			int pos= offset;
+			while (pos < end) {
+				char ch= text.charAt(pos + last);
+				if (ch == lastChar && regionMatches(text, pos, last)) {
+					return new LiteralMatch(literal, pos);
+				}
+				pos+= fShifts[ch & (SHIFT_TABLE_SIZE - 1)];
+			}
+			return null;
+		}
+
+		private boolean regionMatches(CharSequence text, int pos, int length) {
+			for (int i= 0; i < length; i++) {
+				if (text.charAt(pos + i) != fLiteral.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class MultipleLiteralsMatcher extends LiteralMatcher {
+		private final MultiStringMatcher fMatcher;
+
+		public MultipleLiteralsMatcher(MultiStringMatcher matcher) {
+			fMatcher= matcher;
+		}
+
+		@Override
+		public Match indexOf(CharSequence text, int offset) {
+			return fMatcher.indexOf(text, offset);
+		}
+	}
+}
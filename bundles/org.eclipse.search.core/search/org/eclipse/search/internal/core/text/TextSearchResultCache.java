@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Caches the matches of text searches per file, so that running the same
+ * search again only has to scan the files that have changed since.
+ * <p>
+ * The results of a search are stored under a key that identifies the pattern
+ * and the search options. For every file the cache remembers the
+ * {@link IFile#getModificationStamp() modification stamp} and the
+ * {@link IFile#getCharset() charset} the file had when it was searched, the
+ * offsets and lengths of the matches and the lines containing them. An entry
+ * is only valid as long as the file still has this modification stamp and
+ * charset, is in sync with the file system and is not modified in an open
+ * editor. Files that are dirty in an editor, out of sync or without a
+ * modification stamp are never cached. Entries of removed and replaced files
+ * and of files whose charset changed are dropped when the cache is registered
+ * as resource change listener.
+ * </p>
+ * <p>
+ * The memory used by all searches is estimated, and the least recently used
+ * searches are evicted when the estimate exceeds the limit.
+ * </p>
+ * This class is thread safe.
+ */
+public class TextSearchResultCache implements IResourceChangeListener {
+
+	private static final long DEFAULT_MEMORY_LIMIT= 32L << 20; // 32MB
+
+	private static final int FILE_ENTRY_OVERHEAD= 96; // entry, map node and arrays
+	private static final int LINE_OVERHEAD= 48; // String and array slots
+
+	/**
+	 * The matches found in one file, together with the lines containing them.
+	 */
+	public static final class FileMatches {
+		private static final int[] EMPTY= new int[0];
+		private static final String[] NO_LINES= new String[0];
+
+		private final long fModificationStamp;
+		private final String fCharset;
+		private final int[] fOffsets;
+		private final int[] fLengths;
+		private final int[] fLineIndices;
+		private final int[] fLineNumbers;
+		private final int[] fLineOffsets;
+		private final String[] fLineContents;
+
+		/**
+		 * Creates the entry for a file without matches.
+		 *
+		 * @param modificationStamp the modification stamp of the searched file
+		 * @param charset the charset the file has been decoded with
+		 */
+		public FileMatches(long modificationStamp, String charset) {
+			this(modificationStamp, charset, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, NO_LINES);
+		}
+
+		/**
+		 * Creates the entry for a file with matches.
+		 *
+		 * @param modificationStamp the modification stamp of the searched file
+		 * @param charset the charset the file has been decoded with
+		 * @param offsets the match offsets
+		 * @param lengths the match lengths
+		 * @param lineIndices for each match the index of its line in the line
+		 *            arrays
+		 * @param lineNumbers the line numbers
+		 * @param lineOffsets the offsets of the lines
+		 * @param lineContents the contents of the lines
+		 */
+		public FileMatches(long modificationStamp, String charset, int[] offsets, int[] lengths, int[] lineIndices, int[] lineNumbers, int[] lineOffsets, String[] lineContents) {
+			fModificationStamp= modificationStamp;
+			fCharset= charset;
+			fOffsets= offsets;
+			fLengths= lengths;
+			fLineIndices= lineIndices;
+			fLineNumbers= lineNumbers;
+			fLineOffsets= lineOffsets;
+			fLineContents= lineContents;
+		}
+
+		public int getMatchCount() {
+			return fOffsets.length;
+		}
+
+		public int getOffset(int match) {
+			return fOffsets[match];
+		}
+
+		public int getLength(int match) {
+			return fLengths[match];
+		}
+
+		public int getLineIndex(int match) {
+			return fLineIndices[match];
+		}
+
+		public int getLineCount() {
+			return fLineNumbers.length;
+		}
+
+		public int getLineNumber(int line) {
+			return fLineNumbers[line];
+		}
+
+		public int getLineOffset(int line) {
+			return fLineOffsets[line];
+		}
+
+		public String getLineContents(int line) {
+			return fLineContents[line];
+		}
+
+		long getModificationStamp() {
+			return fModificationStamp;
+		}
+
+		String getCharset() {
+			return fCharset;
+		}
+
+		long estimateSize() {
+			long size= FILE_ENTRY_OVERHEAD + 12L * fOffsets.length + 8L * fLineNumbers.length;
+			for (String line : fLineContents) {
+				size+= LINE_OVERHEAD + 2L * line.length();
+			}
+			return size;
+		}
+	}
+
+	/**
+	 * The cached matches of one search.
+	 */
+	public final class QueryResult {
+		private final Map<IFile, FileMatches> fFiles= new ConcurrentHashMap<>();
+		private long fEstimatedSize; // protected by the cache
+		private boolean fEvicted; // protected by the cache
+
+		/**
+		 * Returns the cached matches of the file if they are still valid.
+		 *
+		 * @param file the file
+		 * @return the matches or <code>null</code> if the file has to be
+		 *         searched
+		 */
+		public FileMatches get(IFile file) {
+			FileMatches matches= fFiles.get(file);
+			if (matches == null) {
+				return null;
+			}
+			if (matches.getModificationStamp() != file.getModificationStamp() || !hasCharset(file, matches.getCharset()) || !isCacheable(file)) {
+				remove(file);
+				return null;
+			}
+			return matches;
+		}
+
+		/**
+		 * Stores the matches found in a file, unless the file is dirty in an
+		 * editor, out of sync with the file system or has no modification
+		 * stamp or charset.
+		 *
+		 * @param file the file that has been searched
+		 * @param matches the matches found in the file
+		 */
+		public void put(IFile file, FileMatches matches) {
+			if (matches.getModificationStamp() == IResource.NULL_STAMP || matches.getCharset() == null || !isCacheable(file)) {
+				return;
+			}
+			synchronized (TextSearchResultCache.this) {
+				if (fEvicted) {
+					return;
+				}
+				FileMatches old= fFiles.put(file, matches);
+				sizeChanged(this, matches.estimateSize() - (old != null ? old.estimateSize() : 0));
+			}
+		}
+
+		void remove(IFile file) {
+			synchronized (TextSearchResultCache.this) {
+				FileMatches old= fFiles.remove(file);
+				if (old != null) {
+					sizeChanged(this, -old.estimateSize());
+				}
+			}
+		}
+
+		private void evict() {
+			fEvicted= true;
+			fFiles.clear();
+		}
+	}
+
+	private final long fMemoryLimit;
+	private final LinkedHashMap<Object, QueryResult> fQueries; // protected by this, in access order
+	private long fEstimatedSize; // protected by this
+
+	public TextSearchResultCache() {
+		this(DEFAULT_MEMORY_LIMIT);
+	}
+
+	public TextSearchResultCache(long memoryLimit) {
+		fMemoryLimit= memoryLimit;
+		fQueries= new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns the cached result of the search with the given key, creating an
+	 * empty one if there is none.
+	 *
+	 * @param key identifies the pattern and the options of the search; must
+	 *            implement <code>equals</code> and <code>hashCode</code>
+	 * @return the cached result
+	 */
+	public synchronized QueryResult getQueryResult(Object key) {
+		return fQueries.computeIfAbsent(key, k -> new QueryResult());
+	}
+
+	/**
+	 * Drops the cached result of the search with the given key, e.g. because
+	 * the search has been canceled and the result is incomplete.
+	 *
+	 * @param key the key of the search
+	 */
+	public synchronized void removeQueryResult(Object key) {
+		QueryResult removed= fQueries.remove(key);
+		if (removed != null) {
+			fEstimatedSize-= removed.fEstimatedSize;
+			removed.evict();
+		}
+	}
+
+	/**
+	 * Drops the cached matches of the given file from all searches.
+	 *
+	 * @param file the file that has been changed or removed
+	 */
+	public void invalidate(IFile file) {
+		QueryResult[] queries;
+		synchronized (this) {
+			queries= fQueries.values().toArray(new QueryResult[fQueries.size()]);
+		}
+		for (QueryResult query : queries) {
+			query.remove(file);
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		synchronized (this) {
+			if (fQueries.isEmpty()) {
+				return;
+			}
+		}
+		try {
+			delta.accept(d -> {
+				if (d.getResource() instanceof IFile file) {
+					if (d.getKind() == IResourceDelta.REMOVED || (d.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0) {
+						invalidate(file);
+					}
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+	}
+
+	public synchronized void clear() {
+		for (QueryResult query : fQueries.values()) {
+			query.evict();
+		}
+		fQueries.clear();
+		fEstimatedSize= 0;
+	}
+
+	private synchronized void sizeChanged(QueryResult query, long delta) {
+		query.fEstimatedSize+= delta;
+		if (query.fEvicted) {
+			return;
+		}
+		fEstimatedSize+= delta;
+		Iterator<QueryResult> iterator= fQueries.values().iterator(); // least recently used first
+		while (fEstimatedSize > fMemoryLimit && iterator.hasNext()) {
+			QueryResult eldest= iterator.next();
+			iterator.remove();
+			fEstimatedSize-= eldest.fEstimatedSize;
+			eldest.evict();
+		}
+	}
+
+	private static boolean isCacheable(IFile file) {
+		return file.getModificationStamp() != IResource.NULL_STAMP && file.isSynchronized(IResource.DEPTH_ZERO) && !isDirty(file);
+	}
+
+	private static boolean hasCharset(IFile file, String charset) {
+		// also changes with the default charset of the containers, which leaves the modification stamp alone
+		try {
+			return charset.equals(file.getCharset());
+		} catch (CoreException e) {
+			return false;
+		}
+	}
+
+	private static boolean isDirty(IFile file) {
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+		return buffer != null && buffer.isDirty();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,8 @@ import java.nio.charset.UnsupportedCharsetException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +57,7 @@ import org.eclipse.core.filebuffers.ITextFileBufferManager;
 import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.MultiStringMatcher.Match;
 
 import org.eclipse.search.core.text.TextSearchMatchAccess;
 import org.eclipse.search.core.text.TextSearchRequestor;
@@ -211,6 +214,7 @@ public class TextSearchVisitor {
 						}
 						charsequence = fileCharSequenceProvider.newCharSequence(file);
 						if (reportTextOnly && hasBinaryContent(charsequence)) {
+							releaseCharSequence(charsequence);
 							return Status.OK_STATUS;
 						}
 						occurences = locateMatches(file, charsequence, matcher, monitor);
@@ -237,11 +241,7 @@ public class TextSearchVisitor {
 					fCollector.flushMatches(duplicateFiles);
 				}
 				if (document == null) {
-					try {
-						fileCharSequenceProvider.releaseCharSequence(charsequence);
-					} catch (IOException e) {
-						SearchCorePlugin.log(e);
-					}
+					releaseCharSequence(charsequence);
 				}
 			} catch (UnsupportedCharsetException e) {
 				Object[] args= { getCharSetName(file), file.getFullPath().makeRelative().toString()};
@@ -279,6 +279,14 @@ public class TextSearchVisitor {
 			return Status.OK_STATUS;
 		}
 
+		private void releaseCharSequence(CharSequence charsequence) {
+			try {
+				fileCharSequenceProvider.releaseCharSequence(charsequence);
+			} catch (IOException e) {
+				SearchCorePlugin.log(e);
+			}
+		}
+
 		public Map<IFile, IDocument> getDocumentsInEditors() {
 			return fDocumentsInEditors;
 		}
@@ -288,6 +296,7 @@ public class TextSearchVisitor {
 
 	private final TextSearchRequestor fCollector;
 	private final Pattern fSearchPattern;
+	private final LiteralMatcher fLiteralMatcher; // null if the pattern is not literal
 
 	private volatile IProgressMonitor fProgressMonitor;
 
@@ -308,6 +317,7 @@ public class TextSearchVisitor {
 				SearchCoreMessages.TextSearchEngine_statusMessage, null);
 
 		fSearchPattern= searchPattern;
+		fLiteralMatcher= searchPattern.pattern().isEmpty() ? null : LiteralMatcher.create(searchPattern);
 
 		fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 		fileBatches = new ConcurrentLinkedQueue<>();
@@ -351,7 +361,11 @@ public class TextSearchVisitor {
 					filesByLocation.computeIfAbsent(key, k -> new ArrayList<>()).add(file);
 
 				}
-				localFilesByLocation.values().forEach(fileBatches::offer);
+				List<List<IFile>> localBatches = new ArrayList<>(localFilesByLocation.values());
+				if (jobCount > 1) {
+					sortLargestFirst(localBatches);
+				}
+				localBatches.forEach(fileBatches::offer);
 				remoteFilesByLocation.values().forEach(fileBatches::offer);
 				int numberOfFilesToScan = fileBatches.size();
 				fProgressMonitor.beginTask(taskName, numberOfFilesToScan);
@@ -419,13 +433,32 @@ public class TextSearchVisitor {
 			fProgressMonitor.done();
 			fCollector.endReporting();
 			if (TRACING) {
-				Object[] args= { Integer.valueOf(fNumberOfScannedFiles), Integer.valueOf(jobCount), Integer.valueOf(NUMBER_OF_LOGICAL_THREADS), Long.valueOf(System.currentTimeMillis() - startTime) };
+				Object[] args= { Integer.valueOf(fNumberOfScannedFiles), Integer.valueOf(jobCount), Integer.valueOf(NUMBER_OF_LOGICAL_THREADS), Long.valueOf(System.currentTimeMillis() - startTime), fLiteralMatcher != null ? "literal" : "regex" }; //$NON-NLS-1$ //$NON-NLS-2$
 				System.out.println(MessageFormat.format(
-						"[TextSearch] Search duration for {0} files in {1} jobs using {2} threads: {3}ms", args)); //$NON-NLS-1$
+						"[TextSearch] Search duration for {0} files in {1} jobs using {2} threads ({4} matcher): {3}ms", args)); //$NON-NLS-1$
 			}
 		}
 	}
 
+	/**
+	 * Sorts the batches of local files by decreasing file size. All jobs take
+	 * their next batch from the shared queue, so scanning the largest files
+	 * first keeps a few huge files from being left to a single job at the end
+	 * while the other jobs are already idle. Batches of the same size keep
+	 * their order.
+	 *
+	 * @param batches batches of files with the same location
+	 */
+	private static void sortLargestFirst(List<List<IFile>> batches) {
+		Map<List<IFile>, Long> sizes = new IdentityHashMap<>(batches.size());
+		for (List<IFile> batch : batches) {
+			IPath location = batch.get(0).getLocation();
+			// length() is 0 if the file does not exist (anymore)
+			sizes.put(batch, Long.valueOf(location == null ? 0 : location.toFile().length()));
+		}
+		batches.sort(Comparator.comparing((List<IFile> batch) -> sizes.get(batch)).reversed());
+	}
+
 	private Map<IFile, IDocument> findDirtyFiles() {
 		if (fDirtyDiscovery != null) {
 			Map<IFile, IDocument> ret = fDirtyDiscovery.dirtyFiles();
@@ -478,6 +511,9 @@ public class TextSearchVisitor {
 	}
 
 	private List<TextSearchMatchAccess> locateMatches(IFile file, CharSequence searchInput, Matcher matcher, IProgressMonitor monitor) throws CoreException {
+		if (fLiteralMatcher != null) {
+			return locateLiteralMatches(file, searchInput, monitor);
+		}
 		List<TextSearchMatchAccess> occurences= null;
 		matcher.reset(searchInput);
 		// Check for cancellation before calling matcher.find() since that call
@@ -505,6 +541,31 @@ public class TextSearchVisitor {
 	}
 
 
+	private List<TextSearchMatchAccess> locateLiteralMatches(IFile file, CharSequence searchInput, IProgressMonitor monitor) throws CoreException {
+		List<TextSearchMatchAccess> occurences= null;
+		int offset= 0;
+		Match match;
+		while (!monitor.isCanceled() && (match= fLiteralMatcher.indexOf(searchInput, offset)) != null) {
+			if (occurences == null) {
+				occurences= new ArrayList<>();
+			}
+			int start= match.getOffset();
+			int length= match.getText().length();
+			ReusableMatchAccess access= new ReusableMatchAccess();
+			access.initialize(file, start, length, searchInput);
+			occurences.add(access);
+			boolean res= fCollector.acceptPatternMatch(access);
+			if (!res) {
+				return occurences; // no further reporting requested
+			}
+			offset= start + length;
+		}
+		if (occurences == null) {
+			occurences= Collections.emptyList();
+		}
+		return occurences;
+	}
+
 	private String getExceptionMessage(Exception e) {
 		String message= e.getLocalizedMessage();
 		if (message == null) {
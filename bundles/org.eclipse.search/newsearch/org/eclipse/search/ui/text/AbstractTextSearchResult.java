@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,8 +21,6 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -42,7 +40,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 
 	private static final Match[] EMPTY_ARRAY= new Match[0];
 
-	private final ConcurrentMap<Object, Set<Match>> fElementsToMatches;
+	private final ConcurrentMap<Object, ElementMatches> fElementsToMatches;
 	private final List<ISearchResultListener> fListeners;
 	private final MatchEvent fMatchEvent;
 	private final AtomicInteger matchCount;
@@ -79,11 +77,9 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return EMPTY_ARRAY;
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		ElementMatches matches = fElementsToMatches.get(element);
 		if (matches != null) {
-			Match[] sortingCopy = matches.toArray(new Match[matches.size()]);
-			Arrays.sort(sortingCopy, AbstractTextSearchResult::compare);
-			return sortingCopy;
+			return matches.toArray();
 		}
 		return EMPTY_ARRAY;
 	}
@@ -104,9 +100,9 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return Collections.emptyEnumeration();
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		ElementMatches matches = fElementsToMatches.get(element);
 		if (matches != null) {
-			return Collections.enumeration(matches);
+			return Collections.enumeration(Arrays.asList(matches.toArray()));
 		}
 		return Collections.emptyEnumeration();
 	}
@@ -160,14 +156,17 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	private boolean didAddMatch(Match match) {
 		matchCount.set(0);
 		updateFilterState(match);
-		return fElementsToMatches.computeIfAbsent(match.getElement(), k -> ConcurrentHashMap.newKeySet()).add(match);
-	}
-
-	private static int compare(Match match2, Match match1) {
-		int diff= match2.getOffset()-match1.getOffset();
-		if (diff != 0)
-			return diff;
-		return match2.getLength()-match1.getLength();
+		boolean[] added = new boolean[1];
+		// add while mapped so that a concurrent removal of the last match
+		// cannot drop the element with the new match
+		fElementsToMatches.compute(match.getElement(), (e, matches) -> {
+			if (matches == null) {
+				matches = new ElementMatches();
+			}
+			added[0] = matches.add(match);
+			return matches;
+		});
+		return added[0];
 	}
 
 	/**
@@ -313,7 +312,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		}
 		// The oldCount is zero here => we have to calculate again
 		int newCount = 0;
-		for (Set<Match> element : fElementsToMatches.values()) {
+		for (ElementMatches element : fElementsToMatches.values()) {
 			newCount += element.size();
 		}
 		if (matchCount.compareAndSet(0, newCount)) {
@@ -329,8 +328,8 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	 * @since 3.17
 	 */
 	public boolean hasMatches() {
-		for (Entry<Object, Set<Match>> entry : fElementsToMatches.entrySet()) {
-			if (!entry.getValue().isEmpty()) {
+		for (ElementMatches matches : fElementsToMatches.values()) {
+			if (!matches.isEmpty()) {
 				return true;
 			}
 		}
@@ -349,7 +348,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return 0;
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		ElementMatches matches = fElementsToMatches.get(element);
 		if (matches != null)
 			return matches.size();
 		return 0;
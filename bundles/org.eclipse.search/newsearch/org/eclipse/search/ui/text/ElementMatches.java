@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.ui.text;
+
+import java.util.Arrays;
+
+/**
+ * The matches reported against one element of an {@link AbstractTextSearchResult}.
+ * <p>
+ * The matches are kept in an array sorted by offset and length. Compared to a
+ * hash set this costs one reference per match instead of one entry object, and
+ * sorted copies for navigation don't need sorting. Matches are usually
+ * reported in increasing offset order, so adding them is an append.
+ * </p>
+ * <p>
+ * Offsets and lengths of matches may change after they have been added, e.g.
+ * when the position tracker of the file search follows document changes. Such
+ * changes keep the relative order of the matches of a document. The order is
+ * nevertheless verified before reading and restored if necessary, and
+ * removing matches falls back to a linear search.
+ * </p>
+ * This class is thread safe.
+ */
+final class ElementMatches {
+
+	private static final int INITIAL_CAPACITY= 4;
+
+	private Match[] fMatches;
+	private int fSize;
+
+	ElementMatches() {
+		fMatches= new Match[INITIAL_CAPACITY];
+		fSize= 0;
+	}
+
+	/**
+	 * Adds the given match if it is not contained yet.
+	 *
+	 * @param match the match to add
+	 * @return <code>true</code> if the match has been added
+	 */
+	synchronized boolean add(Match match) {
+		int index;
+		if (fSize == 0 || compare(fMatches[fSize - 1], match) < 0) {
+			index= fSize; // append
+		} else {
+			ensureSorted();
+			index= indexOf(match);
+			if (index >= 0) {
+				return false;
+			}
+			index= -(index + 1);
+		}
+		if (fSize == fMatches.length) {
+			fMatches= Arrays.copyOf(fMatches, fSize + (fSize >> 1) + 1);
+		}
+		System.arraycopy(fMatches, index, fMatches, index + 1, fSize - index);
+		fMatches[index]= match;
+		fSize++;
+		return true;
+	}
+
+	/**
+	 * Removes the given match.
+	 *
+	 * @param match the match to remove
+	 * @return <code>true</code> if the match was contained
+	 */
+	synchronized boolean remove(Match match) {
+		int index= indexOf(match);
+		if (index < 0) {
+			// the order may be outdated
+			index= -1;
+			for (int i= 0; i < fSize; i++) {
+				if (fMatches[i] == match) {
+					index= i;
+					break;
+				}
+			}
+			if (index < 0) {
+				return false;
+			}
+		}
+		System.arraycopy(fMatches, index + 1, fMatches, index, fSize - index - 1);
+		fMatches[--fSize]= null;
+		if (fSize < fMatches.length >> 2 && fMatches.length > INITIAL_CAPACITY) {
+			fMatches= Arrays.copyOf(fMatches, Math.max(fSize << 1, INITIAL_CAPACITY));
+		}
+		return true;
+	}
+
+	synchronized int size() {
+		return fSize;
+	}
+
+	synchronized boolean isEmpty() {
+		return fSize == 0;
+	}
+
+	/**
+	 * @return a copy of the matches sorted by offset and length
+	 */
+	synchronized Match[] toArray() {
+		ensureSorted();
+		return Arrays.copyOf(fMatches, fSize);
+	}
+
+	/**
+	 * Returns the index of the match by binary search for its offset and
+	 * length, followed by an identity check of the matches with the same
+	 * offset and length.
+	 *
+	 * @param match the match to find
+	 * @return the index of the match, or <code>-(insertion point) - 1</code>
+	 *         if it is not contained
+	 */
+	private int indexOf(Match match) {
+		int low= 0;
+		int high= fSize;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (compare(fMatches[mid], match) < 0) {
+				low= mid + 1;
+			} else {
+				high= mid;
+			}
+		}
+		for (int i= low; i < fSize && compare(fMatches[i], match) == 0; i++) {
+			if (fMatches[i] == match) {
+				return i;
+			}
+		}
+		return -(low + 1);
+	}
+
+	private void ensureSorted() {
+		for (int i= 1; i < fSize; i++) {
+			if (compare(fMatches[i - 1], fMatches[i]) > 0) {
+				Arrays.sort(fMatches, 0, fSize, ElementMatches::compare);
+				return;
+			}
+		}
+	}
+
+	static int compare(Match match1, Match match2) {
+		int diff= Integer.compare(match1.getOffset(), match2.getOffset());
+		if (diff != 0)
+			return diff;
+		return Integer.compare(match1.getLength(), match2.getLength());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,8 @@ import java.util.regex.Pattern;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.core.resources.IFile;
@@ -35,7 +37,11 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.search.core.text.TextSearchEngine;
 import org.eclipse.search.core.text.TextSearchMatchAccess;
 import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.internal.core.SearchCorePlugin;
 import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TextSearchResultCache;
+import org.eclipse.search.internal.core.text.TextSearchResultCache.FileMatches;
+import org.eclipse.search.internal.core.text.TextSearchResultCache.QueryResult;
 import org.eclipse.search.internal.ui.Messages;
 import org.eclipse.search.internal.ui.SearchMessages;
 import org.eclipse.search.ui.ISearchQuery;
@@ -56,14 +62,24 @@ public class FileSearchQuery implements ISearchQuery {
 
 		private final boolean fIsLightweightAutoRefresh;
 		private final ConcurrentHashMap<IFile, ArrayList<FileMatch>> fCachedMatches;
+		private final QueryResult fResultCache; // may be null
+		private final ConcurrentHashMap<IFile, Long> fModificationStamps;
+		private final ConcurrentHashMap<IFile, String> fCharsets;
 		private volatile boolean stop;
 
 		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries) {
+			this(result, isFileSearchOnly, searchInBinaries, null);
+		}
+
+		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries, QueryResult resultCache) {
 			fResult= result;
 			fIsFileSearchOnly= isFileSearchOnly;
 			fSearchInBinaries= searchInBinaries;
 			fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 			fCachedMatches = new ConcurrentHashMap<>();
+			fResultCache= resultCache;
+			fModificationStamps= new ConcurrentHashMap<>();
+			fCharsets= new ConcurrentHashMap<>();
 		}
 
 		@Override
@@ -79,6 +95,15 @@ public class FileSearchQuery implements ISearchQuery {
 			if (fIsFileSearchOnly) {
 				fResult.addMatch(new FileMatch(file));
 			}
+			if (fResultCache != null) {
+				// the stamp and charset of the content that is going to be searched
+				fModificationStamps.put(file, Long.valueOf(file.getModificationStamp()));
+				try {
+					fCharsets.put(file, file.getCharset());
+				} catch (CoreException e) {
+					// the matches of the file are not cached
+				}
+			}
 			return true;
 		}
 
@@ -174,6 +199,8 @@ public class FileSearchQuery implements ISearchQuery {
 			stop = true;
 			flushMatches();
 			fCachedMatches.clear();
+			fModificationStamps.clear();
+			fCharsets.clear();
 		}
 
 		@Override
@@ -182,6 +209,44 @@ public class FileSearchQuery implements ISearchQuery {
 			if (matches != null && !matches.isEmpty()) {
 				fResult.addMatches(matches.toArray(new Match[matches.size()]));
 			}
+			Long modificationStamp= fModificationStamps.remove(file);
+			String charset= fCharsets.remove(file);
+			if (fResultCache != null && modificationStamp != null && charset != null) {
+				fResultCache.put(file, toFileMatches(modificationStamp.longValue(), charset, matches));
+			}
+		}
+
+		private static FileMatches toFileMatches(long modificationStamp, String charset, List<FileMatch> matches) {
+			if (matches == null || matches.isEmpty()) {
+				return new FileMatches(modificationStamp, charset);
+			}
+			int matchCount= matches.size();
+			int[] offsets= new int[matchCount];
+			int[] lengths= new int[matchCount];
+			int[] lineIndices= new int[matchCount];
+			List<LineElement> lines= new ArrayList<>();
+			for (int i= 0; i < matchCount; i++) {
+				FileMatch match= matches.get(i);
+				offsets[i]= match.getOffset();
+				lengths[i]= match.getLength();
+				// matches are collected in offset order
+				LineElement line= match.getLineElement();
+				if (lines.isEmpty() || lines.get(lines.size() - 1) != line) {
+					lines.add(line);
+				}
+				lineIndices[i]= lines.size() - 1;
+			}
+			int lineCount= lines.size();
+			int[] lineNumbers= new int[lineCount];
+			int[] lineOffsets= new int[lineCount];
+			String[] lineContents= new String[lineCount];
+			for (int i= 0; i < lineCount; i++) {
+				LineElement line= lines.get(i);
+				lineNumbers[i]= line.getLine();
+				lineOffsets[i]= line.getOffset();
+				lineContents[i]= line.getContents();
+			}
+			return new FileMatches(modificationStamp, charset, offsets, lengths, lineIndices, lineNumbers, lineOffsets, lineContents);
 		}
 
 		private void flushMatches() {
@@ -233,8 +298,75 @@ public class FileSearchQuery implements ISearchQuery {
 
 		Pattern searchPattern= getSearchPattern();
 
-		TextSearchResultCollector collector= new TextSearchResultCollector(textResult, isFileNameSearch(), fSearchInBinaries);
-		return TextSearchEngine.create().search(fScope, collector, searchPattern, monitor);
+		if (isFileNameSearch()) {
+			TextSearchResultCollector collector= new TextSearchResultCollector(textResult, true, fSearchInBinaries);
+			return TextSearchEngine.create().search(fScope, collector, searchPattern, monitor);
+		}
+		return runCached(textResult, searchPattern, monitor);
+	}
+
+	/**
+	 * Reports the cached matches of all files in the scope that have not
+	 * changed since the last run of the same search, and searches only the
+	 * other files.
+	 */
+	private IStatus runCached(AbstractTextSearchResult textResult, Pattern searchPattern, IProgressMonitor monitor) {
+		TextSearchResultCache cache= SearchCorePlugin.getDefault().getTextSearchResultCache();
+		Object cacheKey= getResultCacheKey(searchPattern);
+		QueryResult cachedResult= cache.getQueryResult(cacheKey);
+
+		MultiStatus status= new MultiStatus(NewSearchUI.PLUGIN_ID, IStatus.OK, SearchMessages.TextSearchEngine_statusMessage, null);
+		IFile[] files= fScope.evaluateFilesInScope(status);
+		List<IFile> filesToSearch= new ArrayList<>();
+		for (IFile file : files) {
+			FileMatches cached= cachedResult.get(file);
+			if (cached == null) {
+				filesToSearch.add(file);
+			} else if (cached.getMatchCount() > 0) {
+				textResult.addMatches(createMatches(file, cached));
+			}
+		}
+
+		TextSearchResultCollector collector= new TextSearchResultCollector(textResult, false, fSearchInBinaries, cachedResult);
+		try {
+			IStatus searchStatus= TextSearchEngine.create().search(filesToSearch.toArray(new IFile[filesToSearch.size()]), collector, searchPattern, monitor);
+			status.merge(searchStatus);
+		} catch (OperationCanceledException e) {
+			// the matches of the file being searched may be incomplete
+			cache.removeQueryResult(cacheKey);
+			throw e;
+		}
+		if (monitor != null && monitor.isCanceled()) {
+			cache.removeQueryResult(cacheKey);
+		}
+		return status;
+	}
+
+	/**
+	 * Returns the key of this search in the {@link TextSearchResultCache}.
+	 *
+	 * @return the key of the cached matches
+	 */
+	public Object getResultCacheKey() {
+		return getResultCacheKey(getSearchPattern());
+	}
+
+	private Object getResultCacheKey(Pattern searchPattern) {
+		// The scope is not part of the key: the files in the scope are
+		// evaluated on every run, the matches of a file don't depend on it.
+		return List.of(searchPattern.pattern(), Integer.valueOf(searchPattern.flags()), Boolean.valueOf(fSearchInBinaries));
+	}
+
+	private static Match[] createMatches(IFile file, FileMatches cached) {
+		LineElement[] lines= new LineElement[cached.getLineCount()];
+		for (int i= 0; i < lines.length; i++) {
+			lines[i]= new LineElement(file, cached.getLineNumber(i), cached.getLineOffset(i), cached.getLineContents(i));
+		}
+		Match[] matches= new Match[cached.getMatchCount()];
+		for (int i= 0; i < matches.length; i++) {
+			matches[i]= new FileMatch(file, cached.getOffset(i), cached.getLength(i), lines[cached.getLineIndex(i)]);
+		}
+		return matches;
 	}
 
 	private boolean isScopeAllFileTypes() {
@@ -15,7 +15,9 @@
 package org.eclipse.search.internal.ui.text;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
@@ -86,17 +88,29 @@ public class FileTableContentProvider implements IStructuredContentProvider, IFi
 		TableViewer viewer= getViewer();
 		int elementLimit= getElementLimit();
 		boolean tableLimited= elementLimit != -1;
+		// collect the changes to pass them to the viewer in one call each,
+		// the same element may be reported more than once
+		Set<Object> added= new LinkedHashSet<>();
+		Set<Object> updated= new LinkedHashSet<>();
+		Set<Object> removed= new LinkedHashSet<>();
+		int itemCount= viewer.getTable().getItemCount();
 		for (Object updatedElement : updatedElements) {
 			if (fPage.getDisplayedMatchCount(updatedElement) > 0) {
 				if (viewer.contains(updatedElement))
-					viewer.update(updatedElement, null);
+					updated.add(updatedElement);
 				else {
-					if (!tableLimited || viewer.getTable().getItemCount() < elementLimit)
-						viewer.add(updatedElement);
+					if (!tableLimited || itemCount + added.size() < elementLimit)
+						added.add(updatedElement);
 				}
 			} else
-				viewer.remove(updatedElement);
+				removed.add(updatedElement);
 		}
+		if (!removed.isEmpty())
+			viewer.remove(removed.toArray());
+		if (!added.isEmpty())
+			viewer.add(added.toArray());
+		if (!updated.isEmpty())
+			viewer.update(updated.toArray(), null);
 	}
 
 	private int getElementLimit() {
@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
@@ -120,6 +122,34 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 		}
 	}
 
+	/**
+	 * Like {@link #insert(Object, boolean)}, but records the viewer changes in
+	 * the given batch instead of applying them.
+	 *
+	 * @param child the element to insert
+	 * @param batch the batch collecting the viewer changes
+	 */
+	private void insert(Object child, ViewerBatch batch) {
+		Object parent= getParent(child);
+		while (parent != null) {
+			if (insertChild(parent, child)) {
+				batch.add(parent, child);
+			} else {
+				// the match count of both may have changed
+				batch.update(child);
+				batch.update(parent);
+				return;
+			}
+			child= parent;
+			parent= getParent(child);
+		}
+		if (insertChild(fResult, child)) {
+			batch.add(fResult, child);
+		} else {
+			batch.update(child);
+		}
+	}
+
 	/**
 	 * Adds the child to the parent.
 	 *
@@ -295,15 +325,17 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 					.map(fResult::getMatchSet).flatMap(FileTreeContentProvider::toStream)
 					.map(m -> ((FileMatch) m).getLineElement()).collect(Collectors.toSet());
 		}
+		ViewerBatch batch= singleElement ? null : new ViewerBatch();
 		try {
 			for (Object updatedElement : updatedElements) {
 				if (!(updatedElement instanceof LineElement)) {
 					// change events to elements are reported in file search.
 					// ask the page to determine if element is filtered.
 					if (getMatchCount(updatedElement) > 0) {
-						insert(updatedElement, singleElement);
+						insert(updatedElement, singleElement, batch);
 					} else {
 						remove(updatedElement, singleElement);
+						batch= null; // removals need a refresh
 					}
 				} else {
 					// change events to line elements are reported in text
@@ -314,16 +346,68 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 						if (singleElement && hasChild(lineElement.getParent(), lineElement)) {
 							fTreeViewer.update(new Object[] { lineElement, lineElement.getParent() }, null);
 						} else {
-							insert(lineElement, singleElement);
+							insert(lineElement, singleElement, batch);
 						}
 					} else {
 						remove(lineElement, singleElement);
+						batch= null; // removals need a refresh
 					}
 				}
 			}
 		} finally {
 			if (updatedElements.length > 0 && !singleElement) {
-				fTreeViewer.refresh();
+				if (batch != null) {
+					batch.apply();
+				} else {
+					fTreeViewer.refresh();
+				}
+			}
+		}
+	}
+
+	private void insert(Object child, boolean refreshViewer, ViewerBatch batch) {
+		if (batch != null) {
+			insert(child, batch);
+		} else {
+			insert(child, refreshViewer);
+		}
+	}
+
+	/**
+	 * The viewer changes caused by a batch of added matches. Passing them to
+	 * the viewer with one call per parent avoids a refresh of the whole tree
+	 * for every batch while a search is running.
+	 */
+	private class ViewerBatch {
+		private final Map<Object, Set<Object>> fAdded= new LinkedHashMap<>();
+		private final Set<Object> fUpdated= new LinkedHashSet<>();
+
+		void add(Object parent, Object child) {
+			fAdded.computeIfAbsent(parent, p -> new LinkedHashSet<>()).add(child);
+		}
+
+		void update(Object element) {
+			fUpdated.add(element);
+		}
+
+		void apply() {
+			int elementLimit= getElementLimit();
+			for (Map.Entry<Object, Set<Object>> entry : fAdded.entrySet()) {
+				Object parent= entry.getKey();
+				Set<Object> children= fChildrenMap.get(parent);
+				if (elementLimit != -1 && children != null && children.size() > elementLimit) {
+					// let the content provider choose the children to show
+					if (parent == fResult) {
+						fTreeViewer.refresh();
+						return;
+					}
+					fTreeViewer.refresh(parent);
+				} else {
+					fTreeViewer.add(parent, entry.getValue().toArray());
+				}
+			}
+			if (!fUpdated.isEmpty()) {
+				fTreeViewer.update(fUpdated.toArray(), null);
 			}
 		}
 	}
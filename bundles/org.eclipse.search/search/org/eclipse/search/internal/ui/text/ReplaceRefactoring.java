@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2023 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
+import java.io.IOException;
 import java.net.URI;
 import java.text.Collator;
 import java.util.ArrayList;
@@ -21,8 +22,11 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -34,11 +38,18 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.core.runtime.preferences.IScopeContext;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.core.filebuffers.FileBuffers;
@@ -50,11 +61,12 @@ import org.eclipse.text.edits.MultiTextEdit;
 import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEditGroup;
 
-import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextUtilities;
 
+import org.eclipse.search.internal.core.text.DocumentCharSequence;
+import org.eclipse.search.internal.core.text.FileCharSequenceProvider;
 import org.eclipse.search.internal.core.text.PatternConstructor;
 import org.eclipse.search.internal.ui.Messages;
 import org.eclipse.search.internal.ui.SearchMessages;
@@ -85,6 +97,39 @@ public class ReplaceRefactoring extends Refactoring {
 		}
 	}
 
+	/**
+	 * The replace edits of one file, computed before the {@link TextFileChange}
+	 * is created.
+	 */
+	private static class Replacements {
+		final IFile fFile;
+		final long fModificationStamp;
+		final List<FileMatch> fMatches= new ArrayList<>();
+		final List<ReplaceEdit> fEdits= new ArrayList<>();
+		int fChangedMatchCount;
+		CoreException fException;
+		PatternSyntaxException fPatternSyntaxException;
+
+		Replacements(IFile file) {
+			fFile= file;
+			fModificationStamp= file.getModificationStamp();
+		}
+
+		void add(FileMatch match, ReplaceEdit edit) {
+			fMatches.add(match);
+			fEdits.add(edit);
+		}
+
+		/**
+		 * @return <code>false</code> if the file has been changed or opened
+		 *         since the replacements have been computed from its content
+		 */
+		boolean isValid() {
+			return fModificationStamp == fFile.getModificationStamp()
+					&& FileBuffers.getTextFileBufferManager().getTextFileBuffer(fFile.getFullPath(), LocationKind.IFILE) == null;
+		}
+	}
+
 	public static class SearchResultUpdateChange extends Change {
 
 		private MatchGroup[] fMatchGroups;
@@ -367,22 +412,36 @@ public class ReplaceRefactoring extends Refactoring {
 		if (resultingStatus.hasFatalError()) {
 			return resultingStatus;
 		}
-		progress.setWorkRemaining(workSize);
+		progress.setWorkRemaining(workSize + workSize / 2);
 		CompositeChange compositeChange= new CompositeChange(SearchMessages.ReplaceRefactoring_composite_change_name);
 		compositeChange.markAsSynthetic();
 
 		ArrayList<MatchGroup> matchGroups= new ArrayList<>();
 		boolean hasChanges= false;
 		try {
-			for (IFile file : allFiles) {
+			Replacements[] replacements= computeReplacementsInParallel(allFiles, pattern, progress.split(workSize / 2));
+			for (int i= 0; i < allFiles.length; i++) {
+				IFile file= allFiles[i];
 				progress.checkCanceled();
 				Set<FileMatch> bucket= fMatches.get(file);
 				if (!bucket.isEmpty()) {
 					try {
-						TextChange change = createFileChange(file, pattern, bucket, resultingStatus, matchGroups,
-								progress);
-						if (change != null) {
-							compositeChange.add(change);
+						Replacements fileReplacements= replacements[i];
+						if (fileReplacements != null && fileReplacements.fException != null) {
+							throw fileReplacements.fException;
+						}
+						if (fileReplacements != null && fileReplacements.fPatternSyntaxException != null) {
+							throw fileReplacements.fPatternSyntaxException;
+						}
+						if (fileReplacements == null || !fileReplacements.isValid()) {
+							// open in an editor, or changed since it has been read
+							fileReplacements= computeReplacementsFromBuffer(file, pattern, bucket, resultingStatus, progress);
+						}
+						if (fileReplacements != null) {
+							for (int k= 0; k < fileReplacements.fChangedMatchCount; k++) {
+								resultingStatus.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
+							}
+							compositeChange.add(createFileChange(file, fileReplacements, matchGroups));
 							hasChanges= true;
 						}
 					} catch (CoreException e) {
@@ -427,13 +486,97 @@ public class ReplaceRefactoring extends Refactoring {
 		resultingStatus.merge(ResourceChangeChecker.checkFilesToBeChanged(filesToBeChanged, null));
 	}
 
-	private TextChange createFileChange(IFile file, Pattern pattern, Set<FileMatch> matches,
-			RefactoringStatus resultingStatus, Collection<MatchGroup> matchGroups, SubMonitor pm)
-			throws PatternSyntaxException, CoreException {
-		PositionTracker tracker= InternalSearchUI.getInstance().getPositionTracker();
+	/**
+	 * Computes the replacements of all files that are not open in an editor in
+	 * parallel jobs. The files are read without connecting file buffers, and
+	 * each job keeps only the content of the file it is working on.
+	 *
+	 * @param files the files to change
+	 * @param pattern the search pattern for regular expression replaces, or
+	 *            <code>null</code>
+	 * @param pm the progress monitor
+	 * @return for each file its replacements, or <code>null</code> if the file
+	 *         has to be read from its file buffer
+	 */
+	private Replacements[] computeReplacementsInParallel(IFile[] files, Pattern pattern, SubMonitor pm) {
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		ConcurrentLinkedQueue<Integer> queue= new ConcurrentLinkedQueue<>();
+		for (int i= 0; i < files.length; i++) {
+			if (manager.getTextFileBuffer(files[i].getFullPath(), LocationKind.IFILE) == null) {
+				queue.add(Integer.valueOf(i));
+			}
+		}
+		Replacements[] replacements= new Replacements[files.length];
+		int fileCount= queue.size();
+		pm.setWorkRemaining(fileCount);
+		if (fileCount == 0) {
+			return replacements;
+		}
+		AtomicInteger processed= new AtomicInteger();
+		int jobCount= Math.min(Runtime.getRuntime().availableProcessors(), fileCount);
+		// Seed count over 1 can cause endless waits, see bug 543629 comment 2
+		JobGroup jobGroup= new JobGroup(SearchMessages.ReplaceRefactoring_refactoring_name, jobCount, 1);
+		for (int j= 0; j < jobCount; j++) {
+			Job job= Job.create(SearchMessages.ReplaceRefactoring_refactoring_name, monitor -> {
+				FileCharSequenceProvider provider= new FileCharSequenceProvider();
+				Integer index;
+				while ((index= queue.poll()) != null && !monitor.isCanceled()) {
+					int i= index.intValue();
+					replacements[i]= computeReplacementsFromFile(provider, files[i], pattern, fMatches.get(files[i]));
+					processed.incrementAndGet();
+				}
+				return Status.OK_STATUS;
+			});
+			job.setSystem(true);
+			job.setJobGroup(jobGroup);
+			job.schedule();
+		}
+		int reported= 0;
+		try {
+			while (!jobGroup.join(100, null)) {
+				if (pm.isCanceled()) {
+					jobGroup.cancel();
+					jobGroup.join(0, null);
+					throw new OperationCanceledException();
+				}
+				int done= processed.get();
+				pm.worked(done - reported);
+				reported= done;
+			}
+		} catch (InterruptedException e) {
+			jobGroup.cancel();
+			throw new OperationCanceledException();
+		}
+		pm.checkCanceled();
+		return replacements;
+	}
 
-		TextFileChange change= new TextFileChange(Messages.format(SearchMessages.ReplaceRefactoring_group_label_change_for_file, file.getName()), file);
-		change.setEdit(new MultiTextEdit());
+	private Replacements computeReplacementsFromFile(FileCharSequenceProvider provider, IFile file, Pattern pattern, Set<FileMatch> matches) {
+		Replacements replacements= new Replacements(file);
+		if (matches.isEmpty()) {
+			return replacements;
+		}
+		try {
+			CharSequence content= provider.newCharSequence(file);
+			try {
+				String lineDelimiter= pattern != null ? getLineDelimiter(file, content) : null;
+				computeReplacements(replacements, content, lineDelimiter, pattern, matches, null);
+			} finally {
+				provider.releaseCharSequence(content);
+			}
+		} catch (CoreException e) {
+			replacements.fException= e;
+		} catch (IOException | FileCharSequenceProvider.FileCharSequenceException e) {
+			replacements.fException= new CoreException(Status.error(e.getLocalizedMessage(), e));
+		} catch (PatternSyntaxException e) {
+			replacements.fPatternSyntaxException= e;
+		}
+		return replacements;
+	}
+
+	private Replacements computeReplacementsFromBuffer(IFile file, Pattern pattern, Set<FileMatch> matches,
+			RefactoringStatus resultingStatus, SubMonitor pm) throws PatternSyntaxException, CoreException {
+		PositionTracker tracker= InternalSearchUI.getInstance().getPositionTracker();
 
 		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
 		manager.connect(file.getFullPath(), LocationKind.IFILE, null);
@@ -443,52 +586,101 @@ public class ReplaceRefactoring extends Refactoring {
 				resultingStatus.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_accessing_file_buffer, file.getName()));
 				return null;
 			}
+			pm.checkCanceled();
 			IDocument document= textFileBuffer.getDocument();
 			String lineDelimiter= TextUtilities.getDefaultLineDelimiter(document);
+			Replacements replacements= new Replacements(file);
+			computeReplacements(replacements, new DocumentCharSequence(document), lineDelimiter, pattern, matches, tracker);
+			return replacements;
+		} finally {
+			manager.disconnect(file.getFullPath(), LocationKind.IFILE, null);
+		}
+	}
 
-			for (FileMatch match : matches) {
-				pm.checkCanceled();
-				int offset= match.getOffset();
-				int length= match.getLength();
-				Position currentPosition= tracker.getCurrentPosition(match);
-				if (currentPosition != null) {
-					offset= currentPosition.offset;
-					if (length != currentPosition.length) {
-						resultingStatus.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
-						continue;
-					}
-				}
-
-				String originalText= getOriginalText(document, offset, length);
-				if (originalText == null) {
-					resultingStatus.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
+	private void computeReplacements(Replacements replacements, CharSequence content, String lineDelimiter, Pattern pattern,
+			Set<FileMatch> matches, PositionTracker tracker) throws PatternSyntaxException {
+		// edits in offset order are appended to the MultiTextEdit
+		FileMatch[] sortedMatches= matches.toArray(new FileMatch[matches.size()]);
+		Arrays.sort(sortedMatches, Comparator.comparingInt(FileMatch::getOffset));
+		for (FileMatch match : sortedMatches) {
+			int offset= match.getOffset();
+			int length= match.getLength();
+			Position currentPosition= tracker != null ? tracker.getCurrentPosition(match) : null;
+			if (currentPosition != null) {
+				offset= currentPosition.offset;
+				if (length != currentPosition.length) {
+					replacements.fChangedMatchCount++;
 					continue;
 				}
+			}
 
-				String replacementString= computeReplacementString(pattern, originalText, fReplaceString, lineDelimiter);
-				if (replacementString == null) {
-					resultingStatus.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
-					continue;
-				}
+			String originalText= getOriginalText(content, offset, length);
+			if (originalText == null) {
+				replacements.fChangedMatchCount++;
+				continue;
+			}
 
-				ReplaceEdit replaceEdit= new ReplaceEdit(offset, length, replacementString);
-				change.addEdit(replaceEdit);
-				TextEditChangeGroup textEditChangeGroup= new TextEditChangeGroup(change, new TextEditGroup(SearchMessages.ReplaceRefactoring_group_label_match_replace, replaceEdit));
-				change.addTextEditChangeGroup(textEditChangeGroup);
-				matchGroups.add(new MatchGroup(textEditChangeGroup, match));
+			String replacementString= computeReplacementString(pattern, originalText, fReplaceString, lineDelimiter);
+			if (replacementString == null) {
+				replacements.fChangedMatchCount++;
+				continue;
 			}
-		} finally {
-			manager.disconnect(file.getFullPath(), LocationKind.IFILE, null);
+			replacements.add(match, new ReplaceEdit(offset, length, replacementString));
+		}
+	}
+
+	private static TextChange createFileChange(IFile file, Replacements replacements, Collection<MatchGroup> matchGroups) {
+		TextFileChange change= new TextFileChange(Messages.format(SearchMessages.ReplaceRefactoring_group_label_change_for_file, file.getName()), file);
+		change.setEdit(new MultiTextEdit());
+		for (int i= 0; i < replacements.fEdits.size(); i++) {
+			ReplaceEdit replaceEdit= replacements.fEdits.get(i);
+			change.addEdit(replaceEdit);
+			TextEditChangeGroup textEditChangeGroup= new TextEditChangeGroup(change, new TextEditGroup(SearchMessages.ReplaceRefactoring_group_label_match_replace, replaceEdit));
+			change.addTextEditChangeGroup(textEditChangeGroup);
+			matchGroups.add(new MatchGroup(textEditChangeGroup, replacements.fMatches.get(i)));
 		}
 		return change;
 	}
 
-	private static String getOriginalText(IDocument doc, int offset, int length) {
-		try {
-			return doc.get(offset, length);
-		} catch (BadLocationException e) {
+	private static String getLineDelimiter(IFile file, CharSequence content) {
+		int length= content.length();
+		for (int i= 0; i < length; i++) {
+			char ch= content.charAt(i);
+			if (ch == '\n') {
+				return "\n"; //$NON-NLS-1$
+			}
+			if (ch == '\r') {
+				return i + 1 < length && content.charAt(i + 1) == '\n' ? "\r\n" : "\r"; //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		String lineDelimiter= getLineDelimiterPreference(file);
+		return lineDelimiter != null ? lineDelimiter : System.lineSeparator();
+	}
+
+	/*
+	 * The delimiter a file buffer would use for a document without lines, see
+	 * ResourceTextFileBufferManager.
+	 */
+	private static String getLineDelimiterPreference(IFile file) {
+		IScopeContext[] scopeContext;
+		if (file.getProject() != null) {
+			// project preference
+			scopeContext= new IScopeContext[] { new ProjectScope(file.getProject()) };
+			String lineDelimiter= Platform.getPreferencesService().getString(Platform.PI_RUNTIME, Platform.PREF_LINE_SEPARATOR, null, scopeContext);
+			if (lineDelimiter != null) {
+				return lineDelimiter;
+			}
+		}
+		// workspace preference
+		scopeContext= new IScopeContext[] { InstanceScope.INSTANCE };
+		return Platform.getPreferencesService().getString(Platform.PI_RUNTIME, Platform.PREF_LINE_SEPARATOR, null, scopeContext);
+	}
+
+	private static String getOriginalText(CharSequence content, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > content.length()) {
 			return null;
 		}
+		return content.subSequence(offset, offset + length).toString();
 	}
 
 	private Pattern createSearchPattern(FileSearchQuery query) {
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.text.quicksearch.internal.ui.QuickSearchActivator;
+
+/**
+ * Keeps the decoded content of small text files in memory, so that the quick
+ * search does not have to read the workspace again each time it is opened.
+ * <p>
+ * An entry is valid as long as the file has the modification stamp and the
+ * charset it had when it was read. Entries of removed and changed files, and
+ * of closed projects, are dropped when the cache receives the resource delta.
+ * The least recently used entries are dropped when the estimated memory use
+ * exceeds the capacity.
+ * <p>
+ * This class is thread safe.
+ */
+public class ContentCache implements IResourceChangeListener {
+
+	/**
+	 * Files larger than this many bytes are not cached.
+	 */
+	public static final int MAX_FILE_SIZE = 1 << 20;
+
+	private static final int ENTRY_OVERHEAD = 128; // entry, map node and String
+
+	private static record Entry(long modificationStamp, String charset, String content, long size) {
+	}
+
+	private final LinkedHashMap<IFile, Entry> entries = new LinkedHashMap<>(256, 0.75f, true); // guarded by this
+	private long size; // guarded by this
+	private volatile long capacity;
+	private volatile boolean enabled;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public ContentCache(boolean enabled, long capacity) {
+		configure(enabled, capacity);
+	}
+
+	/**
+	 * @param enabled whether files are cached
+	 * @param capacity the maximum number of bytes used by the cached content
+	 */
+	public void configure(boolean enabled, long capacity) {
+		this.enabled = enabled;
+		this.capacity = capacity;
+		synchronized (this) {
+			evict(enabled ? capacity : 0);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the cached content of the file, if it is still valid.
+	 *
+	 * @return the content or null if the file has to be read
+	 */
+	public String get(IFile file) {
+		if (!enabled) {
+			return null;
+		}
+		Entry entry;
+		synchronized (this) {
+			entry = entries.get(file);
+		}
+		if (entry != null) {
+			try {
+				if (entry.modificationStamp == file.getModificationStamp() && entry.charset.equals(file.getCharset())) {
+					hits.incrementAndGet();
+					return entry.content;
+				}
+			} catch (CoreException e) {
+				// charset is not known, read the file again
+			}
+			remove(file);
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Stores the content of a file that has been read.
+	 *
+	 * @param file the file
+	 * @param modificationStamp the modification stamp of the file before it was read
+	 * @param charset the charset used to decode the content
+	 * @param content the decoded content
+	 */
+	public void put(IFile file, long modificationStamp, String charset, String content) {
+		if (!enabled || modificationStamp == IResource.NULL_STAMP) {
+			return;
+		}
+		Entry entry = new Entry(modificationStamp, charset, content, estimateSize(content));
+		synchronized (this) {
+			Entry old = entries.put(file, entry);
+			size += entry.size - (old != null ? old.size : 0);
+			evict(capacity);
+		}
+	}
+
+	public synchronized void remove(IFile file) {
+		Entry old = entries.remove(file);
+		if (old != null) {
+			size -= old.size;
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		size = 0;
+	}
+
+	public synchronized int getFileCount() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the estimated number of bytes used by the cached content
+	 */
+	public synchronized long getSize() {
+		return size;
+	}
+
+	public long getCapacity() {
+		return capacity;
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	private void evict(long limit) {
+		Iterator<Entry> iterator = entries.values().iterator(); // least recently used first
+		while (size > limit && iterator.hasNext()) {
+			size -= iterator.next().size;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Strings store chars that fit into a byte in one byte each.
+	 */
+	private static long estimateSize(String content) {
+		int length = content.length();
+		for (int i = 0; i < length; i++) {
+			if (content.charAt(i) > 0xFF) {
+				return ENTRY_OVERHEAD + 2L * length;
+			}
+		}
+		return ENTRY_OVERHEAD + length;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		synchronized (this) {
+			if (entries.isEmpty()) {
+				return;
+			}
+		}
+		try {
+			delta.accept(d -> {
+				IResource resource = d.getResource();
+				if (resource instanceof IFile file) {
+					if (d.getKind() == IResourceDelta.REMOVED || (d.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0) {
+						remove(file);
+					}
+					return false;
+				}
+				if (resource instanceof IProject project && (d.getFlags() & IResourceDelta.OPEN) != 0 && !project.isOpen()) {
+					removeProject(project);
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			QuickSearchActivator.log(e);
+		}
+	}
+
+	private synchronized void removeProject(IProject project) {
+		Iterator<Map.Entry<IFile, Entry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<IFile, Entry> entry = iterator.next();
+			if (project.equals(entry.getKey().getProject())) {
+				size -= entry.getValue().size;
+				iterator.remove();
+			}
+		}
+	}
+}
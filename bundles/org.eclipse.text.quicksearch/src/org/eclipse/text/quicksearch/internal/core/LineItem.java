@@ -20,20 +20,39 @@ import java.util.Objects;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.search.internal.ui.text.FileMatch;
+import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
 
 @SuppressWarnings("restriction")
 public class LineItem {
 
+	/**
+	 * Orders lines by the priority of their file, highest first, then by the path
+	 * of the file and by the position of the line in the file.
+	 */
+	public static final Comparator<LineItem> RANK_ORDER = Comparator
+			.comparingDouble((LineItem item) -> -item.priority)
+			.thenComparing(item -> item.f.getFullPath().toString())
+			.thenComparingInt(item -> item.lineNumber);
+
 	IFile f;
 	String line;
 	int lineNumber;
 	int lineOffset;
+	double priority;
 
 	public LineItem(IFile f, String line, int lineNumber, int lineOffset) {
+		this(f, line, lineNumber, lineOffset, PriorityFunction.PRIORITY_DEFAULT);
+	}
+
+	/**
+	 * @param priority the priority of the file, used to rank the line
+	 */
+	public LineItem(IFile f, String line, int lineNumber, int lineOffset, double priority) {
 		this.f = getInnermostProjectFile(f);
 		this.line = line;
 		this.lineNumber = lineNumber;
 		this.lineOffset = lineOffset;
+		this.priority = priority;
 	}
 
 	public LineItem(FileMatch match) {
@@ -99,6 +118,10 @@ public class LineItem {
 		return lineOffset;
 	}
 
+	public double getPriority() {
+		return priority;
+	}
+
 
 
 }
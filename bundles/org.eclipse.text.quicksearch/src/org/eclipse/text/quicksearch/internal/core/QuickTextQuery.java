@@ -49,6 +49,11 @@ public class QuickTextQuery {
 	private boolean caseInsensitive;
 	private String orgPattern; //Original pattern case preserved even if search is case insensitive.
 	final Pattern pattern;
+	/**
+	 * The text to search for if the pattern has no wildcards, <code>null</code> otherwise.
+	 * The case of the text is ignored if the query is case insensitive.
+	 */
+	final String literal;
 
 	/**
 	 * A query that matches anything.
@@ -62,6 +67,32 @@ public class QuickTextQuery {
 		this.caseInsensitive = caseInsensitive;
 		String regex = createRegEx(substring);
 		pattern = Pattern.compile(regex, caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
+		literal = createLiteral(substring);
+	}
+
+	/**
+	 * Removes the escapes from a pattern without wildcards.
+	 *
+	 * @return the unescaped pattern, or null if it contains a wildcard
+	 */
+	private String createLiteral(String patString) {
+		StringBuilder unescaped = new StringBuilder();
+		int pos = 0, len = patString.length();
+		while (pos<len) {
+			char c = patString.charAt(pos++);
+			if (c=='?' || c=='*') {
+				return null;
+			}
+			if (c=='\\' && pos<len) {
+				char nextChar = patString.charAt(pos);
+				if (nextChar=='*' || nextChar=='?' || nextChar=='\\') {
+					pos++;
+					c = nextChar;
+				}
+			}
+			unescaped.append(c);
+		}
+		return unescaped.toString();
 	}
 
 	private String createRegEx(String patString) {
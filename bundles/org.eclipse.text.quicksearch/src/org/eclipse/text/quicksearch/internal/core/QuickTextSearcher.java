@@ -12,21 +12,22 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.StringReader;
-import java.io.UnsupportedEncodingException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -36,19 +37,19 @@ import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatcher;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatchers;
 import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
 import org.eclipse.text.quicksearch.internal.ui.Messages;
+import org.eclipse.text.quicksearch.internal.ui.QuickSearchActivator;
 import org.eclipse.text.quicksearch.internal.util.LightSchedulingRule;
-import org.eclipse.text.quicksearch.internal.util.LineReader;
+import org.eclipse.text.quicksearch.internal.util.LineScanner;
 
 public class QuickTextSearcher {
-	private static int MAX_BUFFER_LENGTH = 999_999; // read max 1MB bytes => max 2MB chars.
 	private final QuickTextSearchRequestor requestor;
 	private QuickTextQuery query;
 
 	/**
-	 * Keeps track of currently found matches. Items are added as they are found and may also
-	 * be removed when the query changed and they become invalid.
+	 * Keeps track of the best matches found so far. Items are added as they are found and may also
+	 * be removed when the query changed and they become invalid, or when better matches are found.
 	 */
-	private final Set<LineItem> matches = ConcurrentHashMap.newKeySet(2000);
+	private final RankedMatches matches;
 
 	/**
 	 * Scheduling rule used by Jobs that work on the matches collection.
@@ -67,10 +68,8 @@ public class QuickTextSearcher {
 
 	public static final int DEFAULT_MAX_RESULTS = 200;
 	/**
-	 * If number of accumulated results reaches maxResults the search will be suspended.
-	 * <p>
-	 * Note that more results may still arrive beyond the limit since the searcher does not (yet) have the
-	 * capability to suspend/resume a search in the middle of a file.
+	 * The number of results that are kept. Once it is reached, better ranked matches replace the
+	 * weakest ones, and the search is suspended when the remaining files can't improve the result.
 	 */
 	private int maxResults = DEFAULT_MAX_RESULTS;
 
@@ -103,11 +102,13 @@ public class QuickTextSearcher {
 
 	public void setMaxResults(int maxResults) {
 		this.maxResults = maxResults;
+		this.matches.setCapacity(maxResults);
 	}
 
 	public QuickTextSearcher(QuickTextQuery query, PriorityFunction priorities, int maxLineLen, QuickTextSearchRequestor requestor) {
 		this.MAX_LINE_LEN = maxLineLen;
 		this.requestor = requestor;
+		this.matches = new RankedMatches(maxResults, requestor);
 		this.query = query;
 		this.walker = createWalker(new PriorityFunction() {
 			@Override
@@ -149,34 +150,49 @@ public class QuickTextSearcher {
 			}
 		}
 
+		/**
+		 * Each worker thread of the walker scans with its own buffers.
+		 */
+		private final ThreadLocal<LineScanner> scanners = ThreadLocal.withInitial(() -> new LineScanner(MAX_LINE_LEN));
+
 		@Override
-		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
+		protected boolean searchIn(IFile f, double priority, BooleanSupplier canceled) {
+			if (!matches.isCompetitive(priority)) {
+				// Files come in order of priority, the remaining ones can't improve the result.
+				// They are kept for when matches are revoked and the walker is resumed.
+				suspend();
+				return false;
+			}
 			currentFile = f;
-			return search(f, canceled, MAX_LINE_LEN, query.pattern, QuickTextSearcher.this::add);
+			QuickTextQuery q = query;
+			LineScanner scanner = scanners.get();
+			scanner.setPattern(q.pattern, q.literal);
+			return search(f, priority, canceled, scanner, getContentCache(), matches::add);
 		}
 
-		private static boolean search(IFile f, BooleanSupplier canceled,
-				int maxLineLength, Pattern pattern, Consumer<LineItem> add) {
+		/**
+		 * Returns the shared content cache, or null if the plug-in is not active.
+		 */
+		private static ContentCache getContentCache() {
+			QuickSearchActivator activator = QuickSearchActivator.getDefault();
+			return activator != null ? activator.getContentCache() : null;
+		}
+
+		private static boolean search(IFile f, double priority, BooleanSupplier canceled, LineScanner scanner, ContentCache cache, Consumer<LineItem> add) {
 			if (canceled.getAsBoolean()) {
 				return false;
 			}
-			try (LineReader lr = new LineReader(getReader(f),
-					maxLineLength)) {
-				String line;
-				int lineIndex = 1;
-				while ((line = lr.readLine()) != null) {
-					int offset = lr.getLastLineOffset();
-					if (canceled.getAsBoolean()) {
-						return false;
-					}
-
-					Matcher matcher = pattern.matcher(line);
-					if (matcher.find()) {
-						LineItem lineItem = new LineItem(f, line, lineIndex, offset);
-						add.accept(lineItem);
-					}
-
-					lineIndex++;
+			LineScanner.LineHandler handler = (line, lineNumber, lineOffset) -> add.accept(new LineItem(f, line, lineNumber, lineOffset, priority));
+			try {
+				String content = cache != null ? cache.get(f) : null;
+				if (content == null && cache != null && cache.isEnabled()) {
+					content = readCacheable(f, cache);
+				}
+				if (content != null) {
+					return scanner.scan(content, canceled, handler);
+				}
+				try (ReadableByteChannel input = open(f)) {
+					return scanner.scan(input, Charset.forName(f.getCharset()), canceled, handler);
 				}
 			} catch (Exception e) {
 				// ignored
@@ -184,44 +200,33 @@ public class QuickTextSearcher {
 			return true;
 		}
 
-		private static Reader getReader(IFile f) throws UnsupportedEncodingException, CoreException {
-			String shortString = toShortString(f);
-			if (shortString != null) {
-				return new StringReader(shortString);
-			} else {
-				return new InputStreamReader(f.getContents(true), f.getCharset());
+		/**
+		 * Reads a small local file completely and stores its content in the cache.
+		 *
+		 * @return the content, or null if the file is not cached
+		 */
+		private static String readCacheable(IFile f, ContentCache cache) throws IOException, CoreException {
+			IPath location = f.getLocation();
+			if (location == null || location.toFile().length() > ContentCache.MAX_FILE_SIZE) {
+				return null;
 			}
+			// a change while the file is read gives it a new stamp
+			long modificationStamp = f.getModificationStamp();
+			String charset = f.getCharset();
+			String content = new String(Files.readAllBytes(location.toPath()), charset);
+			cache.put(f, modificationStamp, charset, content);
+			return content;
 		}
 
-		@Override
-		public void resume() {
-			//Only resume if we don't already exceed the maxResult limit.
-			if (isActive()) {
-				super.resume();
+		private static ReadableByteChannel open(IFile f) throws IOException, CoreException {
+			IPath location = f.getLocation();
+			if (location != null) {
+				return FileChannel.open(location.toPath(), StandardOpenOption.READ);
 			}
+			return Channels.newChannel(f.getContents(true));
 		}
 
 	}
-	/**
-	 * Try to get a content as String. Avoids Streaming.
-	 */
-	private static String toShortString(IFile file) {
-		/**
-		 * Just any number such that the most source files will fit in. And not too
-		 * big to avoid out of memory.
-		 **/
-		try {
-			byte[] content = file.readNBytes(MAX_BUFFER_LENGTH);
-			int length = content.length;
-			if (length >= MAX_BUFFER_LENGTH) {
-				return null;
-			}
-			String charset = file.getCharset();
-			return new String(content, charset);
-		} catch (Exception e) {
-			return null;
-		}
-	}
 	/**
 	 * This job updates already found matches when the query is changed.
 	 * Both the walker job and this job share the same scheduling rule so
@@ -257,7 +262,7 @@ public class QuickTextSearcher {
 		}
 
 		private void performIncrementalUpdate(IProgressMonitor mon) {
-			Iterator<LineItem> items = matches.iterator();
+			Iterator<LineItem> items = matches.toList().iterator();
 			while (items.hasNext() && !mon.isCanceled()) {
 
 				LineItem item = items.next();
@@ -265,8 +270,7 @@ public class QuickTextSearcher {
 				if (matcher.find()) {
 					//Match still valid but may need updating highlighted text in the UI:
 					requestor.update(item);
-				} else {
-					items.remove();
+				} else if (matches.remove(item)) {
 					requestor.revoke(item);
 				}
 			}
@@ -292,14 +296,6 @@ public class QuickTextSearcher {
 
 	}
 
-	private void add(LineItem line) {
-		if (!isActive()) {
-			walker.suspend();
-		} else if (matches.add(line)) {
-			requestor.add(line);
-		}
-	}
-
 	public void setQuery(QuickTextQuery newQuery, boolean force) {
 		if (newQuery.equalsFilter(query) && !force) {
 			return;
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.core;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the best matches of a search, up to a maximum number, in
+ * {@link LineItem#RANK_ORDER rank order}.
+ * <p>
+ * The workers of a search find matches in parallel, so a match of a file with
+ * a high priority can arrive after the result is already full. Such a match
+ * replaces the weakest match kept so far, instead of being dropped.
+ * <p>
+ * The requestor is called while the matches are locked, so that it sees the
+ * additions and removals in the order in which they happened.
+ * <p>
+ * This class is thread safe.
+ */
+public class RankedMatches {
+
+	private final QuickTextSearchRequestor requestor;
+	private final TreeSet<LineItem> ranked = new TreeSet<>(LineItem.RANK_ORDER); // guarded by this
+	/**
+	 * The same line may be found in a nested project with a different priority.
+	 */
+	private final Set<LineItem> lines = new HashSet<>(); // guarded by this
+	private int capacity;
+
+	public RankedMatches(int capacity, QuickTextSearchRequestor requestor) {
+		this.capacity = capacity;
+		this.requestor = requestor;
+	}
+
+	public synchronized void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds a match if there is room for it, or if it ranks before the weakest
+	 * match, which is then revoked.
+	 *
+	 * @return whether the match has been added
+	 */
+	public synchronized boolean add(LineItem match) {
+		if (lines.contains(match)) {
+			return false;
+		}
+		if (ranked.size() >= capacity) {
+			if (ranked.isEmpty() || LineItem.RANK_ORDER.compare(match, ranked.last()) > 0) {
+				return false;
+			}
+			LineItem weakest = ranked.pollLast();
+			lines.remove(weakest);
+			requestor.revoke(weakest);
+		}
+		ranked.add(match);
+		lines.add(match);
+		requestor.add(match);
+		return true;
+	}
+
+	/**
+	 * Removes a match that is no longer valid.
+	 *
+	 * @return whether the match was kept
+	 */
+	public synchronized boolean remove(LineItem match) {
+		if (lines.remove(match)) {
+			ranked.remove(match);
+			return true;
+		}
+		return false;
+	}
+
+	public synchronized void clear() {
+		ranked.clear();
+		lines.clear();
+	}
+
+	/**
+	 * @return the matches in rank order
+	 */
+	public synchronized List<LineItem> toList() {
+		return new ArrayList<>(ranked);
+	}
+
+	public synchronized int size() {
+		return ranked.size();
+	}
+
+	public synchronized boolean isEmpty() {
+		return ranked.isEmpty();
+	}
+
+	/**
+	 * Tells whether a file of the given priority can still contribute to the
+	 * result. Once the result is full, files that don't have a higher priority
+	 * than the weakest match are not searched. A file of the same priority
+	 * could only replace matches of equal rank, and searching them all would
+	 * make a full result visit every file of that priority.
+	 */
+	public synchronized boolean isCompetitive(double priority) {
+		return ranked.size() < capacity || ranked.isEmpty() || priority > ranked.last().getPriority();
+	}
+}
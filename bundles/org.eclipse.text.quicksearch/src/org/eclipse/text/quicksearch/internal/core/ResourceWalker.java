@@ -12,13 +12,18 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.PriorityQueue;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BooleanSupplier;
 
 import org.eclipse.core.resources.IContainer;
@@ -53,6 +58,16 @@ public abstract class ResourceWalker extends Job {
 		}
 	}
 
+	/**
+	 * Number of files a worker takes from the queue at once.
+	 */
+	private static final int BATCH_SIZE = 8;
+
+	/**
+	 * Milliseconds between two checks for cancellation while waiting for the workers.
+	 */
+	private static final long CANCEL_CHECK_INTERVAL = 100;
+
 	public ResourceWalker() {
 		super(Messages.QuickSearchDialog_title);
 		init();
@@ -138,39 +153,22 @@ public abstract class ResourceWalker extends Job {
 
 	@Override
 	public IStatus run(IProgressMonitor monitor) {
-		int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
-		ExecutorService executorService = Executors.newFixedThreadPool(workers);
+		QuickSearchActivator activator = QuickSearchActivator.getDefault();
+		if (activator == null) {
+			return Status.CANCEL_STATUS;
+		}
+		ExecutorService executor = activator.getSearchExecutor();
+		// queued batches still run when the plug-in is stopped, they must end at once
+		BooleanSupplier stopped = () -> monitor.isCanceled() || suspend || executor.isShutdown();
 		// copy the filesToSearch, to only remove a file after search completed
-		PriorityQueue<QItem> queue = new PriorityQueue<>();
+		PriorityBlockingQueue<QItem> queue = new PriorityBlockingQueue<>(Math.max(1, filesToSearch.size()));
 		queue.addAll(filesToSearch);
-		for (int worker = 0; worker < workers; worker++) {
-			executorService.submit(() -> {
-				QItem item;
-				while ((item = queue.poll()) != null) {
-					if (monitor.isCanceled() || suspend) {
-						break;
-					} else {
-						IResource r = item.resource;
-						IFile f = (IFile) r;
-						boolean searched = searchIn(f, () -> monitor.isCanceled() || suspend);
-						if (searched) {
-							filesToSearch.remove(item);
-						}
-					}
-				}
-			});
-		}
-		try {
-			while (!executorService.awaitTermination(1, TimeUnit.MILLISECONDS)) {
-				executorService.shutdown();
-				if (monitor.isCanceled() || suspend) {
-					queue.clear();
-					executorService.shutdownNow();
-				}
-			}
-		} catch (InterruptedException e) {
-			// ignore
+		// The walker is one party, every batch of files in work is another one.
+		Phaser batches = new Phaser(1);
+		for (int worker = 0; worker < QuickSearchActivator.SEARCH_WORKERS; worker++) {
+			submitBatch(executor, queue, batches, stopped);
 		}
+		awaitBatches(batches, monitor);
 		// on suspend keep unsearched files for later
 		if (!suspend) {
 			filesToSearch.clear();
@@ -182,7 +180,78 @@ public abstract class ResourceWalker extends Job {
 		}
 	}
 
-	protected abstract boolean searchIn(IFile f, BooleanSupplier canceled);
+	/**
+	 * Waits until all batches are done. On cancellation the walker stops waiting, the
+	 * batches in work end on their own after their current file.
+	 */
+	private static void awaitBatches(Phaser batches, IProgressMonitor monitor) {
+		int phase = batches.arrive();
+		while (!monitor.isCanceled()) {
+			try {
+				batches.awaitAdvanceInterruptibly(phase, CANCEL_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				// check for cancellation again
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Searches the next few files of the queue on the executor. When the batch is done
+	 * the task submits itself again as long as there is work left. This keeps the
+	 * threads of the executor free for other searches between batches.
+	 */
+	private void submitBatch(Executor executor, PriorityBlockingQueue<QItem> queue, Phaser batches, BooleanSupplier stopped) {
+		if (stopped.getAsBoolean() || queue.isEmpty()) {
+			return;
+		}
+		batches.register();
+		try {
+			executor.execute(() -> {
+				try {
+					searchBatch(queue, stopped);
+					submitBatch(executor, queue, batches, stopped);
+				} catch (RuntimeException e) {
+					QuickSearchActivator.log(e);
+				} finally {
+					batches.arriveAndDeregister();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// the plug-in has been stopped
+			batches.arriveAndDeregister();
+		}
+	}
+
+	private void searchBatch(PriorityBlockingQueue<QItem> queue, BooleanSupplier stopped) {
+		// taking several files at once keeps the workers from contending for the queue
+		List<QItem> batch = new ArrayList<>(BATCH_SIZE);
+		queue.drainTo(batch, BATCH_SIZE);
+		for (QItem item : batch) {
+			if (stopped.getAsBoolean()) {
+				break;
+			}
+			IFile f = (IFile) item.resource;
+			boolean searched = searchIn(f, item.priority, stopped);
+			if (searched) {
+				filesToSearch.remove(item);
+			}
+		}
+	}
+
+	/**
+	 * Searches a file.
+	 *
+	 * @param f the file
+	 * @param priority the priority assigned to the file
+	 * @param canceled tells whether the walker has been suspended or canceled
+	 * @return <code>false</code> if the file has not been searched completely and
+	 *         has to be searched again when the walker is resumed
+	 */
+	protected abstract boolean searchIn(IFile f, double priority, BooleanSupplier canceled);
 
 	/**
 	 * Assigns a priority to a given resource. This priority will affect the order in which
@@ -34,6 +34,9 @@ public class QuickSearchPreferences {
 	public static final String IGNORED_PREFIXES = "ignored.prefixes"; //$NON-NLS-1$
 	public static final String MAX_LINE_LEN = "LineReader.MAX_LINE_LEN"; //$NON-NLS-1$
 	public static final String MAX_RESULTS = "QuickTextSearcher.MAX_RESULTS"; //$NON-NLS-1$
+	public static final String CACHE_ENABLED = "ContentCache.ENABLED"; //$NON-NLS-1$
+	public static final String CACHE_SIZE_MB = "ContentCache.SIZE_MB"; //$NON-NLS-1$
+	public static final int DEFAULT_CACHE_SIZE_MB = 64;
 	private static boolean initializedDefaults;
 
 	private IPreferenceStore store;
@@ -63,6 +66,14 @@ public class QuickSearchPreferences {
 		return store.getInt(MAX_RESULTS);
 	}
 
+	public boolean isCacheEnabled() {
+		return store.getBoolean(CACHE_ENABLED);
+	}
+
+	public int getCacheSizeMB() {
+		return store.getInt(CACHE_SIZE_MB);
+	}
+
 	private String[] getAndParseStringList(String key) {
 		String raw = store.getString(key);
 		if (raw!=null) {
@@ -96,6 +107,8 @@ public class QuickSearchPreferences {
 			IPreferenceStore store = QuickSearchActivator.getDefault().getPreferenceStore();
 			store.setDefault(QuickSearchPreferences.MAX_LINE_LEN, LineReader.DEFAULT_MAX_LINE_LENGTH);
 			store.setDefault(QuickSearchPreferences.MAX_RESULTS, QuickTextSearcher.DEFAULT_MAX_RESULTS);
+			store.setDefault(QuickSearchPreferences.CACHE_ENABLED, true);
+			store.setDefault(QuickSearchPreferences.CACHE_SIZE_MB, DEFAULT_CACHE_SIZE_MB);
 
 			DefaultPriorityFunction dpf =  new DefaultPriorityFunction();
 			store.setDefault(QuickSearchPreferences.IGNORED_EXTENSIONS, encode(dpf.ignoredExtensions));
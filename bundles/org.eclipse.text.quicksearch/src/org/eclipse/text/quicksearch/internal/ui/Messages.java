@@ -23,6 +23,10 @@ public class Messages extends NLS {
 	public static String QuickSearchPreferencesPage_Tooltip_MaxLineLength;
 	public static String QuickSearchPreferencesPage_Tooltip_MaxResults;
 	public static String QuickSearchPreferencesPage_MaxResults;
+	public static String QuickSearchPreferencesPage_CacheEnabled;
+	public static String QuickSearchPreferencesPage_CacheSize;
+	public static String QuickSearchPreferencesPage_Tooltip_CacheSize;
+	public static String QuickSearchPreferencesPage_CacheStatistics;
 	public static String QuickSearchPreferencesPage_Ignored_Extensions;
 	public static String QuickSearchPreferencesPage_Ignored_Prefixes;
 	public static String QuickSearchPreferencesPage_Ignored_Names;
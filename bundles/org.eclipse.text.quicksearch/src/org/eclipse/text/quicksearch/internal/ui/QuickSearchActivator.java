@@ -12,9 +12,20 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.ui;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.text.quicksearch.internal.core.ContentCache;
 import org.eclipse.text.quicksearch.internal.core.preferences.QuickSearchPreferences;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
@@ -30,8 +41,26 @@ public class QuickSearchActivator extends AbstractUIPlugin {
 	// The shared instance
 	private static QuickSearchActivator plugin;
 
+	/**
+	 * The number of threads searching files in parallel.
+	 */
+	public static final int SEARCH_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+	private static final long SEARCH_WORKER_KEEP_ALIVE_SECONDS = 30;
+
 	private QuickSearchPreferences prefs = null; //Lazy initialized
 
+	private ExecutorService searchExecutor = null; //Lazy initialized
+
+	private ContentCache contentCache = null; //Lazy initialized
+
+	private final IPropertyChangeListener cachePreferenceListener = event -> {
+		String property = event.getProperty();
+		if (QuickSearchPreferences.CACHE_ENABLED.equals(property) || QuickSearchPreferences.CACHE_SIZE_MB.equals(property)) {
+			configureContentCache();
+		}
+	};
+
 	/**
 	 * The constructor
 	 */
@@ -54,6 +83,19 @@ public class QuickSearchActivator extends AbstractUIPlugin {
 	 */
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		synchronized (this) {
+			if (searchExecutor!=null) {
+				// not shutdownNow(): every queued batch has to run to leave its walker
+				searchExecutor.shutdown();
+				searchExecutor = null;
+			}
+			if (contentCache!=null) {
+				getPreferenceStore().removePropertyChangeListener(cachePreferenceListener);
+				ResourcesPlugin.getWorkspace().removeResourceChangeListener(contentCache);
+				contentCache.clear();
+				contentCache = null;
+			}
+		}
 		plugin = null;
 		super.stop(context);
 	}
@@ -95,6 +137,52 @@ public class QuickSearchActivator extends AbstractUIPlugin {
 		return new Status(IStatus.ERROR, PLUGIN_ID, 0, exception.getMessage(), exception);
 	}
 
+	/**
+	 * Returns the executor that runs the file searches of all quick searches. Its
+	 * threads are kept between searches, so that resuming a search does not have to
+	 * start new ones, and end after they have been idle for a while.
+	 */
+	public synchronized ExecutorService getSearchExecutor() {
+		if (searchExecutor==null) {
+			AtomicInteger threadNumber = new AtomicInteger();
+			ThreadFactory threadFactory = runnable -> {
+				Thread thread = new Thread(runnable, "Quick Search Worker-" + threadNumber.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			};
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(SEARCH_WORKERS, SEARCH_WORKERS,
+					SEARCH_WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+			executor.allowCoreThreadTimeOut(true);
+			searchExecutor = executor;
+		}
+		return searchExecutor;
+	}
+
+	/**
+	 * Returns the cache of file contents shared by all quick searches. The cache is
+	 * configured by the preferences and follows their changes.
+	 */
+	public synchronized ContentCache getContentCache() {
+		if (contentCache==null) {
+			QuickSearchPreferences preferences = getPreferences();
+			contentCache = new ContentCache(preferences.isCacheEnabled(), toBytes(preferences.getCacheSizeMB()));
+			getPreferenceStore().addPropertyChangeListener(cachePreferenceListener);
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(contentCache, IResourceChangeEvent.POST_CHANGE);
+		}
+		return contentCache;
+	}
+
+	private synchronized void configureContentCache() {
+		if (contentCache!=null) {
+			QuickSearchPreferences preferences = getPreferences();
+			contentCache.configure(preferences.isCacheEnabled(), toBytes(preferences.getCacheSizeMB()));
+		}
+	}
+
+	private static long toBytes(int megaBytes) {
+		return Math.max(0, megaBytes) * 1024L * 1024L;
+	}
+
 	public QuickSearchPreferences getPreferences() {
 		if (prefs==null) {
 			prefs = new QuickSearchPreferences(QuickSearchActivator.getDefault().getPreferenceStore());
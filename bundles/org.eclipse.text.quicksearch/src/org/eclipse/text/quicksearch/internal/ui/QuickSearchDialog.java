@@ -1368,13 +1368,13 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 	 */
 	private class ContentProvider implements IStructuredContentProvider, ILazyContentProvider {
 
-		private List items;
+		private final List<LineItem> items;
 
 		/**
 		 * Creates new instance of <code>ContentProvider</code>.
 		 */
 		public ContentProvider() {
-			this.items = Collections.synchronizedList(new ArrayList(2048));
+			this.items = Collections.synchronizedList(new ArrayList<>(2048));
 //			this.duplicates = Collections.synchronizedSet(new HashSet(256));
 //			this.lastSortedItems = Collections.synchronizedList(new ArrayList(
 //					2048));
@@ -1392,10 +1392,13 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 		}
 
 		/**
-		 * Adds filtered item.
+		 * Adds filtered item at its position in the rank order.
 		 */
 		public void add(LineItem match) {
-			this.items.add(match);
+			synchronized (this.items) {
+				int index = Collections.binarySearch(this.items, match, LineItem.RANK_ORDER);
+				this.items.add(index < 0 ? -index - 1 : index, match);
+			}
 		}
 
 		/**
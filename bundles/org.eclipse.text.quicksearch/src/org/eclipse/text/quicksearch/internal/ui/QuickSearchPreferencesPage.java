@@ -14,14 +14,19 @@ package org.eclipse.text.quicksearch.internal.ui;
 
 import org.eclipse.jface.fieldassist.ControlDecoration;
 import org.eclipse.jface.fieldassist.FieldDecorationRegistry;
+import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.StringFieldEditor;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
+import org.eclipse.text.quicksearch.internal.core.ContentCache;
 import org.eclipse.text.quicksearch.internal.core.preferences.QuickSearchPreferences;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
@@ -65,6 +70,17 @@ public class QuickSearchPreferencesPage extends FieldEditorPreferencePage implem
 		maxResultsFieldDecoration.setImage(FieldDecorationRegistry.getDefault().getFieldDecoration(FieldDecorationRegistry.DEC_INFORMATION)
 				.getImage());
 
+		addField(new BooleanFieldEditor(QuickSearchPreferences.CACHE_ENABLED,
+				Messages.QuickSearchPreferencesPage_CacheEnabled, getFieldEditorParent()));
+		IntegerFieldEditor fieldCacheSize = new IntegerFieldEditor(QuickSearchPreferences.CACHE_SIZE_MB,
+				Messages.QuickSearchPreferencesPage_CacheSize, getFieldEditorParent());
+		fieldCacheSize.setValidRange(0, Integer.MAX_VALUE / 1024);
+		addField(fieldCacheSize);
+		ControlDecoration cacheSizeFieldDecoration = new ControlDecoration(fieldCacheSize.getTextControl(getFieldEditorParent()), SWT.LEFT | SWT.TOP);
+		cacheSizeFieldDecoration.setDescriptionText(Messages.QuickSearchPreferencesPage_Tooltip_CacheSize);
+		cacheSizeFieldDecoration.setImage(FieldDecorationRegistry.getDefault().getFieldDecoration(FieldDecorationRegistry.DEC_INFORMATION)
+				.getImage());
+
 		for (int i = 0; i < fieldLabels.length; i++) {
 			final String tooltip = toolTips[i];
 			StringFieldEditor field = new StringFieldEditor(prefsKeys[i], fieldLabels[i], StringFieldEditor.UNLIMITED,
@@ -97,4 +113,26 @@ public class QuickSearchPreferencesPage extends FieldEditorPreferencePage implem
 			addField(field);
 		}
 	}
+
+	@Override
+	protected Control createContents(Composite parent) {
+		Composite contents = (Composite) super.createContents(parent);
+		Label cacheStatistics = new Label(contents, SWT.WRAP);
+		cacheStatistics.setText(getCacheStatistics());
+		int columns = ((GridLayout) contents.getLayout()).numColumns;
+		cacheStatistics.setLayoutData(new GridData(SWT.FILL, SWT.TOP, true, false, columns, 1));
+		return contents;
+	}
+
+	private static String getCacheStatistics() {
+		ContentCache cache = QuickSearchActivator.getDefault().getContentCache();
+		long hits = cache.getHitCount();
+		long lookups = hits + cache.getMissCount();
+		long hitRate = lookups == 0 ? 0 : Math.round(100.0 * hits / lookups);
+		return NLS.bind(Messages.QuickSearchPreferencesPage_CacheStatistics, new Object[] {
+				Integer.valueOf(cache.getFileCount()),
+				Long.valueOf((cache.getSize() + 1023) / 1024),
+				Long.valueOf(hitRate),
+				Long.valueOf(lookups) });
+	}
 }
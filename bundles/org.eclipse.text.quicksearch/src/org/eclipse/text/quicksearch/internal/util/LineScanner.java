@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits the content of a file into lines and reports the lines matching a
+ * pattern, like {@link LineReader} followed by a {@link Matcher} per line, but
+ * without creating objects for lines that don't match.
+ * <p>
+ * Bytes are read into a reusable buffer and decoded into a reusable char
+ * array. Every line is matched in place by a single {@link Matcher} restricted
+ * to the region of the line, or by a plain character comparison if the pattern
+ * is a literal. Only matching lines are copied into a String.
+ * </p>
+ * <p>
+ * Lines, line numbers and offsets are the same as the ones of {@link LineReader}:
+ * lines are terminated by CR, LF or CR LF, offsets count chars from the start
+ * of the stream, and the scan of a file stops at the first line that is not
+ * shorter than the maximum line length.
+ * </p>
+ * A scanner keeps its buffers between files and is not thread safe. Each
+ * thread should use its own instance.
+ */
+public class LineScanner {
+
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Receives the lines matching the pattern.
+	 */
+	public interface LineHandler {
+		/**
+		 * @param line the text of the line without the line terminator
+		 * @param lineNumber the one based line number
+		 * @param lineOffset the offset of the line from the start of the stream
+		 */
+		void acceptLine(String line, int lineNumber, int lineOffset);
+	}
+
+	private static final int CONTINUE = 0;
+	private static final int LINE_TOO_LONG = 1;
+	private static final int CANCELED = 2;
+
+	private final int maxLineLength;
+	private final ByteBuffer bytes;
+	private final Map<Charset, CharsetDecoder> decoders = new HashMap<>();
+	private final CharSequence text = new ScannedText();
+
+	private char[] chars;
+	private int limit; // number of decoded chars in the buffer
+	private int lineStart; // start of the current line in the buffer
+	private int scanPos; // position to continue looking for a line terminator
+	private int base; // stream offset of the first char in the buffer
+	private int lineNumber;
+
+	private Pattern pattern;
+	private Matcher matcher;
+	private String literal;
+	private boolean ignoreCase;
+
+	public LineScanner(int maxLineLength) {
+		this(maxLineLength, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param maxLineLength lines of this length or longer stop the scan of a
+	 *            file
+	 * @param bufferSize the number of bytes read at once, and the initial
+	 *            number of chars buffered
+	 */
+	public LineScanner(int maxLineLength, int bufferSize) {
+		this.maxLineLength = maxLineLength;
+		this.bytes = ByteBuffer.allocate(bufferSize);
+		this.chars = new char[bufferSize];
+	}
+
+	/**
+	 * Sets the pattern lines have to match.
+	 *
+	 * @param pattern the pattern to find in a line
+	 * @param literal the text that the pattern matches if it only matches a
+	 *            literal, or <code>null</code> to use the pattern. The case is
+	 *            ignored as the {@link Pattern#CASE_INSENSITIVE} flag of the
+	 *            pattern says.
+	 */
+	public void setPattern(Pattern pattern, String literal) {
+		if (this.pattern == pattern && Objects.equals(this.literal, literal)) {
+			return;
+		}
+		this.pattern = pattern;
+		this.literal = literal == null || literal.isEmpty() ? null : literal;
+		this.ignoreCase = (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0;
+		this.matcher = this.literal == null ? pattern.matcher(text) : null;
+	}
+
+	/**
+	 * Reads the input to its end and reports all lines matching the pattern.
+	 * The input is not closed.
+	 *
+	 * @param input the content of a file
+	 * @param charset the encoding of the content
+	 * @param canceled checked before each line
+	 * @param handler receives the matching lines
+	 * @return <code>false</code> if the scan has been canceled
+	 * @throws IOException if reading the input fails
+	 */
+	public boolean scan(ReadableByteChannel input, Charset charset, BooleanSupplier canceled, LineHandler handler) throws IOException {
+		CharsetDecoder decoder = decoders.computeIfAbsent(charset, cs -> cs.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE));
+		decoder.reset();
+		bytes.clear();
+		reset();
+		boolean eof = false;
+		while (true) {
+			if (!eof && bytes.hasRemaining() && input.read(bytes) < 0) {
+				eof = true;
+			}
+			bytes.flip();
+			CharBuffer out = CharBuffer.wrap(chars, limit, chars.length - limit);
+			CoderResult result = decoder.decode(bytes, out, eof);
+			boolean done = false;
+			if (eof && result.isUnderflow()) {
+				done = decoder.flush(out).isUnderflow();
+			}
+			bytes.compact();
+			limit = out.position();
+
+			int state = scanLines(done, canceled, handler);
+			if (state == CANCELED) {
+				return false;
+			}
+			if (state == LINE_TOO_LONG || done) {
+				return true;
+			}
+			compact();
+		}
+	}
+
+	/**
+	 * Reports all lines of the already decoded content that match the pattern.
+	 *
+	 * @param content the content of a file
+	 * @param canceled checked before each line
+	 * @param handler receives the matching lines
+	 * @return <code>false</code> if the scan has been canceled
+	 */
+	public boolean scan(String content, BooleanSupplier canceled, LineHandler handler) {
+		reset();
+		int length = content.length();
+		int pos = 0;
+		while (true) {
+			int count = Math.min(chars.length - limit, length - pos);
+			content.getChars(pos, pos + count, chars, limit);
+			pos += count;
+			limit += count;
+			boolean done = pos == length;
+
+			int state = scanLines(done, canceled, handler);
+			if (state == CANCELED) {
+				return false;
+			}
+			if (state == LINE_TOO_LONG || done) {
+				return true;
+			}
+			compact();
+		}
+	}
+
+	private void reset() {
+		limit = 0;
+		lineStart = 0;
+		scanPos = 0;
+		base = 0;
+		lineNumber = 1;
+	}
+
+	private int scanLines(boolean done, BooleanSupplier canceled, LineHandler handler) {
+		char[] buf = chars;
+		int i = scanPos;
+		while (i < limit) {
+			char c = buf[i];
+			if (c == '\n' || c == '\r') {
+				int next = i + 1;
+				if (c == '\r') {
+					if (next == limit && !done) {
+						break; // wait for the next char, it may be a LF
+					}
+					if (next < limit && buf[next] == '\n') {
+						next++;
+					}
+				}
+				if (!acceptLine(lineStart, i, canceled, handler)) {
+					return CANCELED;
+				}
+				lineStart = next;
+				i = next;
+			} else {
+				i++;
+				if (i - lineStart >= maxLineLength) {
+					// Very long lines of text. Minified file?
+					return LINE_TOO_LONG;
+				}
+			}
+		}
+		scanPos = i;
+		if (done && lineStart < limit && !acceptLine(lineStart, limit, canceled, handler)) {
+			return CANCELED;
+		}
+		return CONTINUE;
+	}
+
+	private boolean acceptLine(int start, int end, BooleanSupplier canceled, LineHandler handler) {
+		if (canceled.getAsBoolean()) {
+			return false;
+		}
+		if (matches(start, end)) {
+			handler.acceptLine(new String(chars, start, end - start), lineNumber, base + start);
+		}
+		lineNumber++;
+		return true;
+	}
+
+	private boolean matches(int start, int end) {
+		if (literal == null) {
+			matcher.region(start, end);
+			return matcher.find();
+		}
+		return indexOf(start, end) >= 0;
+	}
+
+	/**
+	 * Finds the literal between the given positions. Ignoring the case only
+	 * folds US-ASCII letters, like a pattern without the
+	 * {@link Pattern#UNICODE_CASE} flag.
+	 */
+	private int indexOf(int start, int end) {
+		String lit = literal;
+		int length = lit.length();
+		char[] buf = chars;
+		for (int i = start, last = end - length; i <= last; i++) {
+			int j = 0;
+			if (ignoreCase) {
+				while (j < length && toLowerAscii(buf[i + j]) == toLowerAscii(lit.charAt(j))) {
+					j++;
+				}
+			} else {
+				while (j < length && buf[i + j] == lit.charAt(j)) {
+					j++;
+				}
+			}
+			if (j == length) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static char toLowerAscii(char c) {
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	/**
+	 * Moves the incomplete last line to the start of the buffer, and grows the
+	 * buffer if the line fills it.
+	 */
+	private void compact() {
+		int remaining = limit - lineStart;
+		if (lineStart > 0) {
+			System.arraycopy(chars, lineStart, chars, 0, remaining);
+			base += lineStart;
+			scanPos -= lineStart;
+			lineStart = 0;
+			limit = remaining;
+		}
+		if (limit == chars.length) {
+			char[] larger = new char[chars.length * 2];
+			System.arraycopy(chars, 0, larger, 0, limit);
+			chars = larger;
+		}
+	}
+
+	/**
+	 * The decoded chars of the buffer, as input of the matcher.
+	 */
+	private final class ScannedText implements CharSequence {
+		@Override
+		public int length() {
+			return limit;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index >= limit) {
+				throw new IndexOutOfBoundsException(index);
+			}
+			return chars[index];
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new String(chars, start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return new String(chars, 0, limit);
+		}
+	}
+}
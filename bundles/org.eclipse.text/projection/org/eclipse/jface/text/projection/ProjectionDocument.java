@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -368,11 +368,23 @@ public class ProjectionDocument extends AbstractDocument {
 	 * @return the fragment representing the given master document range
 	 */
 	private Fragment findFragment(int offsetInMaster, int lengthInMaster) {
-		Position[] fragments= getFragments();
-		for (Position fragment : fragments) {
-			Fragment f = (Fragment) fragment;
-			if (f.getOffset() <= offsetInMaster && offsetInMaster + lengthInMaster <= f.getOffset() + f.getLength())
-				return f;
+		try {
+			// the fragments cached by the mapping, which has just been asked for the image region
+			Position[] fragments= fMapping.getFragments();
+			// fragments do not overlap, only the one left of the range or the ones starting with it can comprise it
+			int index= fMasterDocument.computeIndexInCategory(fFragmentsCategory, offsetInMaster);
+			int start= Math.max(index - 1, 0);
+			while (start > 0 && fragments[start - 1].getOffset() == fragments[start].getOffset())
+				start--;
+			for (int i= start; i < fragments.length && fragments[i].getOffset() <= offsetInMaster; i++) {
+				Fragment f= (Fragment) fragments[i];
+				if (offsetInMaster + lengthInMaster <= f.getOffset() + f.getLength())
+					return f;
+			}
+		} catch (BadLocationException e) {
+			// not a valid master document range
+		} catch (BadPositionCategoryException e) {
+			internalError();
 		}
 		return null;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,8 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 	private Position[] fCachedSegments;
 	/** Cached fragments */
 	private Position[] fCachedFragments;
+	/** Cached length of the image, or <code>-1</code> if it has to be computed */
+	private int fCachedImageLength= -1;
 
 	/**
 	 * Creates a new mapping between the given parent document and the given projection document.
@@ -76,6 +78,7 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 	public void projectionChanged() {
 		fCachedSegments= null;
 		fCachedFragments= null;
+		fCachedImageLength= -1;
 	}
 
 	private Position[] getSegments() {
@@ -89,7 +92,13 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 		return fCachedSegments;
 	}
 
-	private Position[] getFragments() {
+	/**
+	 * Returns the fragments of the master document. The array is cached until the next
+	 * {@link #projectionChanged()} and must not be modified.
+	 *
+	 * @return the fragments, sorted by offset
+	 */
+	Position[] getFragments() {
 		if (fCachedFragments == null) {
 			try {
 				fCachedFragments= fMasterDocument.getPositions(fFragmentsCategory);
@@ -547,11 +556,17 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 
 	@Override
 	public int getImageLength() {
+		// checked for every mapped image offset, so only sum up the segments once per projection change
+		if (fCachedImageLength != -1)
+			return fCachedImageLength;
+
 		Position[] segments= getSegments();
 		int length= 0;
 		for (Position segment : segments) {
 			length += segment.length;
 		}
+		if (segments == fCachedSegments)
+			fCachedImageLength= length;
 		return length;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,6 @@ package org.eclipse.jface.text.templates;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -135,6 +134,58 @@ public class TemplateTranslator {
 		}
 	}
 
+	/**
+	 * A pattern parsed into its text without the variable markup and its variable descriptions,
+	 * from which the variables of every translation of the pattern are created.
+	 */
+	private static final class ParsedPattern {
+		final String fText;
+		final String[] fNames;
+		final TemplateVariableType[] fTypes;
+		final int[][] fOffsets;
+		/** The error message if the pattern is invalid, <code>null</code> otherwise */
+		final String fErrorMessage;
+
+		ParsedPattern(String text, Map<String, VariableDescription> variables) {
+			fText= text;
+			fNames= new String[variables.size()];
+			fTypes= new TemplateVariableType[variables.size()];
+			fOffsets= new int[variables.size()][];
+			int idx= 0;
+			for (VariableDescription desc : variables.values()) {
+				fNames[idx]= desc.fName;
+				fTypes[idx]= desc.fType == null ? new TemplateVariableType(desc.fName) : desc.fType;
+				fOffsets[idx]= desc.fOffsets.stream().mapToInt(Integer::intValue).toArray();
+				idx++;
+			}
+			fErrorMessage= null;
+		}
+
+		ParsedPattern(String errorMessage) {
+			fText= null;
+			fNames= null;
+			fTypes= null;
+			fOffsets= null;
+			fErrorMessage= errorMessage;
+		}
+	}
+
+	/** The maximal number of parsed patterns kept in {@link #fgParsedPatterns}. */
+	private static final int PARSED_PATTERNS_CACHE_SIZE= 1024;
+
+	/**
+	 * The recently parsed patterns by pattern, so that the patterns of templates which are
+	 * validated and applied again and again are parsed once.
+	 */
+	private static final Map<String, ParsedPattern> fgParsedPatterns= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ParsedPattern> eldest) {
+			return size() > PARSED_PATTERNS_CACHE_SIZE;
+		}
+	};
+
 	/** Last translation error. */
 	private String fErrorMessage;
 	/**
@@ -192,6 +243,37 @@ public class TemplateTranslator {
 	private TemplateBuffer parse(String string) throws TemplateException {
 
 		fErrorMessage= null;
+		ParsedPattern parsed;
+		synchronized (fgParsedPatterns) {
+			parsed= fgParsedPatterns.get(string);
+		}
+		if (parsed == null) {
+			try {
+				parsed= parsePattern(string);
+			} catch (TemplateException e) {
+				parsed= new ParsedPattern(e.getMessage());
+			}
+			synchronized (fgParsedPatterns) {
+				fgParsedPatterns.put(string, parsed);
+			}
+		}
+		if (parsed.fErrorMessage != null)
+			fail(parsed.fErrorMessage);
+
+		StringBuilder buffer= new StringBuilder(parsed.fText);
+		TemplateVariable[] vars= createVariables(parsed);
+		fixOffsetsAndBuffer(buffer, vars);
+		return new TemplateBuffer(buffer.toString(), vars);
+	}
+
+	/**
+	 * Parses a pattern into its text and variable descriptions.
+	 *
+	 * @param string the string to parse
+	 * @return the parsed pattern
+	 * @throws TemplateException if the string does not conform to the template format
+	 */
+	private ParsedPattern parsePattern(String string) throws TemplateException {
 		final StringBuilder buffer= new StringBuilder(string.length());
 		final Matcher matcher= ESCAPE_PATTERN.matcher(string);
 		final Map<String, VariableDescription> variables= new LinkedHashMap<>();
@@ -225,9 +307,7 @@ public class TemplateTranslator {
 		// append remaining verbatim text
 		buffer.append(string.substring(complete));
 
-		TemplateVariable[] vars= createVariables(variables);
-		fixOffsetsAndBuffer(buffer, vars);
-		return new TemplateBuffer(buffer.toString(), vars);
+		return new ParsedPattern(buffer.toString(), variables);
 	}
 
 	/**
@@ -314,28 +394,21 @@ public class TemplateTranslator {
 	/**
 	 * Creates proper {@link TemplateVariable}s from the variable descriptions.
 	 *
-	 * @param variables the variable descriptions by variable name
+	 * @param parsed the parsed pattern with the variable descriptions
 	 * @return the corresponding variables
 	 * @since 3.3
 	 */
-	private TemplateVariable[] createVariables(Map<String, VariableDescription> variables) {
-		TemplateVariable[] result= new TemplateVariable[variables.size()];
-		int idx= 0;
-		for (Iterator<VariableDescription> it= variables.values().iterator(); it.hasNext(); idx++) {
-			VariableDescription desc= it.next();
-			TemplateVariableType type= desc.fType == null ? new TemplateVariableType(desc.fName) : desc.fType;
-			int[] offsets= new int[desc.fOffsets.size()];
-			int i= 0;
-			for (Iterator<Integer> intIt= desc.fOffsets.iterator(); intIt.hasNext(); i++) {
-				Integer offset= intIt.next();
-				offsets[i]= offset.intValue();
-			}
+	private TemplateVariable[] createVariables(ParsedPattern parsed) {
+		TemplateVariable[] result= new TemplateVariable[parsed.fNames.length];
+		for (int idx= 0; idx < result.length; idx++) {
+			TemplateVariableType type= parsed.fTypes[idx];
+			int[] offsets= parsed.fOffsets[idx].clone();
 			fCurrentType= type;
 			/*
 			 * Call the deprecated version of createVariable. When not overridden, it will delegate
 			 * to the new version using fCurrentType.
 			 */
-			TemplateVariable var= createVariable(type.getName(), desc.fName, offsets);
+			TemplateVariable var= createVariable(type.getName(), parsed.fNames[idx], offsets);
 			result[idx]= var;
 		}
 		fCurrentType= null; // avoid dangling reference
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.templates;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jface.text.templates.Template;
+
+
+/**
+ * Index of the templates of a {@link TemplateStoreCore}. It maps the ids to the template data
+ * and, created lazily for every requested context type, the names of the templates of that
+ * context type to their template data.
+ * <p>
+ * The index is out of date when its list of templates has been structurally modified by another
+ * party than the index. The templates of the context types are forgotten whenever the template of
+ * any template data changes. Whether a template is enabled or deleted is not indexed.
+ * </p>
+ */
+final class TemplateIndex {
+
+	/**
+	 * The list of the templates of a store, which tells when it has been modified.
+	 */
+	static final class TemplateList extends ArrayList<TemplatePersistenceData> {
+		private static final long serialVersionUID= 1L;
+
+		int getModificationCount() {
+			return modCount;
+		}
+	}
+
+	/**
+	 * The templates of one context type, or of all context types.
+	 */
+	private static final class ContextTypeTemplates {
+		/** The template data in the order of the store */
+		final List<TemplatePersistenceData> fTemplates= new ArrayList<>();
+		/** The template data by the name of their template, in the order of the store */
+		final Map<String, List<TemplatePersistenceData>> fTemplatesByName= new HashMap<>();
+	}
+
+	private final TemplateList fTemplates;
+	private int fModificationCount;
+	/** The template data by id, the first one of the store for every id */
+	private final Map<String, TemplatePersistenceData> fTemplatesById= new HashMap<>();
+	/** The templates of the requested context types, the <code>null</code> key stands for all */
+	private final Map<String, ContextTypeTemplates> fContextTypeTemplates= new HashMap<>();
+	private int fTemplateChangeCount;
+
+	/**
+	 * Creates the index of the given templates.
+	 *
+	 * @param templates the templates of the store
+	 */
+	TemplateIndex(TemplateList templates) {
+		fTemplates= templates;
+		fModificationCount= templates.getModificationCount();
+		fTemplateChangeCount= TemplatePersistenceData.getTemplateChangeCount();
+		for (TemplatePersistenceData data : templates) {
+			if (data.getId() != null)
+				fTemplatesById.putIfAbsent(data.getId(), data);
+		}
+	}
+
+	/**
+	 * Tells whether the list of templates has been modified since this index has been created.
+	 *
+	 * @return <code>true</code> if this index still matches the list of templates
+	 */
+	synchronized boolean isCurrent() {
+		return fModificationCount == fTemplates.getModificationCount();
+	}
+
+	/**
+	 * Appends the given template data to the list of templates and updates this index.
+	 *
+	 * @param data the template data to add
+	 */
+	synchronized void add(TemplatePersistenceData data) {
+		fTemplates.add(data);
+		fModificationCount= fTemplates.getModificationCount();
+		if (data.getId() != null)
+			fTemplatesById.putIfAbsent(data.getId(), data);
+		fContextTypeTemplates.remove(null);
+		fContextTypeTemplates.remove(data.getTemplate().getContextTypeId());
+	}
+
+	/**
+	 * Returns the first template data with the given id.
+	 *
+	 * @param id the id
+	 * @return the template data, or <code>null</code> if none
+	 */
+	synchronized TemplatePersistenceData getTemplateDataById(String id) {
+		return fTemplatesById.get(id);
+	}
+
+	/**
+	 * Returns the template data of the given context type, whether enabled or not.
+	 *
+	 * @param contextTypeId the id of the context type, or <code>null</code> for all templates
+	 * @return the template data, in the order of the store
+	 */
+	synchronized List<TemplatePersistenceData> getTemplateData(String contextTypeId) {
+		return getContextTypeTemplates(contextTypeId).fTemplates;
+	}
+
+	/**
+	 * Returns the template data of the given context type whose template has the given name,
+	 * whether enabled or not.
+	 *
+	 * @param contextTypeId the id of the context type, or <code>null</code> for all templates
+	 * @param name the name of the template
+	 * @return the template data, in the order of the store
+	 */
+	synchronized List<TemplatePersistenceData> getTemplateDataByName(String contextTypeId, String name) {
+		List<TemplatePersistenceData> templates= getContextTypeTemplates(contextTypeId).fTemplatesByName.get(name);
+		return templates != null ? templates : Collections.emptyList();
+	}
+
+	private ContextTypeTemplates getContextTypeTemplates(String contextTypeId) {
+		int templateChangeCount= TemplatePersistenceData.getTemplateChangeCount();
+		if (fTemplateChangeCount != templateChangeCount) {
+			fContextTypeTemplates.clear();
+			fTemplateChangeCount= templateChangeCount;
+		}
+		ContextTypeTemplates result= fContextTypeTemplates.get(contextTypeId);
+		if (result == null) {
+			result= new ContextTypeTemplates();
+			for (TemplatePersistenceData data : fTemplates) {
+				Template template= data.getTemplate();
+				if (contextTypeId == null || contextTypeId.equals(template.getContextTypeId())) {
+					result.fTemplates.add(data);
+					result.fTemplatesByName.computeIfAbsent(template.getName(), n -> new ArrayList<>(1)).add(data);
+				}
+			}
+			fContextTypeTemplates.put(contextTypeId, result);
+		}
+		return result;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.text.templates;
 
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -35,6 +36,12 @@ import org.eclipse.jface.text.templates.Template;
  * @noextend This class is not intended to be subclassed by clients.
  */
 public class TemplatePersistenceData {
+	/**
+	 * Counts the changes of the templates of all template data, so that template stores can tell
+	 * when their index is out of date.
+	 */
+	private static final AtomicInteger fgTemplateChangeCount= new AtomicInteger();
+
 	private final Template fOriginalTemplate;
 	private final String fId;
 	private final boolean fOriginalIsEnabled;
@@ -123,6 +130,7 @@ public class TemplatePersistenceData {
 	 */
 	public void setTemplate(Template template) {
 		fCustomTemplate= template;
+		fgTemplateChangeCount.incrementAndGet();
 	}
 
 	/**
@@ -166,6 +174,7 @@ public class TemplatePersistenceData {
 	 */
 	public void revert() {
 		fCustomTemplate= fOriginalTemplate;
+		fgTemplateChangeCount.incrementAndGet();
 		fCustomIsEnabled= fOriginalIsEnabled;
 		fIsDeleted= false;
 	}
@@ -225,4 +234,12 @@ public class TemplatePersistenceData {
 		return data.getUniqueIdForEquals();
 	}
 
+	/**
+	 * Returns the number of times the template of any template data has been changed.
+	 *
+	 * @return the template change count
+	 */
+	static int getTemplateChangeCount() {
+		return fgTemplateChangeCount.get();
+	}
 }
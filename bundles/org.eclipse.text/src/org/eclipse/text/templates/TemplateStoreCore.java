@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,7 +39,9 @@ import org.eclipse.jface.text.templates.TemplateException;
 public class TemplateStoreCore {
 
 	/** The stored templates. */
-	private final List<TemplatePersistenceData> fTemplates= new ArrayList<>();
+	private final TemplateIndex.TemplateList fTemplates= new TemplateIndex.TemplateList();
+	/** The index of the stored templates, created when first needed. */
+	private TemplateIndex fIndex;
 	/** The preference store. */
 	private IEclipsePreferences fPreferenceStore;
 	/**
@@ -181,12 +183,11 @@ public class TemplateStoreCore {
 	protected void internalAdd(TemplatePersistenceData data) {
 		if (!data.isCustom()) {
 			// check if the added template is not a duplicate id
+			TemplateIndex index= getIndex();
 			String id= data.getId();
-			for (TemplatePersistenceData persistenceData : fTemplates) {
-				if (persistenceData.getId() != null && persistenceData.getId().equals(id))
-					return;
-			}
-			fTemplates.add(data);
+			if (id != null && index.getTemplateDataById(id) != null)
+				return;
+			index.add(data);
 		}
 	}
 
@@ -226,22 +227,22 @@ public class TemplateStoreCore {
 		if (!validateTemplate(data.getTemplate()))
 			return;
 
+		TemplateIndex index= getIndex();
 		if (data.isUserAdded()) {
-			fTemplates.add(data);
+			index.add(data);
 		} else {
-			for (TemplatePersistenceData persistenceData : fTemplates) {
-				if (persistenceData.getId() != null && persistenceData.getId().equals(data.getId())) {
-					persistenceData.setTemplate(data.getTemplate());
-					persistenceData.setDeleted(data.isDeleted());
-					persistenceData.setEnabled(data.isEnabled());
-					return;
-				}
+			TemplatePersistenceData persistenceData= index.getTemplateDataById(data.getId());
+			if (persistenceData != null) {
+				persistenceData.setTemplate(data.getTemplate());
+				persistenceData.setDeleted(data.isDeleted());
+				persistenceData.setEnabled(data.isEnabled());
+				return;
 			}
 
 			// add an id which is not contributed as add-on
 			if (data.getTemplate() != null) {
 				TemplatePersistenceData newData= new TemplatePersistenceData(data.getTemplate(), data.isEnabled(), data.getId());
-				fTemplates.add(newData);
+				index.add(newData);
 			}
 		}
 	}
@@ -331,8 +332,8 @@ public class TemplateStoreCore {
 	 */
 	public Template[] getTemplates(String contextTypeId) {
 		List<Template> templates= new ArrayList<>();
-		for (TemplatePersistenceData data : fTemplates) {
-			if (data.isEnabled() && !data.isDeleted() && (contextTypeId == null || contextTypeId.equals(data.getTemplate().getContextTypeId())))
+		for (TemplatePersistenceData data : getIndex().getTemplateData(contextTypeId)) {
+			if (data.isEnabled() && !data.isDeleted())
 				templates.add(data.getTemplate());
 		}
 
@@ -359,12 +360,9 @@ public class TemplateStoreCore {
 	public Template findTemplate(String name, String contextTypeId) {
 		Assert.isNotNull(name);
 
-		for (TemplatePersistenceData data : fTemplates) {
-			Template template= data.getTemplate();
-			if (data.isEnabled() && !data.isDeleted()
-					&& (contextTypeId == null || contextTypeId.equals(template.getContextTypeId()))
-					&& name.equals(template.getName()))
-				return template;
+		for (TemplatePersistenceData data : getIndex().getTemplateDataByName(contextTypeId, name)) {
+			if (data.isEnabled() && !data.isDeleted())
+				return data.getTemplate();
 		}
 
 		return null;
@@ -411,12 +409,7 @@ public class TemplateStoreCore {
 	 */
 	public TemplatePersistenceData getTemplateData(String id) {
 		Assert.isNotNull(id);
-		for (TemplatePersistenceData data : fTemplates) {
-			if (id.equals(data.getId()))
-				return data;
-		}
-
-		return null;
+		return getIndex().getTemplateDataById(id);
 	}
 
 	private void loadCustomTemplates() throws IOException {
@@ -431,6 +424,18 @@ public class TemplateStoreCore {
 		}
 	}
 
+	/**
+	 * Returns the index of the stored templates, creating it if the templates have been modified
+	 * since it has been created.
+	 *
+	 * @return the index
+	 */
+	private synchronized TemplateIndex getIndex() {
+		if (fIndex == null || !fIndex.isCurrent())
+			fIndex= new TemplateIndex(fTemplates);
+		return fIndex;
+	}
+
 	/**
 	 * Validates a template against the context type registered in the context
 	 * type registry. Returns always <code>true</code> if no registry is
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,14 @@
 package org.eclipse.ui.texteditor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.osgi.framework.Bundle;
@@ -79,6 +83,10 @@ public abstract class AbstractMarkerAnnotationModel extends AnnotationModel impl
 	private List<IMarkerUpdater> fInstantiatedMarkerUpdaters= null;
 	/** List of registered but not yet instantiated marker updaters */
 	private List<IConfigurationElement> fMarkerUpdaterSpecifications= null;
+	/** The marker annotations of this model by their marker */
+	private final Map<IMarker, MarkerAnnotation> fMarkerAnnotations= new HashMap<>();
+	/** Marker annotations whose marker already has another annotation in <code>fMarkerAnnotations</code> */
+	private final List<MarkerAnnotation> fDuplicateMarkerAnnotations= new ArrayList<>();
 
 	private static final String ID= "id"; //$NON-NLS-1$
 
@@ -241,6 +249,110 @@ public abstract class AbstractMarkerAnnotationModel extends AnnotationModel impl
 		}
 	}
 
+	/**
+	 * Creates annotations for the given markers and adds them to this model without informing the
+	 * model listeners. Markers which are not acceptable to this model are ignored.
+	 * <p>
+	 * The annotations are added in the order of their positions, which is the order in which the
+	 * document keeps its positions, so that adding many annotations does not move the positions
+	 * of the document over and over.
+	 * </p>
+	 *
+	 * @param markers the markers
+	 * @see #addMarkerAnnotation(IMarker)
+	 */
+	final void addMarkerAnnotations(Collection<IMarker> markers) {
+		List<Map.Entry<MarkerAnnotation, Position>> annotations= new ArrayList<>(markers.size());
+		for (IMarker marker : markers) {
+			if (isAcceptable(marker)) {
+				Position p= createPositionFromMarker(marker);
+				if (p != null) {
+					MarkerAnnotation annotation= createMarkerAnnotation(marker);
+					if (annotation != null)
+						annotations.add(Map.entry(annotation, p));
+				}
+			}
+		}
+		annotations.sort(Comparator.comparingInt(entry -> entry.getValue().getOffset()));
+		for (Map.Entry<MarkerAnnotation, Position> entry : annotations) {
+			try {
+				addAnnotation(entry.getKey(), entry.getValue(), false);
+			} catch (BadLocationException e) {
+				// ignore invalid position
+			}
+		}
+	}
+
+	/**
+	 * Removes the given annotations from this model without informing the model listeners. The
+	 * annotations are removed in reverse order of their positions, so that removing many
+	 * annotations does not move the positions of the document over and over.
+	 *
+	 * @param annotations the annotations to remove
+	 */
+	final void removeMarkerAnnotations(List<MarkerAnnotation> annotations) {
+		IAnnotationMap annotationMap= getAnnotationMap();
+		List<Map.Entry<MarkerAnnotation, Position>> positions= new ArrayList<>(annotations.size());
+		for (MarkerAnnotation annotation : annotations) {
+			Position p= annotationMap.get(annotation);
+			if (p != null)
+				positions.add(Map.entry(annotation, p));
+		}
+		positions.sort(Comparator.comparingInt((Map.Entry<MarkerAnnotation, Position> entry) -> entry.getValue().getOffset()).reversed());
+		for (Map.Entry<MarkerAnnotation, Position> entry : positions)
+			removeAnnotation(entry.getKey(), false);
+	}
+
+	@Override
+	protected void addAnnotation(Annotation annotation, Position position, boolean fireModelChanged) throws BadLocationException {
+		if (getAnnotationMap().containsKey(annotation))
+			return;
+		super.addAnnotation(annotation, position, false);
+		if (annotation instanceof MarkerAnnotation markerAnnotation) {
+			synchronized (getLockObject()) {
+				IMarker marker= markerAnnotation.getMarker();
+				MarkerAnnotation known= fMarkerAnnotations.putIfAbsent(marker, markerAnnotation);
+				if (known != null)
+					fDuplicateMarkerAnnotations.add(markerAnnotation);
+			}
+		}
+		if (fireModelChanged)
+			fireModelChanged();
+	}
+
+	@Override
+	protected void removeAnnotation(Annotation annotation, boolean fireModelChanged) {
+		if (annotation instanceof MarkerAnnotation markerAnnotation) {
+			synchronized (getLockObject()) {
+				IMarker marker= markerAnnotation.getMarker();
+				if (fMarkerAnnotations.get(marker) == markerAnnotation) {
+					fMarkerAnnotations.remove(marker);
+					// another annotation of the marker takes over
+					for (Iterator<MarkerAnnotation> e= fDuplicateMarkerAnnotations.iterator(); e.hasNext();) {
+						MarkerAnnotation duplicate= e.next();
+						if (marker.equals(duplicate.getMarker())) {
+							e.remove();
+							fMarkerAnnotations.put(marker, duplicate);
+							break;
+						}
+					}
+				} else {
+					fDuplicateMarkerAnnotations.remove(markerAnnotation);
+				}
+			}
+		}
+		super.removeAnnotation(annotation, fireModelChanged);
+	}
+
+	@Override
+	protected void removeAllAnnotations(boolean fireModelChanged) {
+		synchronized (getLockObject()) {
+			fMarkerAnnotations.clear();
+			fDuplicateMarkerAnnotations.clear();
+		}
+		super.removeAllAnnotations(fireModelChanged);
+	}
+
 	/**
 	 * Connects to the source of markers as marker change listener.
 	 * @see AnnotationModel#connected()
@@ -461,18 +573,17 @@ public abstract class AbstractMarkerAnnotationModel extends AnnotationModel impl
 	 */
 	private void catchupWithMarkers() throws CoreException {
 
+		List<MarkerAnnotation> annotations= new ArrayList<>();
 		for (Iterator<Annotation> e=getAnnotationIterator(false); e.hasNext();) {
 			Annotation a= e.next();
-			if (a instanceof MarkerAnnotation)
-				removeAnnotation(a, false);
+			if (a instanceof MarkerAnnotation markerAnnotation)
+				annotations.add(markerAnnotation);
 		}
+		removeMarkerAnnotations(annotations);
 
 		IMarker[] markers= retrieveMarkers();
-		if (markers != null) {
-			for (IMarker marker : markers) {
-				addMarkerAnnotation(marker);
-			}
-		}
+		if (markers != null)
+			addMarkerAnnotations(Arrays.asList(markers));
 	}
 
 	/**
@@ -482,16 +593,9 @@ public abstract class AbstractMarkerAnnotationModel extends AnnotationModel impl
 	 * @return the annotation, or <code>null</code> if none
 	 */
 	public final MarkerAnnotation getMarkerAnnotation(IMarker marker) {
-		Iterator<Annotation> e= getAnnotationIterator(false);
-		while (e.hasNext()) {
-			Object o= e.next();
-			if (o instanceof MarkerAnnotation a) {
-				if (marker.equals(a.getMarker())) {
-					return a;
-				}
-			}
+		synchronized (getLockObject()) {
+			return fMarkerAnnotations.get(marker);
 		}
-		return null;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ui.texteditor;
 
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -29,7 +29,6 @@ import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 
 import org.eclipse.jface.text.Position;
-import org.eclipse.jface.text.source.Annotation;
 
 
 
@@ -115,58 +114,43 @@ public class ResourceMarkerAnnotationModel extends AbstractMarkerAnnotationModel
 	}
 
 	/**
-	 * Updates this model to the given marker deltas.
+	 * Updates this model to the given marker deltas. The annotations of removed markers are
+	 * removed and the annotations of added markers are added in bulk.
 	 *
 	 * @param markerDeltas the array of marker deltas
 	 */
 	@SuppressWarnings("incomplete-switch")
 	private void batchedUpdate(IMarkerDelta[] markerDeltas) {
-		HashSet<IMarker> removedMarkers= new HashSet<>(markerDeltas.length);
-		HashSet<IMarker> modifiedMarkers= new HashSet<>(markerDeltas.length);
+		List<IMarker> addedMarkers= new ArrayList<>();
+		List<MarkerAnnotation> removedAnnotations= new ArrayList<>();
 
 		for (IMarkerDelta delta : markerDeltas) {
+			IMarker marker= delta.getMarker();
 			switch (delta.getKind()) {
 				case IResourceDelta.ADDED:
-					addMarkerAnnotation(delta.getMarker());
+					addedMarkers.add(marker);
 					break;
 				case IResourceDelta.REMOVED:
-					removedMarkers.add(delta.getMarker());
+					MarkerAnnotation removed= getMarkerAnnotation(marker);
+					if (removed != null)
+						removedAnnotations.add(removed);
 					break;
 				case IResourceDelta.CHANGED:
-					modifiedMarkers.add(delta.getMarker());
+					MarkerAnnotation a= getMarkerAnnotation(marker);
+					if (a != null) {
+						Position p= createPositionFromMarker(marker);
+						if (p != null) {
+							a.update();
+							modifyAnnotationPosition(a, p, false);
+						}
+					} else
+						addedMarkers.add(marker);
 					break;
 				}
 		}
 
-		if (modifiedMarkers.isEmpty() && removedMarkers.isEmpty())
-			return;
-
-		Iterator<Annotation> e= getAnnotationIterator(false);
-		while (e.hasNext()) {
-			Object o= e.next();
-			if (o instanceof MarkerAnnotation a) {
-				IMarker marker= a.getMarker();
-
-				if (removedMarkers.remove(marker))
-					removeAnnotation(a, false);
-
-				if (modifiedMarkers.remove(marker)) {
-					Position p= createPositionFromMarker(marker);
-					if (p != null) {
-						a.update();
-						modifyAnnotationPosition(a, p, false);
-					}
-				}
-
-				if (modifiedMarkers.isEmpty() && removedMarkers.isEmpty())
-					return;
-
-			}
-		}
-
-		Iterator<IMarker> iter= modifiedMarkers.iterator();
-		while (iter.hasNext())
-			addMarkerAnnotation(iter.next());
+		removeMarkerAnnotations(removedAnnotations);
+		addMarkerAnnotations(addedMarkers);
 	}
 
 	@Override
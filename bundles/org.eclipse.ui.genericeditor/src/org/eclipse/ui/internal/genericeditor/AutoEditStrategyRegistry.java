@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Rogue Wave Software Inc. and others.
+ * Copyright (c) 2017, 2026 Rogue Wave Software Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,8 @@ public class AutoEditStrategyRegistry {
 
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<IAutoEditStrategy>> extensions = new LinkedHashMap<>();
 	private boolean outOfSync = true;
+	private final ContentTypeExtensionCache<IAutoEditStrategy> cache = new ContentTypeExtensionCache<>("autoEditStrategies", //$NON-NLS-1$
+			new ContentTypeSpecializationComparator<>());
 
 	/**
 	 * Creates the registry and binds it to the extension point.
@@ -66,10 +68,7 @@ public class AutoEditStrategyRegistry {
 		if (this.outOfSync) {
 			sync();
 		}
-		return this.extensions.values().stream()
-			.filter(ext -> contentTypes.contains(ext.targetContentType))
-			.filter(ext -> ext.matches(sourceViewer, editor))
-			.sorted(new ContentTypeSpecializationComparator<>())
+		return this.cache.resolve(this.extensions.values(), sourceViewer, editor, contentTypes).stream()
 			.map(GenericContentTypeRelatedExtension<IAutoEditStrategy>::createDelegate)
 			.collect(Collectors.toList());
 	}
@@ -91,6 +90,14 @@ public class AutoEditStrategyRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.extensions.remove(toRemove);
 		}
+		this.cache.clear();
 		this.outOfSync = false;
 	}
+
+	/**
+	 * Disposes the cache of the registry. Called when the plug-in stops.
+	 */
+	public void dispose() {
+		this.cache.dispose();
+	}
 }
@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2018 Angelo ZERR.
+ *  Copyright (c) 2018, 2026 Angelo ZERR.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v2.0
  *  which accompanies this distribution, and is available at
@@ -39,6 +39,8 @@ public class CharacterPairMatcherRegistry {
 
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<ICharacterPairMatcher>> extensions = new HashMap<>();
 	private boolean outOfSync = true;
+	private final ContentTypeExtensionCache<ICharacterPairMatcher> cache = new ContentTypeExtensionCache<>("characterPairMatchers", //$NON-NLS-1$
+			new ContentTypeSpecializationComparator<>());
 
 	/**
 	 * Creates the registry and binds it to the extension point.
@@ -62,9 +64,7 @@ public class CharacterPairMatcherRegistry {
 		if (this.outOfSync) {
 			sync();
 		}
-		return this.extensions.values().stream().filter(ext -> contentTypes.contains(ext.targetContentType))
-				.filter(ext -> ext.matches(sourceViewer, editor))
-				.sorted(new ContentTypeSpecializationComparator<>())
+		return this.cache.resolve(this.extensions.values(), sourceViewer, editor, contentTypes).stream()
 				.map(GenericContentTypeRelatedExtension<ICharacterPairMatcher>::createDelegate)
 				.collect(Collectors.toList());
 	}
@@ -87,7 +87,15 @@ public class CharacterPairMatcherRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.extensions.remove(toRemove);
 		}
+		this.cache.clear();
 		this.outOfSync = false;
 	}
 
+	/**
+	 * Disposes the cache of the registry. Called when the plug-in stops.
+	 */
+	public void dispose() {
+		this.cache.dispose();
+	}
+
 }
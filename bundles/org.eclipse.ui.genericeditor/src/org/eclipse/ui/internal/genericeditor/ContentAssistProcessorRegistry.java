@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016-2017 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -130,6 +130,8 @@ public class ContentAssistProcessorRegistry {
 
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<IContentAssistProcessor>> extensions = new LinkedHashMap<>();
 	private boolean outOfSync = true;
+	private final ContentTypeExtensionCache<IContentAssistProcessor> cache = new ContentTypeExtensionCache<>("contentAssistProcessors", //$NON-NLS-1$
+			new ContentTypeSpecializationComparator<>());
 
 	/**
 	 * Creates the registry and binds it to the extension point.
@@ -150,10 +152,7 @@ public class ContentAssistProcessorRegistry {
 		if (this.outOfSync) {
 			sync();
 		}
-		return this.extensions.values().stream()
-			.filter(ext -> contentTypes.contains(ext.targetContentType))
-			.filter(ext -> ext.matches(sourceViewer, editor))
-			.sorted(new ContentTypeSpecializationComparator<>())
+		return this.cache.resolve(this.extensions.values(), sourceViewer, editor, contentTypes).stream()
 			.map(GenericContentTypeRelatedExtension<IContentAssistProcessor>::createDelegate)
 			.collect(Collectors.toList());
 	}
@@ -173,6 +172,14 @@ public class ContentAssistProcessorRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.extensions.remove(toRemove);
 		}
+		this.cache.clear();
 		this.outOfSync = false;
 	}
+
+	/**
+	 * Disposes the cache of the registry. Called when the plug-in stops.
+	 */
+	public void dispose() {
+		this.cache.dispose();
+	}
 }
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.genericeditor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.PerformanceStats;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.content.IContentType;
+import org.eclipse.core.runtime.content.IContentTypeManager.IContentTypeChangeListener;
+import org.eclipse.jface.text.source.ISourceViewer;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+/**
+ * Resolves the extensions of a registry that apply to an editor, caching for
+ * each set of content types the extensions targeting one of them, already in
+ * the order in which the registry applies them.
+ * <p>
+ * Only the <code>enabledWhen</code> expressions of the cached extensions are
+ * evaluated for every editor, as they depend on the editor and its input. The
+ * cache is cleared when the registry synchronizes with the extension registry
+ * and when the content types change. Registries dispose their caches when the
+ * plug-in stops.
+ * </p>
+ * <p>
+ * The time spent resolving extensions is reported through
+ * {@link PerformanceStats} with the event
+ * <code>org.eclipse.ui.genericeditor/perf/resolve/&lt;registry&gt;</code>.
+ * </p>
+ *
+ * @param <T> the type of the contributions
+ */
+public class ContentTypeExtensionCache<T> {
+
+	private static final String PERF_RESOLVE = GenericEditorPlugin.BUNDLE_ID + "/perf/resolve/"; //$NON-NLS-1$
+
+	private final String perfEvent;
+	private final Comparator<? super GenericContentTypeRelatedExtension<T>> order;
+	private final Map<Set<IContentType>, List<GenericContentTypeRelatedExtension<T>>> candidates = new HashMap<>();
+	private final IContentTypeChangeListener contentTypeChangeListener = event -> clear();
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param registryName the name of the registry, used to report the
+	 *                     resolution time
+	 * @param order        the order in which the registry applies the
+	 *                     extensions, or <code>null</code> to keep the order of
+	 *                     the registry
+	 */
+	public ContentTypeExtensionCache(String registryName, Comparator<? super GenericContentTypeRelatedExtension<T>> order) {
+		this.perfEvent = PERF_RESOLVE + registryName;
+		this.order = order;
+		Platform.getContentTypeManager().addContentTypeChangeListener(contentTypeChangeListener);
+	}
+
+	/**
+	 * Returns the extensions that target one of the given content types and
+	 * whose <code>enabledWhen</code> expression matches the viewer and editor.
+	 *
+	 * @param extensions   all extensions of the registry
+	 * @param sourceViewer the source viewer
+	 * @param editor       the text editor
+	 * @param contentTypes the content types of the document
+	 * @return the matching extensions, in the order of the registry
+	 */
+	public List<GenericContentTypeRelatedExtension<T>> resolve(
+			Collection<? extends GenericContentTypeRelatedExtension<T>> extensions, ISourceViewer sourceViewer,
+			ITextEditor editor, Set<IContentType> contentTypes) {
+		PerformanceStats stats = null;
+		if (PerformanceStats.isEnabled(perfEvent)) {
+			stats = PerformanceStats.getStats(perfEvent, this);
+			stats.startRun();
+		}
+		List<GenericContentTypeRelatedExtension<T>> result = new ArrayList<>();
+		for (GenericContentTypeRelatedExtension<T> ext : getCandidates(extensions, contentTypes)) {
+			if (ext.matches(sourceViewer, editor)) {
+				result.add(ext);
+			}
+		}
+		if (stats != null) {
+			stats.endRun();
+		}
+		return result;
+	}
+
+	/**
+	 * Forgets the cached extensions. Registries call it when they synchronize
+	 * with the extension registry.
+	 */
+	public synchronized void clear() {
+		candidates.clear();
+	}
+
+	/**
+	 * Stops listening to content type changes and forgets the cached extensions.
+	 */
+	public void dispose() {
+		Platform.getContentTypeManager().removeContentTypeChangeListener(contentTypeChangeListener);
+		clear();
+	}
+
+	private synchronized List<GenericContentTypeRelatedExtension<T>> getCandidates(
+			Collection<? extends GenericContentTypeRelatedExtension<T>> extensions, Set<IContentType> contentTypes) {
+		List<GenericContentTypeRelatedExtension<T>> cached = candidates.get(contentTypes);
+		if (cached == null) {
+			cached = new ArrayList<>();
+			for (GenericContentTypeRelatedExtension<T> ext : extensions) {
+				if (contentTypes.contains(ext.targetContentType)) {
+					cached.add(ext);
+				}
+			}
+			if (order != null) {
+				cached.sort(order);
+			}
+			candidates.put(Set.copyOf(contentTypes), cached);
+		}
+		return cached;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2021 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,19 +15,18 @@
 package org.eclipse.ui.internal.genericeditor;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.contentassist.CompletionProposal;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.contentassist.IContentAssistProcessor;
 import org.eclipse.jface.text.contentassist.IContextInformation;
 import org.eclipse.jface.text.contentassist.IContextInformationValidator;
+import org.eclipse.ui.internal.texteditor.DocumentWordIndex;
 
 /**
  *
@@ -35,61 +34,46 @@ import org.eclipse.jface.text.contentassist.IContextInformationValidator;
  * no other auto-completion is registered for a given content-type. It splits
  * the text into 'words' (which are defined as anything in-between
  * non-alphanumeric characters) and offers them as auto-complete alternatives to
- * the matching prefix.
+ * the matching prefix. The words are looked up in the {@link DocumentWordIndex}
+ * of the document.
  *
  * E.g. if your file contains "this is a t^" and you ask for auto-completion at
  * ^ you will get 'this' as an alternative.
  */
 public class DefaultContentAssistProcessor implements IContentAssistProcessor {
 
-	private static final String NON_ALPHANUMERIC_LAST_REGEXP = "[^\\w](?!.*[^\\w])"; //$NON-NLS-1$
-	private static final String NON_ALPHANUMERIC_REGEXP = "[^a-zA-Z0-9]+"; //$NON-NLS-1$
-	private static final Pattern NON_ALPHANUMERIC_LAST_PATTERN = Pattern.compile(NON_ALPHANUMERIC_LAST_REGEXP);
-
-
 	@Override
 	public ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int offset) {
-		String text = viewer.getDocument().get();
-		//wordStartIndex is the index of the last non-alphanumeric before 'offset' in text 'text'
-		int wordStartIndex = findStartingPoint(text, offset);
-		if (wordStartIndex < 0) {
-			// not possible
+		IDocument document = viewer.getDocument();
+		DocumentWordIndex index = DocumentWordIndex.get(document, DocumentWordIndex.UNICODE_WORD_PART);
+		String prefix = ""; //$NON-NLS-1$
+		List<String> words;
+		try {
+			IRegion word = index.findWord(document, offset);
+			if (word != null) {
+				prefix = document.get(word.getOffset(), offset - word.getOffset());
+			}
+			words = index.getWordsStartingWith(document, prefix);
+		} catch (BadLocationException e) {
 			return null;
 		}
-		String[] tokens = text.split(NON_ALPHANUMERIC_REGEXP);
-
-		// remove duplicates
-		Set<String> tokenSet = new HashSet<>(Arrays.asList(tokens));
-
-		String prefix = text.substring(wordStartIndex, offset);
 
 		List<ICompletionProposal> proposals = new ArrayList<>();
-		for (String token : tokenSet) {
-			if ((token==null)||(token.length()<2)) {
+		for (String token : words) {
+			if (token.length() < 2) {
 				continue;
 			}
 			if (token.equals(prefix)) {
 				continue;
 			}
-			if (token.startsWith(prefix)) {
-				String completion = token.substring(prefix.length());
-				CompletionProposal proposal = new CompletionProposal(completion, offset, 0,
-						completion.length(), null,  token, null, null);
-				proposals.add(proposal);
-			}
+			String completion = token.substring(prefix.length());
+			CompletionProposal proposal = new CompletionProposal(completion, offset, 0,
+					completion.length(), null,  token, null, null);
+			proposals.add(proposal);
 		}
 		return proposals.toArray(new ICompletionProposal[proposals.size()]);
 	}
 
-	private static int findStartingPoint(String text, int offset) {
-		String substring = text.substring(0, offset);
-		Matcher m = NON_ALPHANUMERIC_LAST_PATTERN.matcher(substring);
-		if (m.find()) {
-			return m.end();
-		}
-		return -1;
-	}
-
 	@Override
 	public IContextInformation[] computeContextInformation(ITextViewer viewer, int offset) {
 		return null;
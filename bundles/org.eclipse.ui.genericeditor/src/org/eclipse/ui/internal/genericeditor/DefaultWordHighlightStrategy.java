@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,14 +17,13 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
@@ -43,11 +42,12 @@ import org.eclipse.jface.viewers.IPostSelectionProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.internal.texteditor.DocumentWordIndex;
 
 /**
  *
  * This Reconciler Strategy is a default stategy which will be present if no other highlightReconcilers are registered for a given content-type. It splits the text into 'words' (which are defined as
- * anything in-between non-alphanumeric characters) and searches the document highlighting all like words.
+ * anything in-between non-alphanumeric characters) and highlights all like words, which it looks up in the {@link DocumentWordIndex} of the document.
  *
  * E.g. if your file contains "t^he dog in the bog" and you leave your caret at ^ you will get both instances of 'the' highlighted.
  */
@@ -59,11 +59,6 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 	private ISourceViewer sourceViewer;
 	private IDocument document;
 
-	private static final String WORD_REGEXP = "\\w+"; //$NON-NLS-1$
-	private static final Pattern WORD_PATTERN = Pattern.compile(WORD_REGEXP, Pattern.UNICODE_CHARACTER_CLASS);
-	private static final Pattern CURRENT_WORD_START_PATTERN = Pattern.compile(WORD_REGEXP + "$", //$NON-NLS-1$
-			Pattern.UNICODE_CHARACTER_CLASS);
-
 	private Annotation[] fOccurrenceAnnotations = null;
 
 	private ISelectionChangedListener editorSelectionChangedListener = event -> applyHighlights(event.getSelection());
@@ -78,24 +73,25 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 			return;
 		}
 
-		String text = document.get();
 		int offset = textSelection.getOffset();
 		if (sourceViewer instanceof ITextViewerExtension5) {
 			offset = ((ITextViewerExtension5) sourceViewer).widgetOffset2ModelOffset(textSelection.getOffset());
 		}
 
-		String word = findCurrentWord(text, offset);
-		if (word == null) {
-			removeOccurrenceAnnotations();
-			return;
-		}
-
-		Matcher m = WORD_PATTERN.matcher(text);
 		Map<Annotation, Position> annotationMap = new HashMap<>();
-		while (m.find()) {
-			if (m.group().equals(word)) {
-				annotationMap.put(new Annotation(ANNOTATION_TYPE, false, NLS.bind(Messages.DefaultWordHighlightStrategy_OccurrencesOf, word)), new Position(m.start(), m.end() - m.start()));
+		try {
+			String word = findCurrentWord(document, offset);
+			if (word == null) {
+				removeOccurrenceAnnotations();
+				return;
 			}
+			for (IRegion occurrence : DocumentWordIndex.get(document, DocumentWordIndex.UNICODE_WORD_PART).getOccurrences(document, word)) {
+				annotationMap.put(new Annotation(ANNOTATION_TYPE, false, NLS.bind(Messages.DefaultWordHighlightStrategy_OccurrencesOf, word)), new Position(occurrence.getOffset(), occurrence.getLength()));
+			}
+		} catch (BadLocationException e) {
+			// the document has changed, the next selection change highlights again
+			removeOccurrenceAnnotations();
+			return;
 		}
 
 		if (annotationMap.size() < 2) {
@@ -123,28 +119,12 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 		}
 	}
 
-	private static String findCurrentWord(String text, int offset) {
-		if (offset < 0 || offset >= text.length()) {
+	private static String findCurrentWord(IDocument document, int offset) throws BadLocationException {
+		if (offset < 0 || offset >= document.getLength()) {
 			return null;
 		}
-		String wordStart = null;
-		String wordEnd = null;
-
-		String substring = text.substring(0, offset);
-		Matcher m = CURRENT_WORD_START_PATTERN.matcher(substring);
-		if (m.find()) {
-			wordStart = m.group();
-		}
-		substring = text.substring(offset);
-		m = WORD_PATTERN.matcher(substring);
-		if (m.lookingAt()) {
-			wordEnd = m.group();
-		}
-		if (wordStart != null && wordEnd != null)
-			return wordStart + wordEnd;
-		if (wordStart != null)
-			return wordStart;
-		return wordEnd;
+		IRegion word = DocumentWordIndex.get(document, DocumentWordIndex.UNICODE_WORD_PART).findWord(document, offset);
+		return word != null ? document.get(word.getOffset(), word.getLength()) : null;
 	}
 
 	public void install(ITextViewer viewer) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 Red Hat Inc. and others.
+ * Copyright (c) 2000, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -231,6 +231,10 @@ public class ExtensionBasedTextEditor extends TextEditor {
 			this.contentTypeImage = null;
 		}
 		super.dispose();
+		if (pairMatcher != null) {
+			pairMatcher.dispose();
+			pairMatcher = null;
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -77,9 +77,45 @@ public class GenericEditorPlugin extends AbstractUIPlugin {
 			PlatformUI.getWorkbench().getThemeManager().removePropertyChangeListener(themeListener);
 			themeListener = null;
 		}
+		disposeRegistries();
 		INSTANCE = null;
 	}
 
+	private synchronized void disposeRegistries() {
+		if (this.textHoversRegistry != null) {
+			this.textHoversRegistry.dispose();
+			this.textHoversRegistry = null;
+		}
+		if (this.contentAssistProcessorsRegistry != null) {
+			this.contentAssistProcessorsRegistry.dispose();
+			this.contentAssistProcessorsRegistry = null;
+		}
+		if (this.quickAssistProcessorRegistry != null) {
+			this.quickAssistProcessorRegistry.dispose();
+			this.quickAssistProcessorRegistry = null;
+		}
+		if (this.reconcilierRegistry != null) {
+			this.reconcilierRegistry.dispose();
+			this.reconcilierRegistry = null;
+		}
+		if (this.presentationReconcilierRegistry != null) {
+			this.presentationReconcilierRegistry.dispose();
+			this.presentationReconcilierRegistry = null;
+		}
+		if (this.autoEditStrategyRegistry != null) {
+			this.autoEditStrategyRegistry.dispose();
+			this.autoEditStrategyRegistry = null;
+		}
+		if (this.characterPairMatcherRegistry != null) {
+			this.characterPairMatcherRegistry.dispose();
+			this.characterPairMatcherRegistry = null;
+		}
+		if (this.textDoubleClickStrategyRegistry != null) {
+			this.textDoubleClickStrategyRegistry.dispose();
+			this.textDoubleClickStrategyRegistry = null;
+		}
+	}
+
 	public static GenericEditorPlugin getDefault() {
 		return INSTANCE;
 	}
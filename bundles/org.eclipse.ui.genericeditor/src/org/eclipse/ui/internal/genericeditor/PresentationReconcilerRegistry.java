@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016-2017 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -41,6 +41,8 @@ public class PresentationReconcilerRegistry {
 
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<IPresentationReconciler>> extensions = new HashMap<>();
 	private boolean outOfSync = true;
+	private final ContentTypeExtensionCache<IPresentationReconciler> cache = new ContentTypeExtensionCache<>("presentationReconcilers", //$NON-NLS-1$
+			new ContentTypeSpecializationComparator<>());
 
 	/**
 	 * Creates the registry and binds it to the extension point.
@@ -62,10 +64,7 @@ public class PresentationReconcilerRegistry {
 		if (this.outOfSync) {
 			sync();
 		}
-		return this.extensions.values().stream()
-			.filter(ext -> contentTypes.contains(ext.targetContentType))
-			.filter(ext -> ext.matches(sourceViewer, editor))
-			.sorted(new ContentTypeSpecializationComparator<>())
+		return this.cache.resolve(this.extensions.values(), sourceViewer, editor, contentTypes).stream()
 			.map(GenericContentTypeRelatedExtension<IPresentationReconciler>::createDelegate)
 			.collect(Collectors.toList());
 	}
@@ -85,7 +84,15 @@ public class PresentationReconcilerRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.extensions.remove(toRemove);
 		}
+		this.cache.clear();
 		this.outOfSync = false;
 	}
 
+	/**
+	 * Disposes the cache of the registry. Called when the plug-in stops.
+	 */
+	public void dispose() {
+		this.cache.dispose();
+	}
+
 }
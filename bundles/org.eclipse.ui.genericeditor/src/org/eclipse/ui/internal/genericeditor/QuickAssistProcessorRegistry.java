@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016-2019 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,8 @@ public class QuickAssistProcessorRegistry {
 	private static final String EXTENSION_POINT_ID = GenericEditorPlugin.BUNDLE_ID + ".quickAssistProcessors"; //$NON-NLS-1$
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<IQuickAssistProcessor>> extensions = new HashMap<>();
 	private boolean outOfSync = true;
+	private final ContentTypeExtensionCache<IQuickAssistProcessor> cache = new ContentTypeExtensionCache<>("quickAssistProcessors", //$NON-NLS-1$
+			new ContentTypeSpecializationComparator<>());
 
 	/**
 	 * Creates the registry and binds it to the extension point.
@@ -53,10 +55,7 @@ public class QuickAssistProcessorRegistry {
 		if (this.outOfSync) {
 			sync();
 		}
-		return this.extensions.values().stream()
-				.filter(ext -> contentTypes.contains(ext.targetContentType))
-				.filter(ext -> ext.matches(sourceViewer, editor))
-				.sorted(new ContentTypeSpecializationComparator<>())
+		return this.cache.resolve(this.extensions.values(), sourceViewer, editor, contentTypes).stream()
 				.map(GenericContentTypeRelatedExtension<IQuickAssistProcessor>::createDelegate)
 				.collect(Collectors.toList());
 	}
@@ -79,7 +78,15 @@ public class QuickAssistProcessorRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.extensions.remove(toRemove);
 		}
+		this.cache.clear();
 		this.outOfSync = false;
 	}
 
+	/**
+	 * Disposes the cache of the registry. Called when the plug-in stops.
+	 */
+	public void dispose() {
+		this.cache.dispose();
+	}
+
 }
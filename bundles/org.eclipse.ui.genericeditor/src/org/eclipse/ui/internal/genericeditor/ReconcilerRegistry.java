@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IStatus;
@@ -54,6 +53,12 @@ public class ReconcilerRegistry {
 	private boolean outOfSync = true;
 	private boolean highlightOutOfSync = true;
 	private boolean foldingOutOfSync = true;
+	private final ContentTypeExtensionCache<IReconciler> cache = new ContentTypeExtensionCache<>("reconcilers", //$NON-NLS-1$
+			new ContentTypeSpecializationComparator<IReconciler>().reversed());
+	private final ContentTypeExtensionCache<IReconciler> highlightCache = new ContentTypeExtensionCache<>(
+			"highlightReconcilers", new ContentTypeSpecializationComparator<IReconciler>().reversed()); //$NON-NLS-1$
+	private final ContentTypeExtensionCache<IReconciler> foldingCache = new ContentTypeExtensionCache<>(
+			"foldingReconcilers", new ContentTypeSpecializationComparator<IReconciler>().reversed()); //$NON-NLS-1$
 
 	/**
 	 * Creates the registry and binds it to the extension point.
@@ -82,7 +87,7 @@ public class ReconcilerRegistry {
 			sync();
 		}
 		return getReconcilers(sourceViewer, editor, reconcilingStrategies, contentTypes, RECONCILING_STRATEGY_ELT_NAME,
-				this.extensions);
+				this.extensions, this.cache);
 	}
 
 	/**
@@ -102,7 +107,7 @@ public class ReconcilerRegistry {
 			syncHighlight();
 		}
 		return getReconcilers(sourceViewer, editor, reconcilingStrategies, contentTypes,
-				HIGHLIGHT_RECONCILING_STRATEGY_ELT_NAME, this.highlightExtensions);
+				HIGHLIGHT_RECONCILING_STRATEGY_ELT_NAME, this.highlightExtensions, this.highlightCache);
 	}
 
 	/**
@@ -122,18 +127,16 @@ public class ReconcilerRegistry {
 			syncFolding();
 		}
 		return getReconcilers(sourceViewer, editor, reconcilingStrategies, contentTypes,
-				FOLDING_RECONCILING_STRATEGY_ELT_NAME, this.foldingExtensions);
+				FOLDING_RECONCILING_STRATEGY_ELT_NAME, this.foldingExtensions, this.foldingCache);
 	}
 
 	private static List<IReconciler> getReconcilers(ISourceViewer sourceViewer, ITextEditor editor,
 			List<IReconcilingStrategy> reconcilingStrategies, Set<IContentType> contentTypes, String contributionName,
-			Map<IConfigurationElement, GenericContentTypeRelatedExtension<IReconciler>> extensionsMap) {
+			Map<IConfigurationElement, GenericContentTypeRelatedExtension<IReconciler>> extensionsMap,
+			ContentTypeExtensionCache<IReconciler> cache) {
 		List<IReconciler> reconcilers = new ArrayList<>();
-		List<GenericContentTypeRelatedExtension<IReconciler>> extensions = extensionsMap.values().stream() //
-				.filter(ext -> contentTypes.contains(ext.targetContentType)) //
-				.filter(ext -> ext.matches(sourceViewer, editor)) //
-				.sorted(new ContentTypeSpecializationComparator<IReconciler>().reversed()) //
-				.collect(Collectors.toList());
+		List<GenericContentTypeRelatedExtension<IReconciler>> extensions = cache.resolve(extensionsMap.values(),
+				sourceViewer, editor, contentTypes);
 		for (GenericContentTypeRelatedExtension<IReconciler> ext : extensions) {
 			if (contributionName.equals(ext.getContributionName())) {
 				IReconcilingStrategy reconcilingStrategy = ext.createDelegateWithoutTypeCheck();
@@ -165,6 +168,7 @@ public class ReconcilerRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.extensions.remove(toRemove);
 		}
+		this.cache.clear();
 		this.outOfSync = false;
 	}
 
@@ -185,6 +189,7 @@ public class ReconcilerRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.highlightExtensions.remove(toRemove);
 		}
+		this.highlightCache.clear();
 		this.highlightOutOfSync = false;
 	}
 
@@ -205,6 +210,16 @@ public class ReconcilerRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.foldingExtensions.remove(toRemove);
 		}
+		this.foldingCache.clear();
 		this.foldingOutOfSync = false;
 	}
+
+	/**
+	 * Disposes the caches of the registry. Called when the plug-in stops.
+	 */
+	public void dispose() {
+		this.cache.dispose();
+		this.highlightCache.dispose();
+		this.foldingCache.dispose();
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Avaloq Group AG (http://www.avaloq.com).
+ * Copyright (c) 2022, 2026 Avaloq Group AG (http://www.avaloq.com).
  * 
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -33,6 +33,8 @@ public class TextDoubleClickStrategyRegistry {
 
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<ITextDoubleClickStrategy>> extensions = new LinkedHashMap<>();
 	private boolean outOfSync = true;
+	private final ContentTypeExtensionCache<ITextDoubleClickStrategy> cache = new ContentTypeExtensionCache<>("textDoubleClickStrategies", //$NON-NLS-1$
+			new ContentTypeSpecializationComparator<>());
 
 	/**
 	 * Creates the registry and binds it to the extension point.
@@ -56,9 +58,7 @@ public class TextDoubleClickStrategyRegistry {
 		if (this.outOfSync) {
 			sync();
 		}
-		return this.extensions.values().stream().filter(ext -> contentTypes.contains(ext.targetContentType))
-				.filter(ext -> ext.matches(sourceViewer, editor))
-				.sorted(new ContentTypeSpecializationComparator<>()).findFirst()
+		return this.cache.resolve(this.extensions.values(), sourceViewer, editor, contentTypes).stream().findFirst()
 				.map(GenericContentTypeRelatedExtension<ITextDoubleClickStrategy>::createDelegate);
 	}
 
@@ -80,6 +80,14 @@ public class TextDoubleClickStrategyRegistry {
 		for (IConfigurationElement toRemove : toRemoveExtensions) {
 			this.extensions.remove(toRemove);
 		}
+		this.cache.clear();
 		this.outOfSync = false;
 	}
+
+	/**
+	 * Disposes the cache of the registry. Called when the plug-in stops.
+	 */
+	public void dispose() {
+		this.cache.dispose();
+	}
 }
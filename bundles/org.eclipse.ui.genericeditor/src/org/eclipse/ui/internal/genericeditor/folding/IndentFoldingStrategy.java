@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2023 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,14 +16,21 @@
 package org.eclipse.ui.internal.genericeditor.folding;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
@@ -42,14 +49,65 @@ import org.eclipse.swt.widgets.Canvas;
 /**
  * Indent folding strategy to fold code by using indentation. The folding
  * strategy must be associated with a viewer for it to function.
+ * <p>
+ * The strategy keeps the indentation of every line and updates it for the
+ * lines touched by a document change. On reconcile it only computes the
+ * folding regions which depend on the changed lines, and only updates the
+ * annotations of regions which differ.
+ * </p>
+ * <p>
+ * The document is never called while the line lock is held: the document
+ * holds its own lock while it notifies the listener, which takes the line
+ * lock. The listener reads the changed lines before it takes the line lock,
+ * and the reconciler copies the line states and computes the regions outside
+ * of it. The states of all lines are computed from a snapshot of the text.
+ * </p>
  */
-public class IndentFoldingStrategy implements IReconcilingStrategy, IReconcilingStrategyExtension, IProjectionListener {
+public class IndentFoldingStrategy
+		implements IReconcilingStrategy, IReconcilingStrategyExtension, IProjectionListener, IDocumentListener {
 
 	private IDocument document;
 	private ProjectionViewer viewer;
 	private ProjectionAnnotationModel projectionAnnotationModel;
 	private final String lineStartsWithKeyword;
 
+	/**
+	 * Line state of lines which don't count for the indentation.
+	 */
+	private static final int BLANK = -1;
+	/**
+	 * Line state of lines starting with the keyword.
+	 */
+	private static final int KEYWORD = -2;
+
+	private static final int TAB_SIZE = 1;
+	private static final int MINIMUM_RANGE_SIZE = 1;
+
+	/**
+	 * Guards the line states, which are updated by the document listener in the
+	 * UI thread and read by the reconciler thread. Never held while calling the
+	 * document.
+	 */
+	private final Object lineLock = new Object();
+	/**
+	 * For every line of the document its indentation level, or {@link #BLANK} or
+	 * {@link #KEYWORD}. Only the lines touched by a document change are computed
+	 * again.
+	 */
+	private int[] lineStates = new int[0];
+	private int lineCount;
+	private boolean linesValid;
+	private int changeFirstLine;
+	private int changeLastLine;
+	private boolean changing;
+	private int generation;
+	/**
+	 * The lines changed since the last reconcile, in current line numbers. Only
+	 * the folding regions which depend on these lines are computed again.
+	 */
+	private int dirtyFirstLine = Integer.MAX_VALUE;
+	private int dirtyLastLine = -1;
+
 	public IndentFoldingStrategy() {
 		this(null);
 	}
@@ -143,7 +201,19 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 
 	@Override
 	public void setDocument(IDocument document) {
-		this.document = document;
+		IDocument oldDocument;
+		synchronized (lineLock) {
+			oldDocument = this.document;
+			this.document = document;
+			linesValid = false;
+			changing = false;
+		}
+		if (oldDocument != null) {
+			oldDocument.removeDocumentListener(this);
+		}
+		if (document != null) {
+			document.addDocumentListener(this);
+		}
 	}
 
 	@Override
@@ -156,165 +226,358 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 		if (viewer != null) {
 			projectionAnnotationModel = viewer.getProjectionAnnotationModel();
 		}
+		synchronized (lineLock) {
+			// the annotations have to be created again
+			linesValid = false;
+		}
 	}
 
-	private static class LineIndent {
-		public int line;
-		public final int indent;
-
-		public LineIndent(int line, int indent) {
-			this.line = line;
-			this.indent = indent;
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		int firstLine;
+		int lastLine;
+		try {
+			IDocument changed = event.getDocument();
+			firstLine = changed.getLineOfOffset(event.getOffset());
+			lastLine = changed.getLineOfOffset(event.getOffset() + event.getLength());
+		} catch (BadLocationException e) {
+			firstLine = -1;
+			lastLine = -1;
+		}
+		synchronized (lineLock) {
+			changeFirstLine = firstLine;
+			changeLastLine = lastLine;
+			changing = firstLine != -1;
 		}
 	}
 
 	@Override
-	public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
-		if (projectionAnnotationModel != null) {
+	public void documentChanged(DocumentEvent event) {
+		int firstLine;
+		int lastLine;
+		synchronized (lineLock) {
+			firstLine = changing ? changeFirstLine : -1;
+			lastLine = changeLastLine;
+		}
+		// the states of the changed lines, read before taking the line lock again
+		int newLastLine = -1;
+		int[] changedStates = null;
+		if (firstLine != -1) {
+			try {
+				IDocument changed = event.getDocument();
+				String text = event.getText();
+				newLastLine = changed.getLineOfOffset(event.getOffset() + (text != null ? text.length() : 0));
+				changedStates = new int[newLastLine - firstLine + 1];
+				for (int line = firstLine; line <= newLastLine; line++) {
+					changedStates[line - firstLine] = computeLineState(changed, line);
+				}
+			} catch (BadLocationException e) {
+				changedStates = null;
+			}
+		}
+		synchronized (lineLock) {
+			generation++;
+			changing = false;
+			if (!linesValid) {
+				return;
+			}
+			if (changedStates == null) {
+				linesValid = false;
+				return;
+			}
+			int delta = newLastLine - lastLine;
+			int[] states = lineStates;
+			if (lineCount + delta > states.length) {
+				states = new int[Math.max(lineCount + delta, lineCount * 3 / 2 + 16)];
+				System.arraycopy(lineStates, 0, states, 0, firstLine);
+			}
+			System.arraycopy(lineStates, lastLine + 1, states, newLastLine + 1, lineCount - lastLine - 1);
+			System.arraycopy(changedStates, 0, states, firstLine, changedStates.length);
+			lineStates = states;
+			lineCount += delta;
+
+			if (dirtyLastLine < dirtyFirstLine) {
+				dirtyFirstLine = firstLine;
+				dirtyLastLine = newLastLine;
+			} else {
+				// move the dirty lines of earlier changes like the document lines
+				if (dirtyLastLine > lastLine) {
+					dirtyLastLine += delta;
+				}
+				if (dirtyFirstLine > lastLine) {
+					dirtyFirstLine += delta;
+				}
+				dirtyFirstLine = Math.min(dirtyFirstLine, firstLine);
+				dirtyLastLine = Math.max(dirtyLastLine, newLastLine);
+			}
+		}
+	}
+
+	/**
+	 * Computes the states of all lines from a snapshot of the document, unless
+	 * they are valid, and marks all lines dirty. Must be called without the line
+	 * lock.
+	 *
+	 * @return <code>false</code> if the document has been changed meanwhile, the
+	 *         reconcile of that change computes the states again
+	 */
+	private boolean ensureLineStates(IDocument thisDocument) {
+		int startGeneration;
+		synchronized (lineLock) {
+			if (linesValid) {
+				return true;
+			}
+			if (changing) {
+				return false;
+			}
+			startGeneration = generation;
+		}
+		String text = thisDocument.get();
+		DefaultLineTracker tracker = new DefaultLineTracker();
+		tracker.set(text);
+		int count = tracker.getNumberOfLines();
+		int[] states = new int[count + 16];
+		try {
+			for (int line = 0; line < count; line++) {
+				IRegion info = tracker.getLineInformation(line);
+				states[line] = computeLineState(text.substring(info.getOffset(), info.getOffset() + info.getLength()));
+			}
+		} catch (BadLocationException e) {
+			return false;
+		}
+		synchronized (lineLock) {
+			if (generation != startGeneration || changing) {
+				return false;
+			}
+			lineStates = states;
+			lineCount = count;
+			linesValid = true;
+			dirtyFirstLine = 0;
+			dirtyLastLine = count - 1;
+			return true;
+		}
+	}
 
-			// these are what are passed off to the annotation model to
-			// actually create and maintain the annotations
-			List<Annotation> modifications = new ArrayList<>();
-			List<FoldingAnnotation> deletions = new ArrayList<>();
-			List<FoldingAnnotation> existing = new ArrayList<>();
-			Map<Annotation, Position> additions = new HashMap<>();
+	private int computeLineState(IDocument thisDocument, int line) throws BadLocationException {
+		int lineOffset = thisDocument.getLineOffset(line);
+		String delim = thisDocument.getLineDelimiter(line);
+		int lineLength = thisDocument.getLineLength(line) - (delim != null ? delim.length() : 0);
+		return computeLineState(thisDocument.get(lineOffset, lineLength));
+	}
 
-			// find and mark all folding annotations with length 0 for deletion
-			markInvalidAnnotationsForDeletion(dirtyRegion, deletions, existing);
+	private int computeLineState(String lineContent) {
+		String trimmed = lineContent.trim();
+		if (lineStartsWithKeyword != null && trimmed.startsWith(lineStartsWithKeyword)) {
+			// The line starts with the given keyword (ex: starts with "import")
+			return KEYWORD;
+		}
+		if (trimmed.isEmpty()) {
+			return BLANK;
+		}
+		int indent = computeIndentLevel(lineContent, TAB_SIZE);
+		return indent == -1 ? BLANK : indent;
+	}
 
-			List<LineIndent> previousRegions = new ArrayList<>();
+	@Override
+	public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
+		ProjectionAnnotationModel model = projectionAnnotationModel;
+		var thisDocument = document;
+		if (model == null || thisDocument == null) {
+			// Exit as soon as possible if uninstalled
+			return;
+		}
+		if (!ensureLineStates(thisDocument)) {
+			return;
+		}
 
-			int tabSize = 1;
-			int minimumRangeSize = 1;
-			try {
-				var thisDocument = document;
-				if (thisDocument == null) {
-					// Exit as soon as possible if uninstalled
-					return;
-				}
+		int[] states;
+		int firstLine;
+		int lastLine;
+		int computedGeneration;
+		synchronized (lineLock) {
+			if (changing || !linesValid) {
+				// the change is reconciled with its own dirty region
+				return;
+			}
+			if (dirtyLastLine < dirtyFirstLine || lineCount == 0) {
+				return;
+			}
+			states = Arrays.copyOf(lineStates, lineCount);
+			firstLine = Math.max(0, dirtyFirstLine);
+			lastLine = Math.min(lineCount - 1, dirtyLastLine);
+			dirtyFirstLine = Integer.MAX_VALUE;
+			dirtyLastLine = -1;
+			computedGeneration = generation;
+		}
 
-				// Today we recompute annotation from the whole document each
-				// time.
-				// performance s good even with large document, but it should be
-				// better to loop for only DirtyRegion (and before/after)
-				// int offset = dirtyRegion.getOffset();
-				// int length = dirtyRegion.getLength();
-				// int startLine = 0; //document.getLineOfOffset(offset);
-				int endLine = thisDocument.getNumberOfLines() - 1; // startLine +
-																	// document.getNumberOfLines(offset,
-																	// length) - 1;
-
-				// sentinel, to make sure there's at least one entry
-				previousRegions.add(new LineIndent(endLine + 1, -1));
-
-				int lastLineWhichIsNotEmpty = 0;
-				int lineEmptyCount = 0;
-				Integer lastLineForKeyword = null;
-				int line = endLine;
-				for (line = endLine; line >= 0 && this.document != null; line--) {
-					int lineOffset = thisDocument.getLineOffset(line);
-					String delim = thisDocument.getLineDelimiter(line);
-					int lineLength = thisDocument.getLineLength(line) - (delim != null ? delim.length() : 0);
-					String lineContent = thisDocument.get(lineOffset, lineLength);
-
-					LineState state = getLineState(lineContent, lastLineForKeyword);
-					switch (state) {
-					case StartWithKeyWord:
-						lineEmptyCount = 0;
-						lastLineWhichIsNotEmpty = line;
-						if (lastLineForKeyword == null) {
-							lastLineForKeyword = line;
-						}
-						break;
-					case EmptyLine:
-						lineEmptyCount++;
-						break;
-					default:
-						addAnnotationForKeyword(modifications, deletions, existing, additions,
-								line + 1 + lineEmptyCount, lastLineForKeyword);
-						lastLineForKeyword = null;
-						lineEmptyCount = 0;
-						lastLineWhichIsNotEmpty = line;
-						int indent = computeIndentLevel(lineContent, tabSize);
-						if (indent == -1) {
-							continue; // only whitespace
-						}
-
-						LineIndent previous = previousRegions.get(previousRegions.size() - 1);
-						if (previous.indent > indent) {
-							// discard all regions with larger indent
-							do {
-								previousRegions.remove(previousRegions.size() - 1);
-								previous = previousRegions.get(previousRegions.size() - 1);
-							} while (previous.indent > indent);
-
-							// new folding range
-							int endLineNumber = previous.line - 1;
-							if (endLineNumber - line >= minimumRangeSize) {
-								updateAnnotation(modifications, deletions, existing, additions, line, endLineNumber);
-							}
-						}
-						if (previous.indent == indent) {
-							previous.line = line;
-						} else { // previous.indent < indent
-							// new region with a bigger indent
-							previousRegions.add(new LineIndent(line, indent));
-						}
+		// the folding regions starting at the affected lines, by start line
+		Map<Integer, Position> regions = new HashMap<>();
+		Set<Integer> ancestors = new HashSet<>();
+		int rangeStart;
+		int rangeEnd;
+		try {
+			// keyword groups touching the dirty lines are computed as a whole
+			while (firstLine > 0 && states[firstLine - 1] < 0) {
+				firstLine--;
+			}
+			while (lastLine < states.length - 1 && states[lastLine + 1] < 0) {
+				lastLine++;
+			}
+			collectAncestors(states, firstLine, ancestors);
+			for (int line : ancestors) {
+				addIndentRegion(thisDocument, states, line, regions);
+			}
+			Integer keywordStart = null;
+			for (int line = firstLine; line <= lastLine; line++) {
+				int state = states[line];
+				if (state == KEYWORD) {
+					if (keywordStart == null) {
+						keywordStart = line;
 					}
+					regions.put(keywordStart, createPosition(thisDocument, keywordStart, line));
+				} else if (state != BLANK) {
+					keywordStart = null;
+					addIndentRegion(thisDocument, states, line, regions);
 				}
-				addAnnotationForKeyword(modifications, deletions, existing, additions, lastLineWhichIsNotEmpty,
-						lastLineForKeyword);
-			} catch (BadLocationException e) {
-				// should never done
-				e.printStackTrace();
 			}
+			int firstAffected = ancestors.isEmpty() ? firstLine : Collections.min(ancestors);
+			rangeStart = thisDocument.getLineOffset(firstAffected);
+			rangeEnd = lastLine + 1 < states.length ? thisDocument.getLineOffset(lastLine + 1) : Integer.MAX_VALUE;
+		} catch (BadLocationException e) {
+			// the document has been changed meanwhile
+			markAllDirty();
+			return;
+		}
 
-			// be sure projection has not been disabled
-			if (projectionAnnotationModel != null) {
-				if (!existing.isEmpty()) {
-					deletions.addAll(existing);
-				}
-				// send the calculated updates to the annotations to the
-				// annotation model
-				projectionAnnotationModel.modifyAnnotations(deletions.toArray(new Annotation[1]), additions,
-						modifications.toArray(new Annotation[0]));
+		applyRegions(thisDocument, model, regions, ancestors, firstLine, lastLine, rangeStart, rangeEnd);
+
+		synchronized (lineLock) {
+			if (computedGeneration != generation) {
+				// the document changed while the regions were computed,
+				// positions computed before the change may be wrong
+				dirtyFirstLine = 0;
+				dirtyLastLine = lineCount - 1;
 			}
 		}
+	}
 
+	private void markAllDirty() {
+		synchronized (lineLock) {
+			dirtyFirstLine = 0;
+			dirtyLastLine = lineCount - 1;
+		}
 	}
 
-	private void addAnnotationForKeyword(List<Annotation> modifications, List<FoldingAnnotation> deletions,
-			List<FoldingAnnotation> existing, Map<Annotation, Position> additions, int startLine,
-			Integer lastLineForKeyword) throws BadLocationException {
-		if (lastLineForKeyword != null) {
-			updateAnnotation(modifications, deletions, existing, additions, startLine, lastLineForKeyword);
+	/**
+	 * Collects the lines before the given line whose folding region reaches the
+	 * line, i.e. lines followed by lines with a larger indentation only, up to the
+	 * given line.
+	 */
+	private static void collectAncestors(int[] states, int line, Set<Integer> ancestors) {
+		int minIndent = Integer.MAX_VALUE;
+		for (int l = line - 1; l >= 0 && minIndent > 0; l--) {
+			int indent = states[l];
+			if (indent >= 0 && indent < minIndent) {
+				ancestors.add(l);
+				minIndent = indent;
+			} else if (indent >= 0) {
+				minIndent = Math.min(minIndent, indent);
+			}
 		}
 	}
 
-	private enum LineState {
-		StartWithKeyWord, DontStartWithKeyWord, EmptyLine
+	/**
+	 * Adds the folding region starting at the given line, if any. A line starts a
+	 * region if the next line which is not blank is indented more. The region ends
+	 * before the next line which is not indented more than the start line.
+	 */
+	private static void addIndentRegion(IDocument thisDocument, int[] states, int line,
+			Map<Integer, Position> regions) throws BadLocationException {
+		int lineCount = states.length;
+		int indent = states[line];
+		int next = line + 1;
+		while (next < lineCount && states[next] < 0) {
+			next++;
+		}
+		if (next == lineCount || states[next] <= indent) {
+			return;
+		}
+		int end = next + 1;
+		while (end < lineCount && (states[end] < 0 || states[end] > indent)) {
+			end++;
+		}
+		int endLineNumber = end - 1;
+		if (endLineNumber - line >= MINIMUM_RANGE_SIZE) {
+			regions.put(line, createPosition(thisDocument, line, endLineNumber));
+		}
+	}
+
+	private static Position createPosition(IDocument thisDocument, int line, int endLineNumber)
+			throws BadLocationException {
+		int startOffset = thisDocument.getLineOffset(line);
+		int endOffset = thisDocument.getLineOffset(endLineNumber) + thisDocument.getLineLength(endLineNumber);
+		return new Position(startOffset, endOffset - startOffset);
 	}
 
 	/**
-	 * Returns the line state for line which starts with a given keyword.
-	 *
-	 * @param lineContent        line content.
-	 * @param lastLineForKeyword last line for the given keyword.
+	 * Compares the folding annotations starting at affected lines with the newly
+	 * computed regions, and only changes the annotations that differ. An existing
+	 * annotation keeps its collapsed state if only its end moved.
 	 */
-	private LineState getLineState(String lineContent, Integer lastLineForKeyword) {
-		if (lineStartsWithKeyword == null) {
-			// none keyword defined.
-			return LineState.DontStartWithKeyWord;
+	private void applyRegions(IDocument thisDocument, ProjectionAnnotationModel model,
+			Map<Integer, Position> regions, Set<Integer> ancestors, int firstLine, int lastLine, int rangeStart,
+			int rangeEnd) {
+		List<Annotation> deletions = new ArrayList<>();
+		Map<Annotation, Position> modifications = new HashMap<>();
+		Set<Integer> kept = new HashSet<>();
+		Iterator<Annotation> iter = model.getAnnotationIterator();
+		while (iter.hasNext()) {
+			Annotation anno = iter.next();
+			if (!(anno instanceof FoldingAnnotation)) {
+				continue;
+			}
+			Position pos = model.getPosition(anno);
+			if (pos == null || pos.offset < rangeStart || pos.offset >= rangeEnd) {
+				// not affected by the change
+				continue;
+			}
+			if (pos.isDeleted() || pos.length == 0) {
+				deletions.add(anno);
+				continue;
+			}
+			int line;
+			try {
+				line = thisDocument.getLineOfOffset(pos.offset);
+			} catch (BadLocationException e) {
+				deletions.add(anno);
+				continue;
+			}
+			if (line >= firstLine && line <= lastLine || ancestors.contains(line)) {
+				Position newPos = regions.get(line);
+				if (newPos == null || !kept.add(line)) {
+					deletions.add(anno);
+				} else if (!newPos.equals(pos)) {
+					modifications.put(anno, newPos);
+				}
+			}
 		}
-		if (lineContent != null && lineContent.trim().startsWith(lineStartsWithKeyword)) {
-			// The line starts with the given keyword (ex: starts with "import")
-			return LineState.StartWithKeyWord;
+		Map<Annotation, Position> additions = new HashMap<>();
+		for (Map.Entry<Integer, Position> region : regions.entrySet()) {
+			if (!kept.contains(region.getKey())) {
+				additions.put(new FoldingAnnotation(false), region.getValue());
+			}
 		}
-		if (lastLineForKeyword != null && (lineContent == null || lineContent.trim().isEmpty())) {
-			// a last line for keyword was defined, line is empty
-			return LineState.EmptyLine;
+
+		// be sure projection has not been disabled
+		if (projectionAnnotationModel != model) {
+			return;
+		}
+		if (!deletions.isEmpty() || !additions.isEmpty()) {
+			model.replaceAnnotations(deletions.toArray(new Annotation[deletions.size()]), additions);
+		}
+		for (Map.Entry<Annotation, Position> modification : modifications.entrySet()) {
+			model.modifyAnnotationPosition(modification.getKey(), modification.getValue());
 		}
-		return LineState.DontStartWithKeyWord;
 	}
 
 	/**
@@ -344,116 +607,6 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 		return indent;
 	}
 
-	/**
-	 * Given a {@link DirtyRegion} returns an {@link Iterator} of the already
-	 * existing annotations in that region.
-	 *
-	 * @param dirtyRegion the {@link DirtyRegion} to check for existing annotations
-	 *                    in
-	 *
-	 * @return an {@link Iterator} over the annotations in the given
-	 *         {@link DirtyRegion}. The iterator could have no annotations in it. Or
-	 *         <code>null</code> if projection has been disabled.
-	 */
-	private Iterator<Annotation> getAnnotationIterator(DirtyRegion dirtyRegion) {
-		Iterator<Annotation> annoIter = null;
-		// be sure project has not been disabled
-		if (projectionAnnotationModel != null) {
-			// workaround for Platform Bug 299416
-			annoIter = projectionAnnotationModel.getAnnotationIterator(0, document.getLength(), false, false);
-		}
-		return annoIter;
-	}
-
-	/**
-	 * Update annotations.
-	 *
-	 * @param modifications the folding annotations to update.
-	 * @param deletions     the folding annotations to delete.
-	 * @param existing      the existing folding annotations.
-	 * @param additions     annoation to add
-	 * @param line          the line index
-	 * @param endLineNumber the end line number
-	 */
-	private void updateAnnotation(List<Annotation> modifications, List<FoldingAnnotation> deletions,
-			List<FoldingAnnotation> existing, Map<Annotation, Position> additions, int line, Integer endLineNumber)
-			throws BadLocationException {
-		int startOffset = document.getLineOffset(line);
-		int endOffset = document.getLineOffset(endLineNumber) + document.getLineLength(endLineNumber);
-		Position newPos = new Position(startOffset, endOffset - startOffset);
-		if (!existing.isEmpty()) {
-			FoldingAnnotation existingAnnotation = existing.remove(existing.size() - 1);
-			updateAnnotations(existingAnnotation, newPos, modifications, deletions);
-		} else {
-			additions.put(new FoldingAnnotation(false), newPos);
-		}
-	}
-
-	/**
-	 * Update annotations.
-	 *
-	 * @param existingAnnotation the existing annotations that need to be updated
-	 *                           based on the given dirtied IndexRegion
-	 * @param newPos             the new position that caused the annotations need
-	 *                           for updating and null otherwise.
-	 * @param modifications      the list of annotations to be modified
-	 * @param deletions          the list of annotations to be deleted
-	 */
-	protected void updateAnnotations(Annotation existingAnnotation, Position newPos, List<Annotation> modifications,
-			List<FoldingAnnotation> deletions) {
-		if (existingAnnotation instanceof FoldingAnnotation) {
-			FoldingAnnotation foldingAnnotation = (FoldingAnnotation) existingAnnotation;
-			Position oldPos = projectionAnnotationModel.getPosition(foldingAnnotation);
-
-			// if a new position can be calculated then update the position of
-			// the annotation,
-			// else the annotation needs to be deleted
-			if (oldPos != null && newPos != null && newPos.length > 0 && projectionAnnotationModel != null) {
-				// only update the position if we have to
-				if (!newPos.equals(oldPos)) {
-					oldPos.setOffset(newPos.offset);
-					oldPos.setLength(newPos.length);
-					modifications.add(foldingAnnotation);
-				}
-			} else {
-				deletions.add(foldingAnnotation);
-			}
-		}
-	}
-
-	/**
-	 * <p>
-	 * Searches the given {@link DirtyRegion} for annotations that now have a length
-	 * of 0. This is caused when something that was being folded has been deleted.
-	 * These {@link FoldingAnnotation}s are then added to the {@link List} of
-	 * {@link FoldingAnnotation}s to be deleted
-	 * </p>
-	 *
-	 * @param dirtyRegion find the now invalid {@link FoldingAnnotation}s in this
-	 *                    {@link DirtyRegion}
-	 * @param deletions   the current list of {@link FoldingAnnotation}s marked for
-	 *                    deletion that the newly found invalid
-	 *                    {@link FoldingAnnotation}s will be added to
-	 */
-	protected void markInvalidAnnotationsForDeletion(DirtyRegion dirtyRegion, List<FoldingAnnotation> deletions,
-			List<FoldingAnnotation> existing) {
-		Iterator<Annotation> iter = getAnnotationIterator(dirtyRegion);
-		if (iter != null) {
-			while (iter.hasNext()) {
-				Annotation anno = iter.next();
-				if (anno instanceof FoldingAnnotation) {
-					FoldingAnnotation folding = (FoldingAnnotation) anno;
-					Position pos = projectionAnnotationModel.getPosition(anno);
-					if (pos.length == 0) {
-						deletions.add(folding);
-					} else {
-						existing.add(folding);
-					}
-				}
-			}
-		}
-	}
-
 	@Override
 	public void reconcile(IRegion partition) {
 		// not used, we use:
@@ -467,6 +620,13 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 
 	@Override
 	public void initialReconcile() {
-		reconcile(new DirtyRegion(0, document.getLength(), DirtyRegion.INSERT, document.get()), null);
+		IDocument thisDocument;
+		synchronized (lineLock) {
+			linesValid = false;
+			thisDocument = document;
+		}
+		if (thisDocument != null) {
+			reconcile(new DirtyRegion(0, thisDocument.getLength(), DirtyRegion.INSERT, thisDocument.get()), null);
+		}
 	}
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016-2017 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.ITextHover;
 import org.eclipse.jface.text.source.ISourceViewer;
+import org.eclipse.ui.internal.genericeditor.ContentTypeExtensionCache;
 import org.eclipse.ui.internal.genericeditor.GenericContentTypeRelatedExtension;
 import org.eclipse.ui.internal.genericeditor.GenericEditorPlugin;
 import org.eclipse.ui.texteditor.ITextEditor;
@@ -48,6 +49,8 @@ public final class TextHoverRegistry {
 
 	private SortedSet<TextHoverExtension> extensions;
 	private boolean outOfSync = true;
+	// the extensions are already sorted by isAfter/isBefore
+	private final ContentTypeExtensionCache<ITextHover> cache = new ContentTypeExtensionCache<>("hoverProviders", null); //$NON-NLS-1$
 
 	static class TextHoverExtension extends GenericContentTypeRelatedExtension<ITextHover> {
 		private static final String ID_ATTRIBUTE = "id"; //$NON-NLS-1$
@@ -93,10 +96,7 @@ public final class TextHoverRegistry {
 		if (this.outOfSync) {
 			sync();
 		}
-		return this.extensions.stream()
-				.filter(ext -> contentTypes.contains(ext.targetContentType))
-				.filter(ext -> ext.matches(sourceViewer, editor))
-				// don't sort in the stream as the initial structure is already sorted by isAfter/isBefore
+		return this.cache.resolve(this.extensions, sourceViewer, editor, contentTypes).stream()
 				.map(GenericContentTypeRelatedExtension<ITextHover>::createDelegate)
 				.collect(Collectors.toList());
 	}
@@ -125,7 +125,15 @@ public final class TextHoverRegistry {
 		OrderedExtensionComparator comparator = new OrderedExtensionComparator(ext.values());
 		this.extensions = new TreeSet<>(comparator);
 		this.extensions.addAll(ext.values());
+		this.cache.clear();
 		this.outOfSync = false;
 	}
 
+	/**
+	 * Disposes the cache of the registry. Called when the plug-in stops.
+	 */
+	public void dispose() {
+		this.cache.dispose();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Vector Informatik GmbH and others.
+ * Copyright (c) 2023, 2026 Vector Informatik GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.swt.graphics.Point;
 
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
@@ -35,6 +36,7 @@ import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.findandreplace.OccurrencesSearch.IOccurrencesListener;
 import org.eclipse.ui.internal.findandreplace.status.FindAllStatus;
 import org.eclipse.ui.internal.findandreplace.status.FindStatus;
 import org.eclipse.ui.internal.findandreplace.status.IFindReplaceStatus;
@@ -58,12 +60,77 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 	private String findString = ""; //$NON-NLS-1$
 	private String replaceString = ""; //$NON-NLS-1$
 
+	private IDocument occurrencesDocument;
+	private IOccurrencesListener occurrencesListener;
+	private OccurrencesSearch occurrencesSearch;
+
 	@Override
 	public void setFindString(String findString) {
 		this.findString = Objects.requireNonNull(findString);
 		if (isAvailableAndActive(SearchOptions.INCREMENTAL)) {
 			performSearch(true);
 		}
+		searchOccurrences();
+	}
+
+	/**
+	 * Enables searching all occurrences of the find string in the background.
+	 * Whenever the find string is set, the running search is canceled and a new
+	 * one is started, which reports the occurrences to the given listener.
+	 *
+	 * @param document the document of the target, or <code>null</code> to
+	 *                 disable searching occurrences
+	 * @param listener the listener to report occurrences to
+	 */
+	public void setOccurrencesListener(IDocument document, IOccurrencesListener listener) {
+		cancelOccurrencesSearch();
+		occurrencesDocument = document;
+		occurrencesListener = document != null ? listener : null;
+	}
+
+	/**
+	 * Cancels the running search for occurrences and starts a new one with the
+	 * current find string and search options, for example after the document
+	 * has been changed. Does nothing unless an occurrences listener is set. If
+	 * the find string is empty, no search is started and the listener is told
+	 * to clear the occurrences of the previous search.
+	 */
+	public void searchOccurrences() {
+		boolean searched = occurrencesSearch != null;
+		cancelOccurrencesSearch();
+		if (occurrencesListener == null) {
+			return;
+		}
+		if (findString.isEmpty()) {
+			if (searched) {
+				occurrencesListener.occurrencesFound(null, List.of(), true);
+			}
+			return;
+		}
+		IRegion scope = null;
+		if (!isActive(SearchOptions.GLOBAL) && target instanceof IFindReplaceTargetExtension extensionTarget) {
+			scope = extensionTarget.getScope();
+		}
+		occurrencesSearch = new OccurrencesSearch(occurrencesDocument, scope, findString,
+				isAvailableAndActive(SearchOptions.CASE_SENSITIVE), isAvailableAndActive(SearchOptions.WHOLE_WORD),
+				isAvailableAndActive(SearchOptions.REGEX), occurrencesListener);
+		occurrencesSearch.schedule();
+	}
+
+	/**
+	 * Returns the current search for occurrences.
+	 *
+	 * @return the search started last, or <code>null</code> if there is none
+	 */
+	public OccurrencesSearch getOccurrencesSearch() {
+		return occurrencesSearch;
+	}
+
+	private void cancelOccurrencesSearch() {
+		if (occurrencesSearch != null) {
+			occurrencesSearch.cancel();
+			occurrencesSearch = null;
+		}
 	}
 
 	@Override
@@ -91,6 +158,9 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 		default:
 			break;
 		}
+		if (affectsOccurrences(searchOption)) {
+			searchOccurrences();
+		}
 	}
 
 	@Override
@@ -106,6 +176,22 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 		if (searchOption == SearchOptions.FORWARD && shouldInitIncrementalBaseLocation()) {
 			resetIncrementalBaseLocation();
 		}
+		if (affectsOccurrences(searchOption)) {
+			searchOccurrences();
+		}
+	}
+
+	private static boolean affectsOccurrences(SearchOptions searchOption) {
+		switch (searchOption) {
+		case GLOBAL:
+		case CASE_SENSITIVE:
+		case WHOLE_WORD:
+		case REGEX:
+			return true;
+		// $CASES-OMITTED$
+		default:
+			return false;
+		}
 	}
 
 	@Override
@@ -598,6 +684,7 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 
 	@Override
 	public void dispose() {
+		setOccurrencesListener(null, null);
 		if (target != null && target instanceof IFindReplaceTargetExtension) {
 			((IFindReplaceTargetExtension) target).endSession();
 		}
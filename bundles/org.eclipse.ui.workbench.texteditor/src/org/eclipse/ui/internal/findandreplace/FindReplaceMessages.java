@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Vector Informatik GmbH and others.
+ * Copyright (c) 2023, 2026 Vector Informatik GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ final public class FindReplaceMessages extends NLS {
 	public static String FindReplace_Status_selections_label;
 	public static String FindReplace_Status_selection_label;
 	public static String FindReplace_Status_noMatch_label;
+	public static String FindReplace_OccurrencesSearch_jobName;
 
 	// The "classic" Find/Replace-Dialog
 	public static String FindReplace_Dialog_Title;
@@ -75,6 +76,7 @@ final public class FindReplaceMessages extends NLS {
 	public static String FindReplaceOverlay_replaceToggle_toolTip;
 	public static String FindReplaceOverlay_searchHistory_toolTip;
 	public static String FindReplaceOverlay_replaceHistory_toolTip;
+	public static String FindReplaceOverlay_occurrences_label;
 	public static String FindReplaceOverlayFirstTimePopup_FindReplaceOverlayFirstTimePopup_message;
 	public static String FindReplaceOverlayFirstTimePopup_FindReplaceOverlayFirstTimePopup_title;
 	public static String SearchHistoryMenu_SEARCH_HISTORY_EMPTY_STRING;
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.internal.findandreplace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Searches all occurrences of a find string in the background. The search runs
+ * on a snapshot of the document taken when the search is created, so the
+ * document can be changed while the search is running; the listener can use
+ * {@link #isStale(IDocument)} to find out whether the occurrences still match
+ * the document.
+ * <p>
+ * The occurrences are reported in batches while they are found. A search that
+ * has been canceled reports nothing anymore.
+ * </p>
+ */
+public class OccurrencesSearch extends Job {
+
+	/**
+	 * Receives the occurrences found by an {@link OccurrencesSearch}.
+	 */
+	public interface IOccurrencesListener {
+
+		/**
+		 * Reports occurrences found by a search. Called in the thread of the search
+		 * job, or in the thread setting an empty find string to clear the
+		 * occurrences of the previous search.
+		 *
+		 * @param search      the search, or <code>null</code> if the occurrences are
+		 *                    cleared
+		 * @param occurrences the occurrences found since the last call, in document
+		 *                    order
+		 * @param done        whether the search is complete
+		 */
+		void occurrencesFound(OccurrencesSearch search, List<IRegion> occurrences, boolean done);
+	}
+
+	private static final int BATCH_SIZE = 256;
+
+	private final String text;
+	private final long modificationStamp;
+	private final IRegion scope;
+	private final String findString;
+	private final boolean caseSensitive;
+	private final boolean wholeWord;
+	private final boolean regExSearch;
+	private final IOccurrencesListener listener;
+
+	private volatile boolean canceled;
+
+	/**
+	 * Creates a search for the occurrences of a find string. Must be called in
+	 * the thread that is allowed to access the document.
+	 *
+	 * @param document      the document to search in
+	 * @param scope         the region to search in, or <code>null</code> to search
+	 *                      the whole document
+	 * @param findString    the find string
+	 * @param caseSensitive whether the search is case sensitive
+	 * @param wholeWord     whether only whole words are found
+	 * @param regExSearch   whether the find string is a regular expression
+	 * @param listener      the listener to report the occurrences to
+	 */
+	public OccurrencesSearch(IDocument document, IRegion scope, String findString, boolean caseSensitive,
+			boolean wholeWord, boolean regExSearch, IOccurrencesListener listener) {
+		super(FindReplaceMessages.FindReplace_OccurrencesSearch_jobName);
+		this.text = document.get();
+		this.modificationStamp = getModificationStamp(document);
+		this.scope = scope;
+		this.findString = findString;
+		this.caseSensitive = caseSensitive;
+		this.wholeWord = wholeWord;
+		this.regExSearch = regExSearch;
+		this.listener = listener;
+		setSystem(true);
+	}
+
+	/**
+	 * Returns whether the given document has been changed since this search was
+	 * created.
+	 *
+	 * @param document the document this search has been created for
+	 * @return <code>true</code> if the occurrences may not match the document
+	 *         anymore
+	 */
+	public boolean isStale(IDocument document) {
+		long stamp = getModificationStamp(document);
+		return stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP || stamp != modificationStamp;
+	}
+
+	/**
+	 * Returns whether this search has been canceled.
+	 *
+	 * @return <code>true</code> if the search has been canceled
+	 */
+	public boolean isCanceled() {
+		return canceled;
+	}
+
+	@Override
+	protected void canceling() {
+		canceled = true;
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		FindReplaceDocumentAdapter adapter = new FindReplaceDocumentAdapter(new Document(text));
+		int offset = scope != null ? scope.getOffset() : 0;
+		int end = scope != null ? scope.getOffset() + scope.getLength() : text.length();
+		List<IRegion> batch = new ArrayList<>();
+		try {
+			while (offset <= end) {
+				if (monitor.isCanceled() || canceled) {
+					return Status.CANCEL_STATUS;
+				}
+				IRegion occurrence = adapter.find(offset, findString, true, caseSensitive, wholeWord, regExSearch);
+				if (occurrence == null || occurrence.getOffset() + occurrence.getLength() > end) {
+					break;
+				}
+				batch.add(occurrence);
+				if (batch.size() == BATCH_SIZE) {
+					listener.occurrencesFound(this, batch, false);
+					batch = new ArrayList<>();
+				}
+				offset = occurrence.getOffset() + occurrence.getLength();
+			}
+		} catch (BadLocationException | PatternSyntaxException e) {
+			// invalid expressions are reported by the find operations, nothing more to count
+		}
+		if (monitor.isCanceled() || canceled) {
+			return Status.CANCEL_STATUS;
+		}
+		listener.occurrencesFound(this, batch, true);
+		return Status.OK_STATUS;
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4 extension) {
+			return extension.getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2024 Vector Informatik GmbH and others.
+ * Copyright (c) 2024, 2026 Vector Informatik GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.ui.internal.findandreplace.overlay;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.ScrollBar;
 import org.eclipse.swt.widgets.Scrollable;
@@ -58,10 +60,20 @@ import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.resource.JFaceColors;
 
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
 import org.eclipse.jface.text.FindReplaceDocumentAdapterContentProposalProvider;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IFindReplaceTarget;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelExtension;
+import org.eclipse.jface.text.source.ISourceViewer;
 
 import org.eclipse.ui.IActionBars;
 import org.eclipse.ui.IWorkbenchPart;
@@ -71,7 +83,9 @@ import org.eclipse.ui.internal.SearchDecoration;
 import org.eclipse.ui.internal.findandreplace.FindReplaceLogic;
 import org.eclipse.ui.internal.findandreplace.FindReplaceMessages;
 import org.eclipse.ui.internal.findandreplace.HistoryStore;
+import org.eclipse.ui.internal.findandreplace.OccurrencesSearch;
 import org.eclipse.ui.internal.findandreplace.SearchOptions;
+import org.eclipse.ui.internal.texteditor.NLSUtility;
 import org.eclipse.ui.internal.texteditor.TextEditorPlugin;
 import org.eclipse.ui.part.MultiPageEditorSite;
 
@@ -113,6 +127,8 @@ public class FindReplaceOverlay {
 	private static final String MINIMAL_WIDTH_TEXT = "THIS TEXT IS SHORT "; //$NON-NLS-1$
 	private static final String IDEAL_WIDTH_TEXT = "THIS TEXT HAS A REASONABLE LENGTH FOR SEARCHING"; //$NON-NLS-1$
 	private static final int HISTORY_SIZE = 15;
+	private static final String OCCURRENCE_ANNOTATION_TYPE = "org.eclipse.ui.internal.workbench.texteditor.find.occurrence"; //$NON-NLS-1$
+	private static final int MAX_OCCURRENCE_ANNOTATIONS = 1000;
 
 	private FindReplaceLogic findReplaceLogic;
 	private final IWorkbenchPart targetPart;
@@ -128,6 +144,7 @@ public class FindReplaceOverlay {
 	private Composite searchContainer;
 	private Composite searchBarContainer;
 	private HistoryTextWrapper searchBar;
+	private Label occurrencesLabel;
 	private AccessibleToolBar searchTools;
 	private ToolItem searchInSelectionButton;
 	private ToolItem wholeWordSearchButton;
@@ -154,6 +171,18 @@ public class FindReplaceOverlay {
 	private ControlDecoration searchBarDecoration;
 	private ContentAssistCommandAdapter contentAssistSearchField, contentAssistReplaceField;
 
+	private IDocument occurrencesDocument;
+	private OccurrencesSearch occurrencesSearch;
+	private final List<IRegion> occurrences = new ArrayList<>();
+	private boolean occurrencesComplete;
+	private boolean occurrencesUpdatePending;
+	/** The occurrences reported by the search but not shown yet, guarded by itself. */
+	private final List<IRegion> pendingOccurrences = new ArrayList<>();
+	private OccurrencesSearch pendingOccurrencesSearch;
+	private boolean pendingOccurrencesComplete;
+	private boolean pendingOccurrencesScheduled;
+	private Annotation[] occurrenceAnnotations = new Annotation[0];
+
 	private FocusListener targetActionActivationHandling = new FocusListener() {
 		private DeactivateGlobalActionHandlers globalActionHandlerDeaction;
 
@@ -372,6 +401,29 @@ public class FindReplaceOverlay {
 		}
 	});
 
+	private IViewportListener occurrencesViewportListener = __ -> updateOccurrenceAnnotations();
+
+	private IDocumentListener occurrencesDocumentListener = new IDocumentListener() {
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// search again once the document has been changed
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			// a replace all changes the document many times, search once afterwards
+			if (!occurrencesUpdatePending) {
+				occurrencesUpdatePending = true;
+				asyncExecIfOpen(() -> {
+					occurrencesUpdatePending = false;
+					if (occurrencesDocument != null) {
+						findReplaceLogic.searchOccurrences();
+					}
+				});
+			}
+		}
+	};
+
 	/**
 	 * Returns the dialog settings object used to share state between several
 	 * find/replace overlays.
@@ -415,6 +467,7 @@ public class FindReplaceOverlay {
 
 		searchBar.setFocus();
 		updateFromTargetSelection();
+		findReplaceLogic.searchOccurrences();
 	}
 
 	private void storeOverlaySettings() {
@@ -449,12 +502,168 @@ public class FindReplaceOverlay {
 		targetControl.removeFocusListener(targetFocusListener);
 		targetControl.removeControlListener(targetMovementListener);
 		targetControl.removeKeyListener(closeOnTargetEscapeListener);
+		unbindOccurrences();
 	}
 
 	private void bindListeners() {
 		targetControl.addFocusListener(targetFocusListener);
 		targetControl.addControlListener(targetMovementListener);
 		targetControl.addKeyListener(closeOnTargetEscapeListener);
+		bindOccurrences();
+	}
+
+	private ITextViewer getTargetViewer() {
+		return targetPart != null ? targetPart.getAdapter(ITextViewer.class) : null;
+	}
+
+	private void bindOccurrences() {
+		ITextViewer viewer = getTargetViewer();
+		if (viewer == null || viewer.getDocument() == null) {
+			return;
+		}
+		occurrencesDocument = viewer.getDocument();
+		occurrencesDocument.addDocumentListener(occurrencesDocumentListener);
+		viewer.addViewportListener(occurrencesViewportListener);
+		findReplaceLogic.setOccurrencesListener(occurrencesDocument, this::occurrencesFound);
+	}
+
+	private void unbindOccurrences() {
+		if (occurrencesDocument == null) {
+			return;
+		}
+		findReplaceLogic.setOccurrencesListener(null, null);
+		occurrencesDocument.removeDocumentListener(occurrencesDocumentListener);
+		ITextViewer viewer = getTargetViewer();
+		if (viewer != null) {
+			viewer.removeViewportListener(occurrencesViewportListener);
+		}
+		occurrencesSearch = null;
+		occurrences.clear();
+		occurrencesComplete = false;
+		updateOccurrenceAnnotations();
+		updateOccurrencesLabel();
+		occurrencesDocument = null;
+	}
+
+	/**
+	 * Receives the occurrences found by the background search of the find/replace
+	 * logic. Called in the thread of the search. The batches reported until the
+	 * display thread gets to them are shown at once.
+	 */
+	private void occurrencesFound(OccurrencesSearch search, List<IRegion> found, boolean done) {
+		synchronized (pendingOccurrences) {
+			if (search != pendingOccurrencesSearch) {
+				pendingOccurrencesSearch = search;
+				pendingOccurrences.clear();
+			}
+			pendingOccurrences.addAll(found);
+			pendingOccurrencesComplete = done;
+			if (pendingOccurrencesScheduled) {
+				return;
+			}
+			pendingOccurrencesScheduled = true;
+		}
+		asyncExecIfOpen(this::showPendingOccurrences);
+	}
+
+	private void showPendingOccurrences() {
+		OccurrencesSearch search;
+		List<IRegion> found;
+		boolean done;
+		synchronized (pendingOccurrences) {
+			pendingOccurrencesScheduled = false;
+			search = pendingOccurrencesSearch;
+			found = new ArrayList<>(pendingOccurrences);
+			pendingOccurrences.clear();
+			done = pendingOccurrencesComplete;
+		}
+		// no search means that the occurrences are cleared
+		if ((search != null && search.isCanceled()) || search != findReplaceLogic.getOccurrencesSearch()) {
+			return;
+		}
+		if (search != occurrencesSearch || search == null) {
+			occurrencesSearch = search;
+			occurrences.clear();
+		}
+		occurrences.addAll(found);
+		occurrencesComplete = done;
+		updateOccurrenceAnnotations();
+		updateOccurrencesLabel();
+	}
+
+	/**
+	 * Highlights the occurrences in the visible part of the target viewer, so that
+	 * the number of annotations does not depend on the size of the document.
+	 */
+	private void updateOccurrenceAnnotations() {
+		if (!(getTargetViewer() instanceof ISourceViewer viewer) || viewer.getAnnotationModel() == null) {
+			return;
+		}
+		if (occurrencesSearch != null && occurrencesDocument != null && occurrencesSearch.isStale(occurrencesDocument)) {
+			return; // the annotations follow the changes until the next search is done
+		}
+		Map<Annotation, Position> added = new HashMap<>();
+		int top = viewer.getTopIndexStartOffset();
+		int bottom = viewer.getBottomIndexEndOffset();
+		for (int i = findFirstOccurrenceEndingAfter(top); i < occurrences.size()
+				&& added.size() < MAX_OCCURRENCE_ANNOTATIONS; i++) {
+			IRegion occurrence = occurrences.get(i);
+			if (occurrence.getOffset() > bottom) {
+				break;
+			}
+			added.put(new Annotation(OCCURRENCE_ANNOTATION_TYPE, false, null),
+					new Position(occurrence.getOffset(), occurrence.getLength()));
+		}
+		if (occurrenceAnnotations.length == 0 && added.isEmpty()) {
+			return;
+		}
+		IAnnotationModel model = viewer.getAnnotationModel();
+		if (model instanceof IAnnotationModelExtension extension) {
+			extension.replaceAnnotations(occurrenceAnnotations, added);
+		} else {
+			for (Annotation annotation : occurrenceAnnotations) {
+				model.removeAnnotation(annotation);
+			}
+			added.forEach(model::addAnnotation);
+		}
+		occurrenceAnnotations = added.keySet().toArray(new Annotation[added.size()]);
+	}
+
+	private int findFirstOccurrenceEndingAfter(int offset) {
+		int low = 0;
+		int high = occurrences.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			IRegion occurrence = occurrences.get(mid);
+			if (occurrence.getOffset() + occurrence.getLength() <= offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private void updateOccurrencesLabel() {
+		if (!okayToUse(occurrencesLabel)) {
+			return;
+		}
+		String text = ""; //$NON-NLS-1$
+		if (occurrencesComplete && !occurrences.isEmpty()) {
+			Point selection = findReplaceLogic.getTarget().getSelection();
+			int index = findFirstOccurrenceEndingAfter(selection.x);
+			String current = "?"; //$NON-NLS-1$
+			if (index < occurrences.size() && occurrences.get(index).getOffset() == selection.x
+					&& occurrences.get(index).getLength() == selection.y) {
+				current = String.valueOf(index + 1);
+			}
+			text = NLSUtility.format(FindReplaceMessages.FindReplaceOverlay_occurrences_label, current,
+					String.valueOf(occurrences.size()));
+		}
+		if (!text.equals(occurrencesLabel.getText())) {
+			occurrencesLabel.setText(text);
+			searchBarContainer.layout();
+		}
 	}
 
 	private void createContainerAndSearchControls(Composite parent) {
@@ -693,7 +902,7 @@ public class FindReplaceOverlay {
 	private void createSearchBar() {
 		searchBarContainer = new Composite(searchContainer, SWT.NONE);
 		GridDataFactory.fillDefaults().grab(true, true).align(GridData.FILL, GridData.FILL).applyTo(searchBarContainer);
-		GridLayoutFactory.fillDefaults().numColumns(1).applyTo(searchBarContainer);
+		GridLayoutFactory.fillDefaults().numColumns(2).applyTo(searchBarContainer);
 		HistoryStore searchHistory = new HistoryStore(getDialogSettings(), "findhistory", //$NON-NLS-1$
 				HISTORY_SIZE);
 		searchBar = new HistoryTextWrapper(searchHistory, searchBarContainer, SWT.SINGLE);
@@ -720,6 +929,11 @@ public class FindReplaceOverlay {
 		searchBar.setMessage(FindReplaceMessages.FindReplaceOverlay_searchBar_message);
 		contentAssistSearchField = createContentAssistField(searchBar, true);
 		searchBar.setTabList(null);
+
+		occurrencesLabel = new Label(searchBarContainer, SWT.NONE);
+		occurrencesLabel.setBackground(widgetBackgroundColor);
+		occurrencesLabel.setForeground(normalTextForegroundColor);
+		GridDataFactory.fillDefaults().grab(false, true).align(GridData.END, GridData.CENTER).applyTo(occurrencesLabel);
 	}
 
 	private void updateIncrementalSearch() {
@@ -1012,6 +1226,7 @@ public class FindReplaceOverlay {
 		if (!findReplaceLogic.getStatus().wasSuccessful()) {
 			applyErrorColor(searchBar);
 		}
+		updateOccurrencesLabel();
 	}
 
 	private void evaluateStatusAfterReplace() {
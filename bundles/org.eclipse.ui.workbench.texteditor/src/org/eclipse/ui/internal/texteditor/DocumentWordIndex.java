@@ -0,0 +1,461 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.function.IntPredicate;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.Region;
+
+
+/**
+ * Index of the words of a document, used by the hippie completion and by the
+ * default word completion and occurrence highlighting of the generic editor. A
+ * word is a maximal sequence of the code points accepted by the word part
+ * predicate of the index.
+ * <p>
+ * The index keeps the words of every line, and for every word the lines
+ * containing it, in a sorted map. The words starting with a prefix are a range
+ * of the map, and the occurrences of a word are found in the lines containing
+ * it, without scanning the whole text. Only the lines touched by a change are
+ * scanned again.
+ * </p>
+ * <p>
+ * The index is queried from background threads while the document is changed
+ * on another one. Its listener therefore only queues the line ranges of the
+ * changes and never waits for a query. A query applies the queued changes and
+ * reads the document while it holds the lock object of the document, which the
+ * document holds while it notifies its listeners, so the index and the
+ * document take their locks in the same order.
+ * </p>
+ * <p>
+ * The index does not reference its document, which is passed to every query.
+ * This class is thread safe.
+ * </p>
+ */
+public final class DocumentWordIndex implements IDocumentListener {
+
+	/**
+	 * The word characters of the regular expression <code>\w</code> with
+	 * {@link java.util.regex.Pattern#UNICODE_CHARACTER_CLASS}: alphabetic
+	 * characters, marks, decimal digits, connector punctuation and the join
+	 * controls.
+	 */
+	public static final IntPredicate UNICODE_WORD_PART= codePoint -> {
+		if (Character.isAlphabetic(codePoint) || codePoint == '\u200C' || codePoint == '\u200D')
+			return true;
+		switch (Character.getType(codePoint)) {
+			case Character.NON_SPACING_MARK:
+			case Character.ENCLOSING_MARK:
+			case Character.COMBINING_SPACING_MARK:
+			case Character.DECIMAL_DIGIT_NUMBER:
+			case Character.CONNECTOR_PUNCTUATION:
+				return true;
+			default:
+				return false;
+		}
+	};
+
+	/**
+	 * The number of queued changes above which the index rather scans the whole
+	 * document again.
+	 */
+	private static final int MAX_QUEUED_CHANGES= 1000;
+
+	private static final Map<IDocument, Map<IntPredicate, DocumentWordIndex>> fgIndexes= new WeakHashMap<>();
+
+	/**
+	 * The words of one line of the document, in order of their start.
+	 */
+	private static final class Line {
+		private static final String[] NO_WORDS= new String[0];
+		private static final int[] NO_STARTS= new int[0];
+
+		final String[] fWords;
+		final int[] fStarts; // relative to the start of the line
+		int fNumber; // valid unless the index needs to renumber its lines
+
+		Line(String[] words, int[] starts) {
+			fWords= words;
+			fStarts= starts;
+		}
+	}
+
+	/**
+	 * A change of the document: the lines from <code>firstLine</code> to
+	 * <code>lastLine</code> have been replaced by the lines from
+	 * <code>firstLine</code> to <code>newLastLine</code>.
+	 */
+	private record Change(int firstLine, int lastLine, int newLastLine) {
+	}
+
+	private final IntPredicate fWordPart;
+
+	// protected by fQueueLock, which is never held while calling the document
+	private final Object fQueueLock= new Object();
+	private List<Change> fQueuedChanges= new ArrayList<>();
+	private boolean fQueueOverflow;
+	private boolean fChangeRecorded;
+	private int fChangeFirstLine;
+	private int fChangeLastLine;
+
+	/** Whether the listener queues changes, false until the index is first built */
+	private volatile boolean fRecording;
+
+	// protected by the lock of the queries
+	private final List<Line> fLines= new ArrayList<>();
+	private final TreeMap<String, Set<Line>> fWordLines= new TreeMap<>();
+	private boolean fValid;
+	private boolean fRenumber;
+
+	private DocumentWordIndex(IntPredicate wordPart) {
+		fWordPart= wordPart;
+	}
+
+	/**
+	 * Returns the word index of the given document for the given word definition,
+	 * creating it if needed. The predicate identifies the index, so callers
+	 * sharing an index pass the same constant.
+	 *
+	 * @param document the document
+	 * @param wordPart tells whether a code point can be part of a word
+	 * @return the shared index of the document
+	 */
+	public static DocumentWordIndex get(IDocument document, IntPredicate wordPart) {
+		synchronized (fgIndexes) {
+			Map<IntPredicate, DocumentWordIndex> indexes= fgIndexes.computeIfAbsent(document, d -> new HashMap<>());
+			DocumentWordIndex index= indexes.get(wordPart);
+			if (index == null) {
+				index= new DocumentWordIndex(wordPart);
+				document.addDocumentListener(index);
+				indexes.put(wordPart, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Returns the words of the document starting with the given prefix.
+	 *
+	 * @param document the indexed document
+	 * @param prefix the prefix
+	 * @return the distinct words in lexical order
+	 * @throws BadLocationException if the document is changed concurrently
+	 */
+	public List<String> getWordsStartingWith(IDocument document, String prefix) throws BadLocationException {
+		synchronized (getLockObject(document)) {
+			update(document);
+			Map<String, Set<Line>> range= prefix.isEmpty() ? fWordLines
+					: fWordLines.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+			return new ArrayList<>(range.keySet());
+		}
+	}
+
+	/**
+	 * Returns the start offsets of the words of the document starting with the
+	 * given prefix.
+	 *
+	 * @param document the indexed document
+	 * @param prefix the prefix, not empty
+	 * @return the offsets in ascending order
+	 * @throws BadLocationException if the document is changed concurrently
+	 */
+	public int[] getWordStarts(IDocument document, String prefix) throws BadLocationException {
+		synchronized (getLockObject(document)) {
+			update(document);
+			Set<Line> containing= new HashSet<>();
+			for (Set<Line> lines : fWordLines.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values())
+				containing.addAll(lines);
+			int[] starts= new int[8];
+			int count= 0;
+			for (Line line : sortByNumber(containing)) {
+				int lineOffset= document.getLineOffset(line.fNumber);
+				for (int i= 0; i < line.fWords.length; i++) {
+					if (line.fWords[i].startsWith(prefix)) {
+						if (count == starts.length) {
+							int[] grown= new int[count * 2];
+							System.arraycopy(starts, 0, grown, 0, count);
+							starts= grown;
+						}
+						starts[count++]= lineOffset + line.fStarts[i];
+					}
+				}
+			}
+			int[] result= new int[count];
+			System.arraycopy(starts, 0, result, 0, count);
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the regions of all occurrences of a word in the document.
+	 *
+	 * @param document the indexed document
+	 * @param word the word
+	 * @return the occurrences in document order
+	 * @throws BadLocationException if the document is changed concurrently
+	 */
+	public List<IRegion> getOccurrences(IDocument document, String word) throws BadLocationException {
+		synchronized (getLockObject(document)) {
+			update(document);
+			Set<Line> containing= fWordLines.get(word);
+			if (containing == null)
+				return Collections.emptyList();
+			List<IRegion> occurrences= new ArrayList<>();
+			for (Line line : sortByNumber(containing)) {
+				int lineOffset= document.getLineOffset(line.fNumber);
+				for (int i= 0; i < line.fWords.length; i++) {
+					if (line.fWords[i].equals(word))
+						occurrences.add(new Region(lineOffset + line.fStarts[i], word.length()));
+				}
+			}
+			return occurrences;
+		}
+	}
+
+	/**
+	 * Returns the word that contains or touches the given offset.
+	 *
+	 * @param document the indexed document
+	 * @param offset the offset
+	 * @return the region of the word, or <code>null</code> if there is no word
+	 *         at the offset
+	 * @throws BadLocationException if the offset is not in the document
+	 */
+	public IRegion findWord(IDocument document, int offset) throws BadLocationException {
+		synchronized (getLockObject(document)) {
+			update(document);
+			int lineNumber= document.getLineOfOffset(offset);
+			int lineOffset= document.getLineOffset(lineNumber);
+			Line line= fLines.get(lineNumber);
+			int column= offset - lineOffset;
+			for (int i= 0; i < line.fWords.length && line.fStarts[i] <= column; i++) {
+				if (column <= line.fStarts[i] + line.fWords[i].length())
+					return new Region(lineOffset + line.fStarts[i], line.fWords[i].length());
+			}
+			return null;
+		}
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		if (!fRecording)
+			return;
+		int firstLine;
+		int lastLine;
+		try {
+			IDocument document= event.getDocument();
+			firstLine= document.getLineOfOffset(event.getOffset());
+			lastLine= document.getLineOfOffset(event.getOffset() + event.getLength());
+		} catch (BadLocationException e) {
+			firstLine= -1;
+			lastLine= -1;
+		}
+		synchronized (fQueueLock) {
+			fChangeRecorded= firstLine != -1;
+			fChangeFirstLine= firstLine;
+			fChangeLastLine= lastLine;
+			if (!fChangeRecorded)
+				overflow();
+		}
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		if (!fRecording)
+			return;
+		int newLastLine;
+		try {
+			String text= event.getText();
+			newLastLine= event.getDocument().getLineOfOffset(event.getOffset() + (text != null ? text.length() : 0));
+		} catch (BadLocationException e) {
+			newLastLine= -1;
+		}
+		synchronized (fQueueLock) {
+			if (!fChangeRecorded || newLastLine == -1 || fQueuedChanges.size() >= MAX_QUEUED_CHANGES) {
+				// the recording started while the document was changed, or too many changes
+				overflow();
+			} else if (!fQueueOverflow) {
+				fQueuedChanges.add(new Change(fChangeFirstLine, fChangeLastLine, newLastLine));
+			}
+			fChangeRecorded= false;
+		}
+	}
+
+	private void overflow() {
+		fQueueOverflow= true;
+		fQueuedChanges.clear();
+	}
+
+	/**
+	 * Returns the lock of the queries, the lock object of the document if it has
+	 * one.
+	 */
+	private Object getLockObject(IDocument document) {
+		if (document instanceof ISynchronizable synchronizable) {
+			Object lock= synchronizable.getLockObject();
+			if (lock != null)
+				return lock;
+		}
+		return this;
+	}
+
+	/**
+	 * Brings the index up to date with the document. Must be called holding the
+	 * lock of the queries.
+	 */
+	private void update(IDocument document) throws BadLocationException {
+		List<Change> changes;
+		synchronized (fQueueLock) {
+			if (fQueueOverflow)
+				invalidate();
+			changes= fQueuedChanges;
+			fQueuedChanges= new ArrayList<>();
+			fQueueOverflow= false;
+		}
+		try {
+			if (!fValid)
+				build(document);
+			else if (!changes.isEmpty())
+				applyChanges(document, changes);
+		} catch (BadLocationException | IndexOutOfBoundsException e) {
+			// the document has been changed without holding its lock, try again with the next query
+			invalidate();
+			throw new BadLocationException(e.getMessage());
+		}
+	}
+
+	private void build(IDocument document) throws BadLocationException {
+		fRecording= true;
+		String text= document.get();
+		int lineCount= document.getNumberOfLines();
+		for (int i= 0; i < lineCount; i++) {
+			IRegion info= document.getLineInformation(i);
+			Line line= scan(text, info.getOffset(), info.getOffset() + info.getLength());
+			line.fNumber= i;
+			addWords(line);
+			fLines.add(line);
+		}
+		fValid= true;
+		fRenumber= false;
+	}
+
+	private void applyChanges(IDocument document, List<Change> changes) throws BadLocationException {
+		// replace the changed lines by null, then scan the null lines in the current document
+		for (Change change : changes) {
+			List<Line> removed= fLines.subList(change.firstLine(), change.lastLine() + 1);
+			for (Line line : removed) {
+				if (line != null)
+					removeWords(line);
+			}
+			removed.clear();
+			fLines.addAll(change.firstLine(), Collections.nCopies(change.newLastLine() - change.firstLine() + 1, null));
+			if (change.newLastLine() != change.lastLine())
+				fRenumber= true;
+		}
+		if (fLines.size() != document.getNumberOfLines())
+			throw new BadLocationException();
+		for (int i= 0; i < fLines.size(); i++) {
+			if (fLines.get(i) == null) {
+				IRegion info= document.getLineInformation(i);
+				Line line= scan(document.get(info.getOffset(), info.getLength()), 0, info.getLength());
+				line.fNumber= i;
+				addWords(line);
+				fLines.set(i, line);
+			}
+		}
+	}
+
+	private List<Line> sortByNumber(Set<Line> lines) {
+		if (fRenumber) {
+			for (int i= 0; i < fLines.size(); i++)
+				fLines.get(i).fNumber= i;
+			fRenumber= false;
+		}
+		List<Line> sorted= new ArrayList<>(lines);
+		sorted.sort(Comparator.comparingInt(line -> line.fNumber));
+		return sorted;
+	}
+
+	private void invalidate() {
+		fValid= false;
+		fLines.clear();
+		fWordLines.clear();
+	}
+
+	private void addWords(Line line) {
+		for (String word : line.fWords)
+			fWordLines.computeIfAbsent(word, w -> new HashSet<>()).add(line);
+	}
+
+	private void removeWords(Line line) {
+		for (String word : line.fWords) {
+			Set<Line> containing= fWordLines.get(word);
+			if (containing != null && containing.remove(line) && containing.isEmpty())
+				fWordLines.remove(word);
+		}
+	}
+
+	private Line scan(String text, int start, int end) {
+		List<String> words= null;
+		List<Integer> starts= null;
+		int wordStart= -1;
+		for (int i= start; i <= end;) {
+			int codePoint= -1;
+			int charCount= 1;
+			if (i < end) {
+				char c= text.charAt(i);
+				codePoint= c;
+				if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+					codePoint= Character.toCodePoint(c, text.charAt(i + 1));
+					charCount= 2;
+				}
+			}
+			boolean wordPart= codePoint != -1 && fWordPart.test(codePoint);
+			if (wordPart && wordStart == -1) {
+				wordStart= i;
+			} else if (!wordPart && wordStart != -1) {
+				if (words == null) {
+					words= new ArrayList<>();
+					starts= new ArrayList<>();
+				}
+				words.add(text.substring(wordStart, i));
+				starts.add(Integer.valueOf(wordStart - start));
+				wordStart= -1;
+			}
+			i+= charCount;
+		}
+		if (words == null)
+			return new Line(Line.NO_WORDS, Line.NO_STARTS);
+		int[] startArray= new int[starts.size()];
+		for (int j= 0; j < startArray.length; j++)
+			startArray[j]= starts.get(j).intValue();
+		return new Line(words.toArray(new String[words.size()]), startArray);
+	}
+}
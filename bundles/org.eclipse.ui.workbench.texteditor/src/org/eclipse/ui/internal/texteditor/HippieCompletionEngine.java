@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,12 @@
 package org.eclipse.ui.internal.texteditor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -91,6 +93,12 @@ public final class HippieCompletionEngine {
 	 */
 	private static final boolean CASE_SENSITIVE= true;
 
+	/**
+	 * The word definition of the {@link DocumentWordIndex} used by the engine,
+	 * the characters matched by {@link #COMPLETION_WORD_REGEX}.
+	 */
+	private static final IntPredicate WORD_PART= HippieCompletionEngine::isWordPart;
+
 	/**
 	 * Creates a new engine.
 	 */
@@ -298,6 +306,8 @@ public final class HippieCompletionEngine {
 	 * @since 3.6
 	 */
 	public Iterator<String> getForwardIterator(IDocument document, CharSequence prefix, int firstPosition, boolean currentWordLast) {
+		if (isIndexed(prefix))
+			return new IndexedForwardIterator(document, prefix, firstPosition, currentWordLast);
 		return new HippieCompletionForwardIterator(document, prefix, firstPosition, currentWordLast);
 	}
 
@@ -315,9 +325,92 @@ public final class HippieCompletionEngine {
 	 * @since 3.6
 	 */
 	public Iterator<String> getBackwardIterator(IDocument document, CharSequence prefix, int firstPosition) {
+		if (isIndexed(prefix))
+			return new IndexedBackwardIterator(document, prefix, firstPosition);
 		return new HippieCompletionBackwardIterator(document, prefix, firstPosition);
 	}
 
+	/**
+	 * Tells whether the given code point can be part of a word. Word characters
+	 * are letters, non-spacing marks, connector punctuation, decimal digits,
+	 * letter numbers and currency symbols, as in the word pattern of the
+	 * engine.
+	 *
+	 * @param codePoint the code point
+	 * @return <code>true</code> if the code point is a word character
+	 */
+	private static boolean isWordPart(int codePoint) {
+		switch (Character.getType(codePoint)) {
+			case Character.UPPERCASE_LETTER:
+			case Character.LOWERCASE_LETTER:
+			case Character.TITLECASE_LETTER:
+			case Character.MODIFIER_LETTER:
+			case Character.OTHER_LETTER:
+			case Character.NON_SPACING_MARK:
+			case Character.CONNECTOR_PUNCTUATION:
+			case Character.DECIMAL_DIGIT_NUMBER:
+			case Character.LETTER_NUMBER:
+			case Character.CURRENCY_SYMBOL:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Tells whether the completions of the given prefix can be looked up in the
+	 * {@link DocumentWordIndex} of a document. This is the case for prefixes made
+	 * of word characters only, the ones computed by
+	 * {@link #getPrefixString(IDocument, int)}; any other prefix is searched with
+	 * regular expressions.
+	 *
+	 * @param prefix the prefix to search for
+	 * @return <code>true</code> if the word index can be used
+	 */
+	private static boolean isIndexed(CharSequence prefix) {
+		if (prefix.length() == 0)
+			return false;
+		return prefix.codePoints().allMatch(WORD_PART);
+	}
+
+	/**
+	 * Tells whether the given code point is matched by
+	 * {@link #NON_EMPTY_COMPLETION_BOUNDARY}.
+	 *
+	 * @param codePoint the code point
+	 * @return <code>true</code> if the code point separates words
+	 */
+	private static boolean isBoundary(int codePoint) {
+		switch (codePoint) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case 0x0B:
+			case '\f':
+			case '\r':
+				return true;
+			default:
+				break;
+		}
+		switch (Character.getType(codePoint)) {
+			case Character.SPACE_SEPARATOR:
+			case Character.LINE_SEPARATOR:
+			case Character.PARAGRAPH_SEPARATOR:
+			case Character.DASH_PUNCTUATION:
+			case Character.START_PUNCTUATION:
+			case Character.END_PUNCTUATION:
+			case Character.INITIAL_QUOTE_PUNCTUATION:
+			case Character.FINAL_QUOTE_PUNCTUATION:
+			case Character.OTHER_PUNCTUATION:
+			case Character.MATH_SYMBOL:
+			case Character.MODIFIER_SYMBOL:
+			case Character.OTHER_SYMBOL:
+				return true;
+			default:
+				return false;
+		}
+	}
+
 	/**
 	 * Provides an iterator that will get the completions for all the documents received, starting
 	 * at the "document" passed (first going backward and then forward from the position passed) and
@@ -805,6 +898,252 @@ public final class HippieCompletionEngine {
 
 	}
 
+	/**
+	 * Base class of the iterators that take the words starting with the prefix from the
+	 * {@link DocumentWordIndex} of the document instead of searching the whole document with
+	 * regular expressions. They return the same completions, in the same order, as the iterators
+	 * based on {@link FindReplaceDocumentAdapter}.
+	 */
+	private abstract class IndexedCompletionIterator extends HippieCompletionIterator {
+
+		/** The start offsets of the words starting with the prefix, in ascending order */
+		protected int[] fWordStarts;
+
+		/** The index in {@link #fWordStarts} of the next word to check */
+		protected int fNextIndex;
+
+		protected IndexedCompletionIterator(IDocument document, CharSequence prefix, int firstPosition) {
+			super(document, prefix, firstPosition);
+		}
+
+		/**
+		 * Looks up the start offsets of the words starting with the prefix.
+		 *
+		 * @throws BadLocationException if the document is changed concurrently
+		 */
+		protected void computeWordStarts() throws BadLocationException {
+			fWordStarts= DocumentWordIndex.get(fDocument, WORD_PART).getWordStarts(fDocument, fPrefix.toString());
+		}
+
+		/**
+		 * Tells whether the prefix occurs at the given offset at a position the search pattern
+		 * matches: at the start of the document or of a line, or after a boundary character that
+		 * does not start before <code>limit</code>.
+		 *
+		 * @param offset the start of a word
+		 * @param limit the offset at which the search started
+		 * @param lineStart whether a match at the start of the document or of a line is
+		 *            accepted
+		 * @return <code>true</code> if the prefix is found at the offset
+		 * @throws BadLocationException if the offset is not in the document
+		 */
+		protected boolean isCompletionStart(int offset, int limit, boolean lineStart) throws BadLocationException {
+			int prefixLength= fPrefix.length();
+			if (offset + prefixLength > fDocument.getLength())
+				return false;
+			for (int i= 0; i < prefixLength; i++) {
+				if (fDocument.getChar(offset + i) != fPrefix.charAt(i))
+					return false;
+			}
+			if (offset == 0)
+				return lineStart;
+			char c= fDocument.getChar(offset - 1);
+			if (lineStart && c == '\u0085') // a line terminator for the regular expressions
+				return true;
+			int codePoint= c;
+			if (Character.isLowSurrogate(c) && offset - 2 >= limit) {
+				char high= fDocument.getChar(offset - 2);
+				if (Character.isHighSurrogate(high))
+					codePoint= Character.toCodePoint(high, c);
+			}
+			return isBoundary(codePoint);
+		}
+
+		/**
+		 * Returns the end of the word starting at the given offset.
+		 *
+		 * @param offset the start of a word
+		 * @return the offset after the last word character
+		 * @throws BadLocationException if the offset is not in the document
+		 */
+		protected int getWordEnd(int offset) throws BadLocationException {
+			int length= fDocument.getLength();
+			int end= offset;
+			while (end < length) {
+				char c= fDocument.getChar(end);
+				int codePoint= c;
+				int charCount= 1;
+				if (Character.isHighSurrogate(c) && end + 1 < length) {
+					char low= fDocument.getChar(end + 1);
+					if (Character.isLowSurrogate(low)) {
+						codePoint= Character.toCodePoint(c, low);
+						charCount= 2;
+					}
+				}
+				if (!WORD_PART.test(codePoint))
+					break;
+				end+= charCount;
+			}
+			return end;
+		}
+	}
+
+
+
+	/**
+	 * Iterator that gets the word completions after the current position from the word index of
+	 * the document.
+	 *
+	 * @see HippieCompletionForwardIterator
+	 */
+	private class IndexedForwardIterator extends IndexedCompletionIterator {
+
+		/** If <code>true</code> the word at caret position should be that last completion. */
+		private final boolean fCurrentWordLast;
+
+		/** The completion for the current word -- fix bug 132533 */
+		private String fCurrentWordCompletion= null;
+
+		/** The offset at which the regular expression search would start */
+		private int fSearchStart;
+
+		/** Whether no occurrence of the prefix has been found yet */
+		private boolean fFirstMatch= true;
+
+		private IndexedForwardIterator(IDocument document, CharSequence prefix, int firstPosition, boolean currentWordLast) {
+			super(document, prefix, firstPosition);
+			this.fCurrentWordLast= currentWordLast;
+			calculateFirst();
+		}
+
+		@Override
+		protected void calculateNext() throws BadLocationException {
+			if (fCurrentState == 0) {
+				if (fFirstPosition == fDocument.getLength()) {
+					this.fHasNext= false;
+					return;
+				}
+				// the boundary before the first completion may start one character before
+				// the first position, see HippieCompletionForwardIterator
+				fSearchStart= fFirstPosition > 0 ? fFirstPosition - 1 : 0;
+				computeWordStarts();
+				int index= Arrays.binarySearch(fWordStarts, fFirstPosition);
+				fNextIndex= index >= 0 ? index : -index - 1;
+				fCurrentState= 1;
+			}
+
+			if (fCurrentState == 1) {
+				fHasNext= false;
+				while (fNextIndex < fWordStarts.length) {
+					int start= fWordStarts[fNextIndex++];
+					if (!isCompletionStart(start, fSearchStart, fFirstPosition == 0))
+						continue;
+					boolean currentWord= fFirstMatch && isBoundaryOnly(fSearchStart, start);
+					fFirstMatch= false;
+					int end= getWordEnd(start);
+					if (end - start > fPrefix.length()) { // empty suggestion will be added later
+						String completion= fDocument.get(start + fPrefix.length(), end - start - fPrefix.length());
+						if (fCurrentWordLast && currentWord) { // we got the word at caret as completion
+							if (fCurrentWordCompletion == null)
+								fCurrentWordCompletion= completion; // add it as the last word.
+						} else {
+							fNext= completion;
+							fHasNext= true;
+							return;
+						}
+					}
+				}
+				fCurrentState= 2;
+			}
+
+			if (fCurrentState == 2) {
+				fCurrentState= 3;
+				// the word at caret position goes last (bug 132533).
+				if (fCurrentWordCompletion != null) {
+					fNext= fCurrentWordCompletion;
+					fHasNext= true;
+					return;
+				}
+			}
+
+			fNext= null;
+			fHasNext= false;
+		}
+
+		/**
+		 * Tells whether the first match of the search pattern starts at the search start, that is
+		 * whether the text between the search start and the word only consists of boundary
+		 * characters.
+		 *
+		 * @param from the search start
+		 * @param to the start of the first word found
+		 * @return <code>true</code> if the word is the word at caret position
+		 * @throws BadLocationException if the offsets are not in the document
+		 */
+		private boolean isBoundaryOnly(int from, int to) throws BadLocationException {
+			for (int i= from; i < to;) {
+				char c= fDocument.getChar(i);
+				int codePoint= c;
+				if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(fDocument.getChar(i + 1)))
+					codePoint= Character.toCodePoint(c, fDocument.getChar(i + 1));
+				if (!isBoundary(codePoint))
+					return false;
+				i+= Character.charCount(codePoint);
+			}
+			return true;
+		}
+	}
+
+
+
+	/**
+	 * Iterator that gets the word completions before the current position from the word index of
+	 * the document.
+	 *
+	 * @see HippieCompletionBackwardIterator
+	 */
+	private class IndexedBackwardIterator extends IndexedCompletionIterator {
+
+		private IndexedBackwardIterator(IDocument document, CharSequence prefix, int firstPosition) {
+			super(document, prefix, firstPosition);
+			calculateFirst();
+		}
+
+		@Override
+		protected void calculateNext() throws BadLocationException {
+			if (fCurrentState == 0) {
+				fCurrentState= 1;
+				int last= Math.min(fFirstPosition, fDocument.getLength() - 1);
+				if (fFirstPosition <= 1 || last <= 0) {
+					this.fNext= null;
+					this.fHasNext= false;
+					return;
+				}
+				computeWordStarts();
+				// the prefix must end before the position, as for FindReplaceDocumentAdapter
+				int index= Arrays.binarySearch(fWordStarts, last + 1 - fPrefix.length());
+				fNextIndex= index >= 0 ? index : -index - 2;
+			}
+			while (fNextIndex >= 0) {
+				int start= fWordStarts[fNextIndex--];
+				if (!isCompletionStart(start, 0, true))
+					continue;
+				if (start <= 1) // nothing can be found before
+					fNextIndex= -1;
+				int end= getWordEnd(start);
+				if (end > fFirstPosition)
+					continue;
+				if (end - start > fPrefix.length()) { // empty suggestion will be added later
+					this.fHasNext= true;
+					this.fNext= fDocument.get(start + fPrefix.length(), end - start - fPrefix.length());
+					return;
+				}
+			}
+			this.fNext= null;
+			this.fHasNext= false;
+		}
+	}
+
 	/**
 	 * Logs the exception.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -372,14 +372,19 @@ public class SourceViewerDecorationSupport {
 	}
 
 	/**
-	 * Disposes this decoration support. Internally calls
-	 * <code>uninstall</code>.
+	 * Disposes this decoration support and its character pair matcher.
+	 * Internally calls <code>uninstall</code>.
 	 */
 	public void dispose() {
 		uninstall();
 		updateTextDecorations();
 		updateOverviewDecorations();
 
+		if (fCharacterPairMatcher != null) {
+			fCharacterPairMatcher.dispose();
+			fCharacterPairMatcher= null;
+		}
+
 		fOverviewRuler= null;
 
 		// Painters got disposed in updateTextDecorations() or by the PaintManager
@@ -393,7 +398,8 @@ public class SourceViewerDecorationSupport {
 	}
 
 	/**
-	 * Sets the character pair matcher for the matching character painter.
+	 * Sets the character pair matcher for the matching character painter. The
+	 * matcher is disposed when this support is disposed.
 	 *
 	 * @param pairMatcher the character pair matcher
 	 */
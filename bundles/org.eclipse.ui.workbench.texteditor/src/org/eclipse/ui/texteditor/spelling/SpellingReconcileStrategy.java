@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2008 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -27,9 +28,16 @@ import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentPartitioningListener;
+import org.eclipse.jface.text.IDocumentPartitioningListenerExtension2;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.ITextViewerLifecycle;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
@@ -43,10 +51,21 @@ import org.eclipse.jface.text.source.ISourceViewer;
 
 /**
  * Reconcile strategy used for spell checking.
+ * <p>
+ * The strategy records the lines changed since the last reconcile, including
+ * the lines whose partition changed. When the whole document is reconciled
+ * again, only these lines are passed to the spelling service, in one batch,
+ * and only the spelling annotations on these lines are updated. A reconcile
+ * without any change, as forced after a change of the spelling preferences,
+ * checks the whole document.
+ * </p>
+ * <p>
+ * The strategy stops listening to its document when it is uninstalled.
+ * </p>
  *
  * @since 3.3
  */
-public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconcilingStrategyExtension {
+public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconcilingStrategyExtension, ITextViewerLifecycle {
 
 
 	/**
@@ -63,6 +82,9 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 		/** Lock object for modifying the annotations. */
 		private Object fLockObject;
 
+		/** The checked regions, or <code>null</code> if the whole document is checked. */
+		private IRegion[] fCheckedRegions;
+
 		/**
 		 * Initializes this collector with the given annotation model.
 		 *
@@ -77,6 +99,17 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 				fLockObject= fAnnotationModel;
 		}
 
+		/**
+		 * Sets the regions checked by the next collecting session. Only the
+		 * spelling annotations in these regions are updated.
+		 *
+		 * @param regions the checked regions, or <code>null</code> if the
+		 *            whole document is checked
+		 */
+		void setCheckedRegions(IRegion[] regions) {
+			fCheckedRegions= regions;
+		}
+
 		@Override
 		public void accept(SpellingProblem problem) {
 			fAddAnnotations.put(new SpellingAnnotation(problem), new Position(problem.getOffset(), problem.getLength()));
@@ -93,28 +126,190 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 			List<Annotation> toRemove= new ArrayList<>();
 
 			synchronized (fLockObject) {
+				Map<Position, Annotation> added= new HashMap<>();
+				for (Entry<Annotation, Position> entry : fAddAnnotations.entrySet())
+					added.put(entry.getValue(), entry.getKey());
+
 				Iterator<Annotation> iter= fAnnotationModel.getAnnotationIterator();
 				while (iter.hasNext()) {
 					Annotation annotation= iter.next();
-					if (SpellingAnnotation.TYPE.equals(annotation.getType()))
-						toRemove.add(annotation);
+					if (SpellingAnnotation.TYPE.equals(annotation.getType())) {
+						Position position= fAnnotationModel.getPosition(annotation);
+						if (position == null || position.isDeleted()) {
+							toRemove.add(annotation);
+						} else if (isChecked(position)) {
+							Annotation replacement= added.get(position);
+							if (replacement != null && isSameProblem(annotation, replacement)) {
+								// the problem is still reported, keep the annotation to avoid flickering
+								fAddAnnotations.remove(replacement);
+								added.remove(position);
+							} else {
+								toRemove.add(annotation);
+							}
+						}
+					}
 				}
-				Annotation[] annotationsToRemove= toRemove.toArray(new Annotation[toRemove.size()]);
 
-				if (fAnnotationModel instanceof IAnnotationModelExtension)
-					((IAnnotationModelExtension)fAnnotationModel).replaceAnnotations(annotationsToRemove, fAddAnnotations);
-				else {
-					for (Annotation element : annotationsToRemove) {
-						fAnnotationModel.removeAnnotation(element);
-					}
-					for (Entry<Annotation, Position> entry : fAddAnnotations.entrySet()) {
-						fAnnotationModel.addAnnotation(entry.getKey(), entry.getValue());
+				if (!toRemove.isEmpty() || !fAddAnnotations.isEmpty()) {
+					Annotation[] annotationsToRemove= toRemove.toArray(new Annotation[toRemove.size()]);
+
+					if (fAnnotationModel instanceof IAnnotationModelExtension)
+						((IAnnotationModelExtension)fAnnotationModel).replaceAnnotations(annotationsToRemove, fAddAnnotations);
+					else {
+						for (Annotation element : annotationsToRemove) {
+							fAnnotationModel.removeAnnotation(element);
+						}
+						for (Entry<Annotation, Position> entry : fAddAnnotations.entrySet()) {
+							fAnnotationModel.addAnnotation(entry.getKey(), entry.getValue());
+						}
 					}
 				}
 			}
 
 			fAddAnnotations= null;
 		}
+
+		/**
+		 * Tells whether the given position touches one of the checked regions.
+		 *
+		 * @param position the position of an annotation
+		 * @return <code>true</code> if the annotation must be updated
+		 */
+		private boolean isChecked(Position position) {
+			if (fCheckedRegions == null)
+				return true;
+			for (IRegion region : fCheckedRegions) {
+				if (position.getOffset() <= region.getOffset() + region.getLength() && position.getOffset() + position.getLength() >= region.getOffset())
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Tells whether an existing annotation reports the same problem as a
+		 * new annotation at the same position.
+		 *
+		 * @param annotation the existing annotation
+		 * @param replacement the new annotation
+		 * @return <code>true</code> if the existing annotation can be kept
+		 */
+		private static boolean isSameProblem(Annotation annotation, Annotation replacement) {
+			if (!(annotation instanceof SpellingAnnotation) || !(replacement instanceof SpellingAnnotation))
+				return false;
+			SpellingProblem problem= ((SpellingAnnotation) annotation).getSpellingProblem();
+			SpellingProblem newProblem= ((SpellingAnnotation) replacement).getSpellingProblem();
+			return problem.getOffset() == newProblem.getOffset() && problem.getLength() == newProblem.getLength()
+					&& Objects.equals(problem.getMessage(), newProblem.getMessage());
+		}
+	}
+
+
+	/**
+	 * Records the ranges of the document changed since they have last been
+	 * taken. It is registered with the document of the strategy until the
+	 * strategy gets another document or is uninstalled.
+	 */
+	private static class ChangeTracker implements IDocumentListener, IDocumentPartitioningListener, IDocumentPartitioningListenerExtension2 {
+
+		/**
+		 * The maximal number of ranges. More ranges are merged into one, spell
+		 * checking what lies between them as well.
+		 */
+		private static final int MAX_RANGES= 64;
+
+		/** The changed ranges, sorted and disjoint. */
+		private final List<Position> fRanges= new ArrayList<>();
+
+		/** The partition changes reported during the current document change. */
+		private final List<IRegion> fPartitionChanges= new ArrayList<>();
+
+		/** Whether a document change is being applied. */
+		private boolean fChanging;
+
+		@Override
+		public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+			fChanging= true;
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			fChanging= false;
+			int offset= event.getOffset();
+			int oldEnd= offset + event.getLength();
+			int newEnd= offset + (event.getText() == null ? 0 : event.getText().length());
+			int delta= newEnd - oldEnd;
+			for (Position range : fRanges) {
+				int end= range.getOffset() + range.getLength();
+				if (range.getOffset() >= oldEnd) {
+					range.setOffset(range.getOffset() + delta);
+				} else if (end > offset) {
+					int start= Math.min(range.getOffset(), offset);
+					end= end > oldEnd ? end + delta : newEnd;
+					range.setOffset(start);
+					range.setLength(end - start);
+				}
+			}
+			add(offset, newEnd);
+			// the partition changes are reported in the coordinates of the changed document
+			for (IRegion change : fPartitionChanges)
+				add(change.getOffset(), change.getOffset() + change.getLength());
+			fPartitionChanges.clear();
+		}
+
+		@Override
+		public void documentPartitioningChanged(IDocument document) {
+			// not called, as this listener implements IDocumentPartitioningListenerExtension2
+		}
+
+		@Override
+		public synchronized void documentPartitioningChanged(DocumentPartitioningChangedEvent event) {
+			IRegion coverage= event.getCoverage();
+			if (coverage == null)
+				return;
+			if (fChanging)
+				fPartitionChanges.add(coverage);
+			else
+				add(coverage.getOffset(), coverage.getOffset() + coverage.getLength());
+		}
+
+		/**
+		 * Returns the changed ranges and forgets them.
+		 *
+		 * @return the changed ranges, sorted and disjoint
+		 */
+		synchronized List<Position> takeRanges() {
+			List<Position> ranges= new ArrayList<>(fRanges);
+			fRanges.clear();
+			return ranges;
+		}
+
+		/**
+		 * Records a range as changed.
+		 *
+		 * @param offset the offset of the range
+		 * @param length the length of the range
+		 */
+		synchronized void markChanged(int offset, int length) {
+			add(offset, offset + length);
+		}
+
+		private void add(int start, int end) {
+			int i= 0;
+			while (i < fRanges.size() && fRanges.get(i).getOffset() + fRanges.get(i).getLength() < start)
+				i++;
+			while (i < fRanges.size() && fRanges.get(i).getOffset() <= end) {
+				Position range= fRanges.remove(i);
+				start= Math.min(start, range.getOffset());
+				end= Math.max(end, range.getOffset() + range.getLength());
+			}
+			fRanges.add(i, new Position(start, end - start));
+			if (fRanges.size() > MAX_RANGES) {
+				Position first= fRanges.get(0);
+				Position last= fRanges.get(fRanges.size() - 1);
+				fRanges.clear();
+				fRanges.add(new Position(first.getOffset(), last.getOffset() + last.getLength() - first.getOffset()));
+			}
+		}
 	}
 
 
@@ -143,6 +338,11 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 	 */
 	private IRegion[] fRegions= new IRegion[1];
 
+	/**
+	 * Records the changes of the document since the last reconcile.
+	 */
+	private final ChangeTracker fChangeTracker= new ChangeTracker();
+
 
 	/**
 	 * Creates a new comment reconcile strategy.
@@ -162,6 +362,7 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 
 	@Override
 	public void initialReconcile() {
+		fChangeTracker.takeRanges();
 		reconcile(new Region(0, fDocument.getLength()));
 	}
 
@@ -187,7 +388,73 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 			return;
 
 		fRegions[0]= region;
-		fSpellingService.check(fDocument, fRegions, fSpellingContext, fSpellingProblemCollector, fProgressMonitor);
+		IRegion[] regions= fRegions;
+		if (fSpellingProblemCollector instanceof SpellingProblemCollector collector) {
+			IRegion[] changedRegions= getChangedRegions(region);
+			if (changedRegions != null)
+				regions= changedRegions;
+			collector.setCheckedRegions(regions);
+		}
+		fSpellingService.check(fDocument, regions, fSpellingContext, fSpellingProblemCollector, fProgressMonitor);
+		if (regions != fRegions && fProgressMonitor != null && fProgressMonitor.isCanceled()) {
+			// the changed lines may not all have been checked
+			fChangeTracker.markChanged(0, fDocument.getLength());
+		}
+	}
+
+	/**
+	 * Returns the lines of the given region that need to be checked again.
+	 *
+	 * @param region the region to reconcile
+	 * @return the changed lines, or <code>null</code> if the whole region must
+	 *         be checked
+	 */
+	private IRegion[] getChangedRegions(IRegion region) {
+		if (region.getOffset() != 0 || region.getLength() != fDocument.getLength())
+			return null;
+
+		List<Position> ranges= fChangeTracker.takeRanges();
+		if (ranges.isEmpty()) {
+			// nothing changed, the spelling preferences may have changed
+			return null;
+		}
+
+		try {
+			List<IRegion> regions= new ArrayList<>();
+			int firstLine= -1;
+			int lastLine= -1;
+			for (Position range : ranges) {
+				int start= fDocument.getLineOfOffset(range.getOffset());
+				int end= fDocument.getLineOfOffset(range.getOffset() + range.getLength());
+				if (firstLine != -1 && start > lastLine + 1) {
+					regions.add(getLineRegion(firstLine, lastLine));
+					firstLine= -1;
+				}
+				if (firstLine == -1)
+					firstLine= start;
+				lastLine= Math.max(lastLine, end);
+			}
+			regions.add(getLineRegion(firstLine, lastLine));
+			return regions.toArray(new IRegion[regions.size()]);
+		} catch (BadLocationException e) {
+			// the document has been changed in the meantime
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the region from the start of a line to the end of another line,
+	 * without its delimiter.
+	 *
+	 * @param firstLine the first line
+	 * @param lastLine the last line
+	 * @return the region of the lines
+	 * @throws BadLocationException if the lines are not in the document
+	 */
+	private IRegion getLineRegion(int firstLine, int lastLine) throws BadLocationException {
+		int offset= fDocument.getLineOffset(firstLine);
+		IRegion last= fDocument.getLineInformation(lastLine);
+		return new Region(offset, last.getOffset() + last.getLength() - offset);
 	}
 
 	/**
@@ -211,10 +478,53 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 
 	@Override
 	public void setDocument(IDocument document) {
+		removeChangeTracker();
 		fDocument= document;
+		if (fDocument != null) {
+			fDocument.addDocumentListener(fChangeTracker);
+			fDocument.addDocumentPartitioningListener(fChangeTracker);
+		}
 		fSpellingProblemCollector= createSpellingProblemCollector();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The viewer of this strategy is passed to its constructor.
+	 * </p>
+	 *
+	 * @since 3.20
+	 */
+	@Override
+	public void install(ITextViewer textViewer) {
+		// nothing to do
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Stops recording the changes of the document.
+	 * </p>
+	 *
+	 * @since 3.20
+	 */
+	@Override
+	public void uninstall() {
+		removeChangeTracker();
+	}
+
+	/**
+	 * Stops recording the changes of the current document and forgets the
+	 * recorded changes.
+	 */
+	private void removeChangeTracker() {
+		if (fDocument != null) {
+			fDocument.removeDocumentListener(fChangeTracker);
+			fDocument.removeDocumentPartitioningListener(fChangeTracker);
+		}
+		fChangeTracker.takeRanges();
+	}
+
 	/**
 	 * Creates a new spelling problem collector.
 	 *
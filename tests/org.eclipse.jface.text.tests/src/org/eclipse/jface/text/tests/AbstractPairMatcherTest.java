@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.jface.text.IDocumentExtension3;
 import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.rules.FastPartitioner;
 import org.eclipse.jface.text.rules.IPredicateRule;
 import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
@@ -303,8 +304,117 @@ public abstract class AbstractPairMatcherTest {
 		matcher.dispose();
 	}
 
+	@Test
+	public void testMatchAfterDocumentChanges() throws BadLocationException {
+		final ICharacterPairMatcher matcher= createMatcher("()[]{}");
+		final Document doc= createPartitionedDocument("((()))");
+
+		assertEquals(new Region(2, 2), matcher.match(doc, 3));
+		assertEquals(new Region(0, 6), matcher.match(doc, 1));
+		assertEquals(new Region(0, 6), matcher.match(doc, 6));
+
+		doc.replace(3, 0, ")");
+		assertEquals("((())))", doc.get());
+		assertEquals(new Region(2, 2), matcher.match(doc, 3));
+		assertEquals(new Region(1, 4), matcher.match(doc, 2));
+		assertEquals(new Region(0, 6), matcher.match(doc, 1));
+		assertNull(matcher.match(doc, 7));
+
+		doc.replace(2, 3, "|a ) a|");
+		assertEquals("((|a ) a|))", doc.get());
+		assertEquals(new Region(1, 9), matcher.match(doc, 2));
+		assertEquals(new Region(0, 11), matcher.match(doc, 1));
+
+		doc.replace(10, 1, "");
+		assertNull(matcher.match(doc, 1));
+		doc.replace(10, 0, ")");
+		assertEquals(new Region(0, 11), matcher.match(doc, 1));
+		matcher.dispose();
+	}
+
+	@Test
+	public void testMatchWhileTyping() throws BadLocationException {
+		final ICharacterPairMatcher matcher= createMatcher("()[]{}");
+		final Document doc= createPartitionedDocument("f(a[b]c) g(d)");
+		assertEquals(new Region(1, 7), matcher.match(doc, 2));
+
+		doc.replace(2, 0, "x");
+		doc.replace(3, 0, "y");
+		assertEquals("f(xya[b]c) g(d)", doc.get());
+		assertEquals(new Region(1, 9), matcher.match(doc, 2));
+		assertEquals(new Region(5, 3), matcher.match(doc, 6));
+
+		doc.replace(12, 0, "zz");
+		assertEquals("f(xya[b]c) gzz(d)", doc.get());
+		assertEquals(new Region(14, 3), matcher.match(doc, 15));
+		assertEquals(new Region(1, 9), matcher.match(doc, 2));
+
+		doc.replace(0, 1, "");
+		assertEquals(new Region(0, 9), matcher.match(doc, 1));
+		assertEquals(new Region(13, 3), matcher.match(doc, 14));
+		matcher.dispose();
+	}
+
+	@Test
+	public void testMatchInSeveralDocuments() throws BadLocationException {
+		final ICharacterPairMatcher matcher= createMatcher("()[]{}");
+		final Document first= createPartitionedDocument("(a(b))");
+		final Document second= createPartitionedDocument("((c))");
+		assertEquals(new Region(0, 6), matcher.match(first, 1));
+		assertEquals(new Region(0, 5), matcher.match(second, 1));
+
+		first.replace(1, 1, "");
+		assertEquals(new Region(0, 5), matcher.match(first, 1));
+		second.replace(4, 1, "");
+		assertNull(matcher.match(second, 1));
+
+		matcher.dispose();
+		first.replace(1, 0, "[");
+		assertEquals(new Region(0, 6), matcher.match(first, 1));
+		assertEquals(new Region(2, 3), matcher.match(first, 3));
+		matcher.dispose();
+	}
+
+	@Test
+	public void testDocumentListenersRemoved() {
+		final ICharacterPairMatcher matcher= createMatcher("()[]{}");
+		final ListenedDocument first= new ListenedDocument("(a)");
+		final ListenedDocument second= new ListenedDocument("(b)");
+		final int listenerCount= first.getListenerCount();
+
+		assertEquals(new Region(0, 3), matcher.match(first, 1));
+		// another document replaces the first one
+		assertEquals(new Region(0, 3), matcher.match(second, 1));
+		assertEquals(listenerCount, first.getListenerCount());
+
+		matcher.clear();
+		assertEquals(listenerCount, second.getListenerCount());
+
+		assertEquals(new Region(0, 3), matcher.match(first, 1));
+		matcher.dispose();
+		assertEquals(listenerCount, first.getListenerCount());
+	}
+
 	/* --- U t i l i t i e s --- */
 
+	private static class ListenedDocument extends Document {
+		ListenedDocument(String text) {
+			super(text);
+		}
+
+		int getListenerCount() {
+			return getDocumentListeners().size() + getDocumentPartitioningListeners().size();
+		}
+	}
+
+	private Document createPartitionedDocument(String text) {
+		final Document doc= new Document(text);
+		final IDocumentPartitioner part= createPartitioner();
+		part.connect(doc);
+		doc.setDocumentPartitioner(getDocumentPartitioning(), part);
+		return doc;
+	}
+
 	/**
 	 * Checks that the test case reader reads the test case as specified.
 	 *
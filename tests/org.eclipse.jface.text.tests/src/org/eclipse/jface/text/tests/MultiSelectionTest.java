@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat, Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -12,6 +12,7 @@ package org.eclipse.jface.text.tests;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -43,6 +44,7 @@ import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.MultiTextSelection;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextViewer;
+import org.eclipse.jface.text.TextViewerUndoManager;
 import org.eclipse.jface.text.tests.util.DisplayHelper;
 
 public class MultiSelectionTest {
@@ -163,6 +165,38 @@ public class MultiSelectionTest {
 			selection.getRegions());
 	}
 
+	@Test
+	public void testReplaceManyRanges() throws BadLocationException {
+		Shell shell= new Shell();
+		TextViewer textViewer= new TextViewer(shell, SWT.NONE);
+		String content= "ab\n".repeat(100);
+		Document document= new Document(content);
+		textViewer.setDocument(document);
+		TextViewerUndoManager undoManager= new TextViewerUndoManager(10);
+		textViewer.setUndoManager(undoManager);
+		undoManager.connect(textViewer);
+		List<Region> regions= new ArrayList<>();
+		for (int i= 0; i < 100; i++) {
+			regions.add(new Region(i * 3 + 1, 0));
+		}
+		MultiTextSelection selection= new MultiTextSelection(document, regions.toArray(new IRegion[regions.size()]));
+		textViewer.setSelection(selection);
+
+		new SelectionProcessor(textViewer).doReplace(selection, "x");
+		assertEquals("axb\n".repeat(100), document.get());
+		assertEquals(document.get(), textViewer.getTextWidget().getText());
+		IRegion[] carets= ((IMultiTextSelection) textViewer.getSelection()).getRegions();
+		assertEquals(100, carets.length);
+		assertEquals(new Region(2, 0), carets[0]);
+		assertEquals(new Region(99 * 4 + 2, 0), carets[99]);
+
+		// all carets are undone at once
+		undoManager.undo();
+		assertEquals(content, document.get());
+		assertFalse(undoManager.undoable());
+		undoManager.disconnect();
+	}
+
 	@Test
 	@Ignore(value = "this is currently for manual testing")
 	public void testViewer() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2024 SAP SE
+ * Copyright (c) 2024, 2026 SAP SE
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -89,6 +89,25 @@ public class TestWhitespaceCharacterPainter {
 		assertNotEquals(first.y, second.y); // y pos of first and second line should be different
 	}
 
+	@Test
+	public void onlyDamagedLinesDrawn() throws Exception {
+		StringBuilder source= new StringBuilder();
+		for (int i= 0; i < 100; i++) {
+			source.append("  line\n");
+		}
+		List<DrawStringParams> all= collectDrawStringParamsInPaintControl(source.toString(), List.of());
+		List<DrawStringParams> damaged= collectDrawStringParamsInPaintControl(source.toString(), List.of(), new Rectangle(0, 0, 100, 1));
+		assertEquals(2, damaged.size());
+		assertEquals(all.get(0), damaged.get(0));
+		assertEquals(all.get(1), damaged.get(1));
+	}
+
+	@Test
+	public void nothingDrawnOutsideClientArea() throws Exception {
+		List<DrawStringParams> params= collectDrawStringParamsInPaintControl("  \n  \n", List.of(), new Rectangle(0, 10000, 100, 100));
+		assertEquals(0, params.size());
+	}
+
 	@Test
 	public void glyphMetricsTakenIntoAccount() throws Exception {
 		verifyDrawStringCalledNTimes("first  \nsecond  \nthird  \n", Arrays.asList(6, 15), 5);
@@ -109,6 +128,7 @@ public class TestWhitespaceCharacterPainter {
 		sourceViewer.setDocument(new Document(str));
 		StyledText textWidget= sourceViewer.getTextWidget();
 		textWidget.setFont(JFaceResources.getTextFont());
+		shell.layout();
 		WhitespaceCharacterPainter whitespaceCharPainter= new WhitespaceCharacterPainter(sourceViewer, true, true, true, true, true, true, true,
 				true, true, true, true, 100);
 		sourceViewer.addPainter(whitespaceCharPainter);
@@ -163,10 +183,15 @@ public class TestWhitespaceCharacterPainter {
 	}
 
 	private List<DrawStringParams> collectDrawStringParamsInPaintControl(String source, List<Integer> styleRangeOffsets) {
+		return collectDrawStringParamsInPaintControl(source, styleRangeOffsets, new Rectangle(0, 0, 100, 100));
+	}
+
+	private List<DrawStringParams> collectDrawStringParamsInPaintControl(String source, List<Integer> styleRangeOffsets, Rectangle paintArea) {
 		SourceViewer sourceViewer= new SourceViewer(shell, null, SWT.V_SCROLL | SWT.BORDER);
 		sourceViewer.setDocument(new Document(source));
 		StyledText textWidget= sourceViewer.getTextWidget();
 		textWidget.setFont(JFaceResources.getTextFont());
+		shell.layout();
 		WhitespaceCharacterPainter whitespaceCharPainter= new WhitespaceCharacterPainter(sourceViewer, true, true, true, true, true, true, true,
 				true, true, true, true, 100);
 		sourceViewer.addPainter(whitespaceCharPainter);
@@ -220,10 +245,10 @@ public class TestWhitespaceCharacterPainter {
 				return null;
 			}
 		}).when(ev.gc).drawString(anyString(), anyInt(), anyInt(), anyBoolean());
-		ev.x= 0;
-		ev.y= 0;
-		ev.width= 100;
-		ev.height= 100;
+		ev.x= paintArea.x;
+		ev.y= paintArea.y;
+		ev.width= paintArea.width;
+		ev.height= paintArea.height;
 		whitespaceCharPainter.paintControl(ev);
 		return params;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Rüdiger Herrmann and others.
+ * Copyright (c) 2016, 2026 Rüdiger Herrmann and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jface.text.tests.source;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,6 +31,12 @@ public class LineNumberRulerColumnTest {
 
 	private Shell fParent;
 
+	private static class TestLineNumberRulerColumn extends LineNumberRulerColumn {
+		String getDisplayString(int line) {
+			return createDisplayString(line);
+		}
+	}
+
 	@Before
 	public void setUp() {
 		fParent= new Shell();
@@ -51,4 +60,16 @@ public class LineNumberRulerColumnTest {
 		lineNumberRulerColumn.redraw();
 	}
 
+	@Test
+	public void testDisplayStringsAreReused() {
+		TestLineNumberRulerColumn lineNumberRulerColumn= new TestLineNumberRulerColumn();
+		String displayString= lineNumberRulerColumn.getDisplayString(41);
+		assertEquals("42", displayString);
+		assertSame(displayString, lineNumberRulerColumn.getDisplayString(41));
+
+		for (int line= 0; line < 100000; line+= 64)
+			assertEquals(Integer.toString(line + 1), lineNumberRulerColumn.getDisplayString(line));
+		assertEquals("42", lineNumberRulerColumn.getDisplayString(41));
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2005 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.search.core.tests;
 
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
@@ -102,6 +103,82 @@ public class TestSearchResult {
 		assertSame("matches[1]", matches[1], match1);
 	}
 
+	@Test
+	public void testAddMatchesOutOfOrder() {
+		ISearchQuery query= new NullQuery();
+		AbstractTextSearchResult result= (AbstractTextSearchResult) query.getSearchResult();
+
+		String object= "object"; //$NON-NLS-1$
+
+		Match match1= new Match(object, 5, 1);
+		Match match2= new Match(object, 1, 1);
+		Match match3= new Match(object, 3, 2);
+		Match match4= new Match(object, 1, 1);
+		Match match5= new Match(object, 0, 3);
+		result.addMatches(new Match[] { match1, match2, match3 });
+		result.addMatch(match4);
+		result.addMatch(match5);
+		// already contained, in the middle of the matches
+		result.addMatch(match3);
+		result.addMatch(match2);
+
+		assertEquals(5, result.getMatchCount(object));
+		Match[] matches= result.getMatches(object);
+		assertSame(match5, matches[0]);
+		assertEquals(1, matches[1].getOffset());
+		assertEquals(1, matches[2].getOffset());
+		assertSame(match3, matches[3]);
+		assertSame(match1, matches[4]);
+	}
+
+	@Test
+	public void testMatchOffsetChanged() {
+		ISearchQuery query= new NullQuery();
+		AbstractTextSearchResult result= (AbstractTextSearchResult) query.getSearchResult();
+
+		String object= "object"; //$NON-NLS-1$
+
+		Match match1= new Match(object, 0, 1);
+		Match match2= new Match(object, 2, 1);
+		Match match3= new Match(object, 4, 1);
+		result.addMatches(new Match[] { match1, match2, match3 });
+
+		// e.g. moved by a position tracker
+		match1.setOffset(6);
+		assertArrayEquals(new Match[] { match2, match3, match1 }, result.getMatches(object));
+
+		match3.setOffset(1);
+		Match match4= new Match(object, 3, 1);
+		result.addMatch(match4);
+		assertArrayEquals(new Match[] { match3, match2, match4, match1 }, result.getMatches(object));
+
+		match2.setOffset(8);
+		result.removeMatch(match2);
+		assertArrayEquals(new Match[] { match3, match4, match1 }, result.getMatches(object));
+	}
+
+	@Test
+	public void testRemoveEqualMatch() {
+		ISearchQuery query= new NullQuery();
+		AbstractTextSearchResult result= (AbstractTextSearchResult) query.getSearchResult();
+
+		String object= "object"; //$NON-NLS-1$
+
+		Match match1= new Match(object, 1, 1);
+		Match match2= new Match(object, 1, 1);
+		Match match3= new Match(object, 2, 1);
+		result.addMatches(new Match[] { match1, match2, match3 });
+
+		// matches are identified by identity, not by element, offset and length
+		result.removeMatch(new Match(object, 1, 1));
+		assertEquals(3, result.getMatchCount(object));
+
+		result.removeMatch(match2);
+		assertArrayEquals(new Match[] { match1, match3 }, result.getMatches(object));
+		result.removeMatch(match1);
+		assertArrayEquals(new Match[] { match3 }, result.getMatches(object));
+	}
+
 	@Test
 	public void testAddMatches() {
 		ISearchQuery query= new NullQuery();
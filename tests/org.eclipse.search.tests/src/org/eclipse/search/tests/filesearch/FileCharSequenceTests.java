@@ -36,6 +36,8 @@ public class FileCharSequenceTests {
 
 	private static final String TEST_CONTENT= "ABCDEFGHIJKLMNOPQRSTUVWXYZÜöäüèéùabcdefghijklmnopqrstuvwxyz1234567890@\'\"\n$¢"; //€
 
+	private static final String TEST_ASCII_CONTENT= "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz1234567890@\'\"\n$\t";
+
 	private IProject fProject;
 
 	@Before
@@ -75,6 +77,25 @@ public class FileCharSequenceTests {
 		testForEncoding(buf, StandardCharsets.UTF_16.name());
 	}
 
+	@Test
+	public void testAsciiFileCharSequence() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		while (buf.length() < FileCharSequenceProvider.BUFFER_SIZE * 4) {
+			buf.append(TEST_ASCII_CONTENT);
+		}
+		testForEncoding(buf, StandardCharsets.UTF_8.name());
+		testForEncoding(buf, StandardCharsets.US_ASCII.name());
+	}
+
+	@Test
+	public void testLatin1FileCharSequence() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		while (buf.length() < FileCharSequenceProvider.BUFFER_SIZE * 4) {
+			buf.append(TEST_CONTENT);
+		}
+		testForEncoding(buf, StandardCharsets.ISO_8859_1.name());
+	}
+
 	private void testForEncoding(CharSequence buf, String encoding) throws CoreException, IOException {
 		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
 		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString(), encoding);
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.MultiStringMatcher.Match;
+
+import org.eclipse.search.internal.core.text.LiteralMatcher;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+
+public class LiteralMatcherTest {
+
+	private static final String TEXT= "Hello World, hello world. HelloHello\n" //$NON-NLS-1$
+			+ "a.b a*b a\\b aab abab ababab über ĀȀ ̀x\n"; //$NON-NLS-1$
+
+	@Test
+	public void testLiteralPatterns() {
+		assertSameMatches(PatternConstructor.createPattern("Hello", true, false)); //$NON-NLS-1$
+		assertSameMatches(PatternConstructor.createPattern("a.b", true, false)); //$NON-NLS-1$
+		assertSameMatches(PatternConstructor.createPattern("a\\b", true, false)); //$NON-NLS-1$
+		assertSameMatches(PatternConstructor.createPattern("abab", true, false)); //$NON-NLS-1$
+		assertSameMatches(PatternConstructor.createPattern("Ȁ ̀", true, false)); //$NON-NLS-1$
+		assertSameMatches(PatternConstructor.createPattern("Hello", true, false, true, false)); //$NON-NLS-1$
+		assertSameMatches(PatternConstructor.createPattern("a\\*b", true, true, true, false)); //$NON-NLS-1$
+		assertSameMatches(PatternConstructor.createPattern("world|Hello", true, true)); //$NON-NLS-1$
+		assertSameMatches(PatternConstructor.createPattern("a\\.b|aab|über", true, true)); //$NON-NLS-1$
+		assertSameMatches(Pattern.compile("a*b", Pattern.LITERAL)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testNonLiteralPatterns() {
+		assertNull(LiteralMatcher.create(PatternConstructor.createPattern("Hello", false, false))); //$NON-NLS-1$
+		assertNull(LiteralMatcher.create(PatternConstructor.createPattern("Hello", false, false, true, true))); //$NON-NLS-1$
+		assertNull(LiteralMatcher.create(PatternConstructor.createPattern("a*b", true, false))); //$NON-NLS-1$
+		assertNull(LiteralMatcher.create(PatternConstructor.createPattern("a.b", true, true))); //$NON-NLS-1$
+		assertNull(LiteralMatcher.create(PatternConstructor.createPattern("\\bHello", true, true))); //$NON-NLS-1$
+		assertNull(LiteralMatcher.create(PatternConstructor.createPattern("a|", true, true))); //$NON-NLS-1$
+		// a regex takes the first alternative, not the longest one
+		assertNull(LiteralMatcher.create(PatternConstructor.createPattern("ab|abab", true, true))); //$NON-NLS-1$
+	}
+
+	private static void assertSameMatches(Pattern pattern) {
+		LiteralMatcher literalMatcher= LiteralMatcher.create(pattern);
+		assertNotNull(pattern.pattern(), literalMatcher);
+
+		List<String> expected= new ArrayList<>();
+		Matcher matcher= pattern.matcher(TEXT);
+		while (matcher.find()) {
+			expected.add(matcher.start() + ":" + matcher.end()); //$NON-NLS-1$
+		}
+		List<String> actual= new ArrayList<>();
+		int offset= 0;
+		Match match;
+		while ((match= literalMatcher.indexOf(TEXT, offset)) != null) {
+			int end= match.getOffset() + match.getText().length();
+			actual.add(match.getOffset() + ":" + end); //$NON-NLS-1$
+			offset= end;
+		}
+		assertEquals(pattern.pattern(), expected, actual);
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.TextSearchResultCache;
+import org.eclipse.search.internal.core.text.TextSearchResultCache.FileMatches;
+import org.eclipse.search.internal.core.text.TextSearchResultCache.QueryResult;
+import org.eclipse.search.internal.ui.text.FileMatch;
+import org.eclipse.search.internal.ui.text.FileSearchQuery;
+import org.eclipse.search.tests.ResourceHelper;
+import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.search.ui.text.AbstractTextSearchResult;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+import org.eclipse.search.ui.text.Match;
+
+public class TextSearchResultCacheTest {
+
+	private static final String PROJECT_NAME= "CachedSearchProject";
+
+	private IProject fProject;
+	private IFile fFile1;
+	private IFile fFile2;
+
+	@Before
+	public void setUp() throws Exception {
+		SearchCorePlugin.getDefault().getTextSearchResultCache().clear();
+		fProject= ResourceHelper.createProject(PROJECT_NAME);
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder"));
+		fFile1= ResourceHelper.createFile(folder, "file1.txt", "hello\nworld hello\n");
+		fFile2= ResourceHelper.createFile(folder, "file2.txt", "no match here\n");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject(PROJECT_NAME);
+		SearchCorePlugin.getDefault().getTextSearchResultCache().clear();
+	}
+
+	@Test
+	public void testRepeatedSearch() throws Exception {
+		FileSearchQuery query= createQuery();
+		AbstractTextSearchResult first= runQuery(query);
+		QueryResult queryResult= SearchCorePlugin.getDefault().getTextSearchResultCache().getQueryResult(query.getResultCacheKey());
+		FileMatches cached= queryResult.get(fFile1);
+		assertNotNull(cached);
+
+		AbstractTextSearchResult second= runQuery(createQuery());
+		assertEquals(2, first.getMatchCount());
+		assertSameMatches(first, second, fFile1);
+		assertEquals(0, second.getMatchCount(fFile2));
+		// the file has not been searched again
+		assertSame(cached, queryResult.get(fFile1));
+	}
+
+	@Test
+	public void testChangedFileCharset() throws Exception {
+		runQuery();
+		fFile1.setCharset("UTF-16", null);
+
+		AbstractTextSearchResult result= runQuery();
+		assertEquals(0, result.getMatchCount());
+	}
+
+	@Test
+	public void testChangedDefaultCharset() throws Exception {
+		runQuery();
+		fProject.setDefaultCharset("UTF-16", null);
+
+		AbstractTextSearchResult result= runQuery();
+		assertEquals(0, result.getMatchCount());
+	}
+
+	@Test
+	public void testCharsetOfCachedMatches() throws Exception {
+		QueryResult queryResult= new TextSearchResultCache().getQueryResult("key");
+		queryResult.put(fFile1, new FileMatches(fFile1.getModificationStamp(), fFile1.getCharset()));
+		assertNotNull(queryResult.get(fFile1));
+
+		queryResult.put(fFile1, new FileMatches(fFile1.getModificationStamp(), "UTF-16"));
+		assertNull(queryResult.get(fFile1));
+	}
+
+	@Test
+	public void testModifiedFile() throws Exception {
+		runQuery();
+		fFile2.setContents(new ByteArrayInputStream("hello again\n".getBytes("ISO-8859-1")), true, false, null);
+
+		AbstractTextSearchResult result= runQuery();
+		assertEquals(3, result.getMatchCount());
+		Match[] matches= result.getMatches(fFile2);
+		assertEquals(1, matches.length);
+		assertEquals(0, matches[0].getOffset());
+		assertEquals("hello again ", ((FileMatch) matches[0]).getLineElement().getContents());
+	}
+
+	@Test
+	public void testRemovedFile() throws Exception {
+		runQuery();
+		ResourceHelper.delete(fFile1);
+
+		AbstractTextSearchResult result= runQuery();
+		assertEquals(0, result.getMatchCount());
+	}
+
+	@Test
+	public void testOutOfSyncFile() throws Exception {
+		QueryResult queryResult= new TextSearchResultCache().getQueryResult("key");
+		queryResult.put(fFile1, new FileMatches(fFile1.getModificationStamp(), fFile1.getCharset()));
+		assertNotNull(queryResult.get(fFile1));
+
+		File file= fFile1.getLocation().toFile();
+		Files.writeString(file.toPath(), "changed on disk\n");
+		file.setLastModified(file.lastModified() + 10000);
+
+		assertNull(queryResult.get(fFile1));
+		queryResult.put(fFile1, new FileMatches(fFile1.getModificationStamp(), fFile1.getCharset()));
+		assertNull(queryResult.get(fFile1));
+	}
+
+	@Test
+	public void testFileWithoutModificationStamp() throws Exception {
+		QueryResult queryResult= new TextSearchResultCache().getQueryResult("key");
+		IFile missingFile= fProject.getFile("missing.txt");
+		queryResult.put(missingFile, new FileMatches(missingFile.getModificationStamp(), "UTF-8"));
+		assertNull(queryResult.get(missingFile));
+	}
+
+	private AbstractTextSearchResult runQuery() {
+		return runQuery(createQuery());
+	}
+
+	private FileSearchQuery createQuery() {
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, new String[] { "*.txt" }, false);
+		return new FileSearchQuery("hello", false, true, scope);
+	}
+
+	private static AbstractTextSearchResult runQuery(FileSearchQuery query) {
+		NewSearchUI.runQueryInForeground(null, query);
+		return (AbstractTextSearchResult) query.getSearchResult();
+	}
+
+	private static void assertSameMatches(AbstractTextSearchResult expected, AbstractTextSearchResult actual, IFile file) {
+		Match[] expectedMatches= expected.getMatches(file);
+		Match[] actualMatches= actual.getMatches(file);
+		assertEquals(expectedMatches.length, actualMatches.length);
+		for (int i= 0; i < expectedMatches.length; i++) {
+			FileMatch expectedMatch= (FileMatch) expectedMatches[i];
+			FileMatch actualMatch= (FileMatch) actualMatches[i];
+			assertEquals(expectedMatch.getOffset(), actualMatch.getOffset());
+			assertEquals(expectedMatch.getLength(), actualMatch.getLength());
+			assertEquals(expectedMatch.getLineElement().getLine(), actualMatch.getLineElement().getLine());
+			assertEquals(expectedMatch.getLineElement().getOffset(), actualMatch.getLineElement().getOffset());
+			assertEquals(expectedMatch.getLineElement().getContents(), actualMatch.getLineElement().getContents());
+		}
+	}
+}
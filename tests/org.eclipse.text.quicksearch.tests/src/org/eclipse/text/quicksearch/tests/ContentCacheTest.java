@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.text.quicksearch.internal.core.ContentCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class ContentCacheTest {
+
+	private IProject project;
+	private IFile file;
+	private ContentCache cache;
+
+	@Before
+	public void setUp() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName() + System.currentTimeMillis());
+		project.create(null);
+		project.open(null);
+		file = project.getFile("file.txt");
+		file.create(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)), true, null);
+		cache = new ContentCache(true, 1 << 20);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(cache, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(cache);
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testHitAndMiss() throws Exception {
+		assertNull(cache.get(file));
+		cache.put(file, file.getModificationStamp(), file.getCharset(), "content");
+		assertEquals("content", cache.get(file));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getFileCount());
+	}
+
+	@Test
+	public void testChangedFile() throws Exception {
+		cache.put(file, file.getModificationStamp(), file.getCharset(), "content");
+		file.setContents(new ByteArrayInputStream("changed".getBytes(StandardCharsets.UTF_8)), true, false, null);
+		assertEquals(0, cache.getFileCount());
+		assertNull(cache.get(file));
+	}
+
+	@Test
+	public void testStaleStamp() throws Exception {
+		cache.put(file, file.getModificationStamp() - 1, file.getCharset(), "old content");
+		assertNull(cache.get(file));
+		assertEquals(0, cache.getFileCount());
+	}
+
+	@Test
+	public void testClosedProject() throws Exception {
+		cache.put(file, file.getModificationStamp(), file.getCharset(), "content");
+		project.close(null);
+		assertEquals(0, cache.getFileCount());
+	}
+
+	@Test
+	public void testCapacity() throws Exception {
+		IFile other = project.getFile("other.txt");
+		other.create(new ByteArrayInputStream("other".getBytes(StandardCharsets.UTF_8)), true, null);
+		cache.configure(true, 2000);
+		cache.put(file, file.getModificationStamp(), file.getCharset(), "x".repeat(1000));
+		cache.put(other, other.getModificationStamp(), other.getCharset(), "y".repeat(1000));
+		// the least recently used file is dropped
+		assertEquals(1, cache.getFileCount());
+		assertNull(cache.get(file));
+		assertEquals("y".repeat(1000), cache.get(other));
+
+		cache.configure(false, 2000);
+		assertEquals(0, cache.getFileCount());
+		assertNull(cache.get(other));
+	}
+}
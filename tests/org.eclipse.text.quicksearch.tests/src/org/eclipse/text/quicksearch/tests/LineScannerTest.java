@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.text.quicksearch.internal.util.LineReader;
+import org.eclipse.text.quicksearch.internal.util.LineScanner;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class LineScannerTest {
+
+	private static final String TEXT = "first line\r\nSecond LINE\rthird line\n\nline five été\r\n last";
+
+	@Test
+	public void sameLinesAsLineReader() throws Exception {
+		for (int bufferSize : new int[] { 4, 7, 64, LineScanner.DEFAULT_BUFFER_SIZE }) {
+			assertSameLines(Pattern.compile(Pattern.quote("line")), null, bufferSize, StandardCharsets.UTF_8);
+			assertSameLines(Pattern.compile(Pattern.quote("line"), Pattern.CASE_INSENSITIVE), null, bufferSize, StandardCharsets.UTF_16);
+			assertSameLines(Pattern.compile("^.*e$"), null, bufferSize, StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	public void literalMatchesLikePattern() throws Exception {
+		for (int bufferSize : new int[] { 4, 64 }) {
+			assertSameLines(Pattern.compile(Pattern.quote("line")), "line", bufferSize, StandardCharsets.UTF_8);
+			assertSameLines(Pattern.compile(Pattern.quote("LINE"), Pattern.CASE_INSENSITIVE), "LINE", bufferSize, StandardCharsets.UTF_8);
+			assertSameLines(Pattern.compile(Pattern.quote("ÉTÉ"), Pattern.CASE_INSENSITIVE), "ÉTÉ", bufferSize, StandardCharsets.UTF_8);
+			assertSameLines(Pattern.compile(Pattern.quote("été")), "été", bufferSize, StandardCharsets.ISO_8859_1);
+		}
+	}
+
+	@Test
+	public void stopsAtLongLine() throws Exception {
+		String text = "a\n" + "a".repeat(50) + "\na\n";
+		List<String> lines = scan(new LineScanner(20, 8), Pattern.compile("a"), null, text, StandardCharsets.UTF_8);
+		assertEquals(List.of("1:0:a"), lines);
+	}
+
+	@Test
+	public void canceled() throws Exception {
+		LineScanner scanner = new LineScanner(1000);
+		scanner.setPattern(Pattern.compile("line"), null);
+		byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		assertFalse(scanner.scan(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8, () -> true,
+				(line, lineNumber, lineOffset) -> {
+					throw new AssertionError();
+				}));
+	}
+
+	private static void assertSameLines(Pattern pattern, String literal, int bufferSize, Charset charset) throws Exception {
+		List<String> expected = new ArrayList<>();
+		try (LineReader reader = new LineReader(new InputStreamReader(new ByteArrayInputStream(TEXT.getBytes(charset)), charset))) {
+			String line;
+			int lineNumber = 1;
+			while ((line = reader.readLine()) != null) {
+				if (pattern.matcher(line).find()) {
+					expected.add(lineNumber + ":" + reader.getLastLineOffset() + ":" + line);
+				}
+				lineNumber++;
+			}
+		}
+		LineScanner scanner = new LineScanner(LineReader.DEFAULT_MAX_LINE_LENGTH, bufferSize);
+		// the buffers are reused for the next file
+		assertEquals(expected, scan(scanner, pattern, literal, TEXT, charset));
+		assertEquals(expected, scan(scanner, pattern, literal, TEXT, charset));
+		// cached content is scanned without decoding
+		List<String> lines = new ArrayList<>();
+		scanner.scan(new String(TEXT.getBytes(charset), charset), () -> false,
+				(line, lineNumber, lineOffset) -> lines.add(lineNumber + ":" + lineOffset + ":" + line));
+		assertEquals(expected, lines);
+	}
+
+	private static List<String> scan(LineScanner scanner, Pattern pattern, String literal, String text, Charset charset) throws Exception {
+		List<String> lines = new ArrayList<>();
+		scanner.setPattern(pattern, literal);
+		scanner.scan(Channels.newChannel(new ByteArrayInputStream(text.getBytes(charset))), charset, () -> false,
+				(line, lineNumber, lineOffset) -> lines.add(lineNumber + ":" + lineOffset + ":" + line));
+		return lines;
+	}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.text.quicksearch.internal.core.LineItem;
+import org.eclipse.text.quicksearch.internal.core.QuickTextSearchRequestor;
+import org.eclipse.text.quicksearch.internal.core.RankedMatches;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class RankedMatchesTest {
+
+	private IProject project;
+	private final List<String> events = new ArrayList<>();
+	private RankedMatches matches;
+
+	@Before
+	public void setUp() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName() + System.currentTimeMillis());
+		project.create(null);
+		project.open(null);
+		matches = new RankedMatches(3, new QuickTextSearchRequestor() {
+			@Override
+			public void add(LineItem match) {
+				events.add("add " + match);
+			}
+
+			@Override
+			public void revoke(LineItem line) {
+				events.add("revoke " + line);
+			}
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testRankOrder() {
+		LineItem low = item("a.txt", 2, 0);
+		LineItem high = item("b.txt", 7, 100);
+		LineItem first = item("a.txt", 1, 0);
+		assertTrue(matches.add(low));
+		assertTrue(matches.add(high));
+		assertTrue(matches.add(first));
+		assertEquals(List.of(high, first, low), matches.toList());
+	}
+
+	@Test
+	public void testBetterMatchReplacesWeakest() {
+		LineItem weakest = item("c.txt", 1, 0);
+		matches.add(item("a.txt", 1, 0));
+		matches.add(item("b.txt", 1, 0));
+		matches.add(weakest);
+		events.clear();
+
+		assertFalse(matches.add(item("d.txt", 1, 0)));
+		assertTrue(events.isEmpty());
+
+		LineItem better = item("e.txt", 1, 50);
+		assertTrue(matches.add(better));
+		assertEquals(List.of("revoke " + weakest, "add " + better), events);
+		assertEquals(3, matches.size());
+		assertEquals(better, matches.toList().get(0));
+	}
+
+	@Test
+	public void testCompetitive() {
+		assertTrue(matches.isCompetitive(-1));
+		matches.add(item("a.txt", 1, 10));
+		matches.add(item("a.txt", 2, 10));
+		matches.add(item("b.txt", 1, 0));
+		assertFalse(matches.isCompetitive(-1));
+		assertFalse(matches.isCompetitive(0));
+		assertTrue(matches.isCompetitive(1));
+
+		matches.remove(item("b.txt", 1, 0));
+		assertTrue(matches.isCompetitive(-1));
+	}
+
+	@Test
+	public void testDuplicateLine() {
+		assertTrue(matches.add(item("a.txt", 1, 0)));
+		assertFalse(matches.add(item("a.txt", 1, 10)));
+		assertEquals(1, matches.size());
+	}
+
+	private LineItem item(String name, int lineNumber, double priority) {
+		IFile file = project.getFile(name);
+		return new LineItem(file, "line " + lineNumber, lineNumber, 0, priority);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,7 @@ import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentInformationMappingExtension;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISlaveDocumentManager;
@@ -2652,4 +2653,30 @@ public class ProjectionDocumentTest {
 			assertTrue(false);
 		}
 	}
+
+	@Test
+	public void test30() {
+		// test that the image length follows projection and content changes
+
+		IDocumentInformationMappingExtension mapping= (IDocumentInformationMappingExtension) fSlaveDocument.getDocumentInformationMapping();
+		createIdenticalProjection();
+		try {
+			Assert.assertEquals(fMasterDocument.getLength(), mapping.getImageLength());
+
+			fSlaveDocument.removeMasterDocumentRange(20, 40);
+			Assert.assertEquals(fSlaveDocument.getLength(), mapping.getImageLength());
+			Assert.assertEquals(fMasterDocument.getLength() - 40, mapping.getImageLength());
+
+			fMasterDocument.replace(0, 0, "x");
+			fSlaveDocument.replace(fSlaveDocument.getLength(), 0, "yz");
+			Assert.assertEquals(fSlaveDocument.getLength(), mapping.getImageLength());
+			Assert.assertEquals(fMasterDocument.getLength() - 40, mapping.getImageLength());
+
+			fSlaveDocument.addMasterDocumentRange(21, 40);
+			Assert.assertEquals(fMasterDocument.getLength(), mapping.getImageLength());
+			Assert.assertEquals(fMasterDocument.get(), fSlaveDocument.get());
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+	}
 }
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests.templates;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.text.templates.TemplatePersistenceData;
+import org.eclipse.text.templates.TemplateStoreCore;
+
+import org.eclipse.jface.text.templates.Template;
+
+public class TemplateStoreCoreTest {
+
+	private static final int TEMPLATE_COUNT= 1000;
+
+	private TemplateStoreCore fStore;
+
+	private static class TestTemplateStore extends TemplateStoreCore {
+		TestTemplateStore() {
+			super(null, "templates");
+		}
+
+		void contribute(TemplatePersistenceData data) {
+			internalAdd(data);
+		}
+
+		void removeAll() {
+			internalGetTemplates().clear();
+		}
+	}
+
+	@Before
+	public void setUp() {
+		TestTemplateStore store= new TestTemplateStore();
+		for (int i= 0; i < TEMPLATE_COUNT; i++)
+			store.contribute(new TemplatePersistenceData(createTemplate(i), true, "id" + i));
+		fStore= store;
+	}
+
+	private static Template createTemplate(int i) {
+		return new Template("name" + i, "", "context" + i % 10, "pattern " + i, true);
+	}
+
+	@Test
+	public void testGetTemplates() {
+		assertEquals(TEMPLATE_COUNT, fStore.getTemplates().length);
+		Template[] templates= fStore.getTemplates("context3");
+		assertEquals(TEMPLATE_COUNT / 10, templates.length);
+		for (int i= 0; i < templates.length; i++)
+			assertEquals("name" + (i * 10 + 3), templates[i].getName());
+		assertEquals(0, fStore.getTemplates("unknown").length);
+	}
+
+	@Test
+	public void testFindTemplate() {
+		assertEquals("pattern 42", fStore.findTemplate("name42").getPattern());
+		assertEquals("pattern 42", fStore.findTemplate("name42", "context2").getPattern());
+		assertNull(fStore.findTemplate("name42", "context3"));
+		assertNull(fStore.findTemplate("unknown"));
+		assertEquals("pattern 42", fStore.findTemplateById("id42").getPattern());
+		assertNull(fStore.findTemplateById("unknown"));
+	}
+
+	@Test
+	public void testDuplicateIds() {
+		((TestTemplateStore) fStore).contribute(new TemplatePersistenceData(new Template("other", "", "context1", "", true), true, "id1"));
+		assertEquals(TEMPLATE_COUNT, fStore.getTemplates().length);
+		assertEquals("name1", fStore.findTemplateById("id1").getName());
+		assertNull(fStore.findTemplate("other"));
+	}
+
+	@Test
+	public void testAddUserTemplates() {
+		fStore.getTemplates("context1");
+		Template template= new Template("user", "", "context1", "user pattern", true);
+		fStore.add(new TemplatePersistenceData(template, true));
+		Template[] templates= fStore.getTemplates("context1");
+		assertEquals(TEMPLATE_COUNT / 10 + 1, templates.length);
+		assertSame(template, templates[templates.length - 1]);
+		assertSame(template, fStore.findTemplate("user", "context1"));
+	}
+
+	@Test
+	public void testAddCustomizedTemplate() {
+		fStore.getTemplates("context1");
+		Template template= new Template("customized", "", "context1", "customized pattern", true);
+		fStore.add(new TemplatePersistenceData(template, true, "id2"));
+		assertEquals(TEMPLATE_COUNT, fStore.getTemplates().length);
+		assertSame(template, fStore.findTemplateById("id2"));
+		assertSame(template, fStore.findTemplate("customized", "context1"));
+		assertNull(fStore.findTemplate("name2"));
+		assertEquals(TEMPLATE_COUNT / 10 - 1, fStore.getTemplates("context2").length);
+		assertEquals(TEMPLATE_COUNT / 10 + 1, fStore.getTemplates("context1").length);
+	}
+
+	@Test
+	public void testChangeTemplate() {
+		assertEquals(TEMPLATE_COUNT / 10, fStore.getTemplates("context5").length);
+		TemplatePersistenceData data= fStore.getTemplateData("id5");
+		Template template= new Template("renamed", "", "context6", "", true);
+		data.setTemplate(template);
+		assertEquals(TEMPLATE_COUNT / 10 - 1, fStore.getTemplates("context5").length);
+		assertEquals(TEMPLATE_COUNT / 10 + 1, fStore.getTemplates("context6").length);
+		assertNull(fStore.findTemplate("name5"));
+		assertSame(template, fStore.findTemplate("renamed", "context6"));
+
+		data.revert();
+		assertEquals(TEMPLATE_COUNT / 10, fStore.getTemplates("context5").length);
+		assertEquals("pattern 5", fStore.findTemplate("name5", "context5").getPattern());
+	}
+
+	@Test
+	public void testDeleteAndDisable() {
+		TemplatePersistenceData data= fStore.getTemplateData("id7");
+		fStore.delete(data);
+		assertNull(fStore.findTemplate("name7"));
+		assertNull(fStore.findTemplateById("id7"));
+		assertEquals(TEMPLATE_COUNT / 10 - 1, fStore.getTemplates("context7").length);
+		fStore.restoreDeleted();
+		assertEquals("pattern 7", fStore.findTemplate("name7").getPattern());
+
+		fStore.getTemplateData("id8").setEnabled(false);
+		assertNull(fStore.findTemplate("name8"));
+		assertEquals(TEMPLATE_COUNT / 10 - 1, fStore.getTemplates("context8").length);
+		assertEquals(TEMPLATE_COUNT - 1, fStore.getTemplates().length);
+	}
+
+	@Test
+	public void testModifyTemplateList() {
+		Template template= new Template("user", "", "context1", "", true);
+		TemplatePersistenceData data= new TemplatePersistenceData(template, true);
+		fStore.add(data);
+		assertSame(template, fStore.findTemplate("user"));
+		fStore.delete(data);
+		assertNull(fStore.findTemplate("user"));
+
+		((TestTemplateStore) fStore).removeAll();
+		assertArrayEquals(new Template[0], fStore.getTemplates());
+		assertNull(fStore.getTemplateData("id1"));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,9 @@ package org.eclipse.text.tests.templates;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -369,4 +371,41 @@ public class TemplateTranslatorTest {
 		fTranslator.translate("foo ${var:type((} bar");
 	}
 
+	@Test
+	public void testTranslateTwice() throws Exception {
+		String pattern= "foo ${var:type(a)} bar ${var} ${other}";
+		TemplateBuffer first= fTranslator.translate(pattern);
+		first.getVariables()[0].getOffsets()[0]= 42;
+		first.getVariables()[0].setValue("changed");
+
+		TemplateBuffer second= new TemplateTranslator().translate(pattern);
+		assertEquals("foo var bar var other", second.getString());
+		TemplateVariable[] vars= second.getVariables();
+		assertEquals(2, vars.length);
+		assertNotSame(first.getVariables()[0], vars[0]);
+		assertEquals("var", vars[0].getName());
+		assertEquals("type", vars[0].getType());
+		assertEquals(Collections.singletonList("a"), vars[0].getVariableType().getParams());
+		assertEquals(2, vars[0].getOffsets().length);
+		assertEquals(4, vars[0].getOffsets()[0]);
+		assertEquals(12, vars[0].getOffsets()[1]);
+		assertEquals("var", vars[0].getDefaultValue());
+		assertEquals("other", vars[1].getName());
+		assertEquals(16, vars[1].getOffsets()[0]);
+	}
+
+	@Test
+	public void testIllegalSyntaxTwice() throws Exception {
+		for (int i= 0; i < 2; i++) {
+			try {
+				fTranslator.translate("foo ${var:a} ${var:b}");
+				fail();
+			} catch (TemplateException e) {
+				assertEquals(e.getMessage(), fTranslator.getErrorMessage());
+			}
+			TemplateBuffer buffer= fTranslator.translate("foo");
+			assertEquals("foo", buffer.getString());
+			assertNull(fTranslator.getErrorMessage());
+		}
+	}
 }
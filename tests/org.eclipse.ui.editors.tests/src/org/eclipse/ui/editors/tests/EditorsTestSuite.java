@@ -1,5 +1,5 @@
 /************************************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ import org.eclipse.ui.internal.texteditor.stickyscroll.StickyScrollingHandlerTes
 		GotoLineTest.class,
 		SegmentedModeTest.class,
 		MarkerAnnotationOrderTest.class,
+		ResourceMarkerAnnotationModelTest.class,
 		ZoomTest.class,
 		FileDocumentProviderTest.class,
 		TextFileDocumentProviderTest.class,
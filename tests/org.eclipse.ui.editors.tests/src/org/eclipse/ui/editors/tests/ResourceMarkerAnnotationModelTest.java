@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.editors.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.tests.ResourceHelper;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+
+import org.eclipse.ui.texteditor.MarkerAnnotation;
+import org.eclipse.ui.texteditor.ResourceMarkerAnnotationModel;
+
+public class ResourceMarkerAnnotationModelTest {
+
+	private static final int MARKER_COUNT= 200;
+
+	private IFile fFile;
+	private IDocument fDocument;
+	private ResourceMarkerAnnotationModel fModel;
+
+	@Before
+	public void setUp() throws Exception {
+		IFolder folder= ResourceHelper.createFolder("ResourceMarkerAnnotationModelTestProject/test");
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < MARKER_COUNT; i++)
+			content.append("line ").append(i).append('\n');
+		fFile= ResourceHelper.createFile(folder, "file.txt", content.toString());
+		fDocument= new Document(content.toString());
+		fModel= new ResourceMarkerAnnotationModel(fFile);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fModel.disconnect(fDocument);
+		ResourceHelper.deleteProject(fFile.getProject().getName());
+		TestUtil.cleanUp();
+	}
+
+	@Test
+	public void testCatchupWithExistingMarkers() throws Exception {
+		List<IMarker> markers= createMarkers();
+		fModel.connect(fDocument);
+
+		assertEquals(MARKER_COUNT, countMarkerAnnotations());
+		for (IMarker marker : markers)
+			assertAnnotationAtMarker(marker);
+	}
+
+	@Test
+	public void testBatchedAddChangeAndRemove() throws Exception {
+		fModel.connect(fDocument);
+		List<IMarker> markers= createMarkers();
+
+		assertEquals(MARKER_COUNT, countMarkerAnnotations());
+		for (IMarker marker : markers)
+			assertAnnotationAtMarker(marker);
+
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			for (int i= 0; i < markers.size(); i+= 2) {
+				IMarker marker= markers.get(i);
+				marker.setAttribute(IMarker.CHAR_END, marker.getAttribute(IMarker.CHAR_START, 0) + 2);
+			}
+		}, null);
+
+		for (IMarker marker : markers)
+			assertAnnotationAtMarker(marker);
+
+		List<IMarker> deleted= new ArrayList<>();
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			for (int i= 1; i < markers.size(); i+= 2) {
+				IMarker marker= markers.get(i);
+				marker.delete();
+				deleted.add(marker);
+			}
+		}, null);
+
+		assertEquals(MARKER_COUNT / 2, countMarkerAnnotations());
+		for (IMarker marker : markers) {
+			if (deleted.contains(marker))
+				assertNull(fModel.getMarkerAnnotation(marker));
+			else
+				assertAnnotationAtMarker(marker);
+		}
+	}
+
+	private List<IMarker> createMarkers() throws CoreException, BadLocationException {
+		int[] offsets= new int[MARKER_COUNT];
+		for (int i= 0; i < MARKER_COUNT; i++)
+			offsets[i]= fDocument.getLineOffset(i);
+		List<IMarker> markers= new ArrayList<>();
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			// create the markers in reverse order of their offsets
+			for (int i= MARKER_COUNT - 1; i >= 0; i--) {
+				int offset= offsets[i];
+				IMarker marker= fFile.createMarker(IMarker.PROBLEM);
+				marker.setAttribute(IMarker.CHAR_START, offset);
+				marker.setAttribute(IMarker.CHAR_END, offset + 4);
+				markers.add(marker);
+			}
+		}, null);
+		return markers;
+	}
+
+	private int countMarkerAnnotations() {
+		int count= 0;
+		for (Iterator<Annotation> e= fModel.getAnnotationIterator(); e.hasNext();) {
+			if (e.next() instanceof MarkerAnnotation)
+				count++;
+		}
+		return count;
+	}
+
+	private void assertAnnotationAtMarker(IMarker marker) {
+		MarkerAnnotation annotation= fModel.getMarkerAnnotation(marker);
+		assertNotNull(annotation);
+		assertEquals(marker, annotation.getMarker());
+		int start= marker.getAttribute(IMarker.CHAR_START, -1);
+		int end= marker.getAttribute(IMarker.CHAR_END, -1);
+		assertEquals(new Position(start, end - start), fModel.getPosition(annotation));
+	}
+}
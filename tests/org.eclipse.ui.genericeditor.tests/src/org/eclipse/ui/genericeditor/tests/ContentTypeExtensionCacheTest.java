@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.genericeditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.content.IContentType;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.text.presentation.IPresentationReconciler;
+import org.eclipse.jface.text.source.ISourceViewer;
+
+import org.eclipse.ui.genericeditor.tests.contributions.EnabledPropertyTester;
+import org.eclipse.ui.internal.genericeditor.ContentTypeExtensionCache;
+import org.eclipse.ui.internal.genericeditor.ContentTypeSpecializationComparator;
+import org.eclipse.ui.internal.genericeditor.GenericContentTypeRelatedExtension;
+import org.eclipse.ui.internal.genericeditor.QuickAssistProcessorRegistry;
+
+public class ContentTypeExtensionCacheTest extends AbstratGenericEditorTest {
+
+	private static final String PRESENTATION_RECONCILERS = "org.eclipse.ui.genericeditor.presentationReconcilers";
+
+	private ContentTypeExtensionCache<IPresentationReconciler> cache;
+	private List<GenericContentTypeRelatedExtension<IPresentationReconciler>> extensions;
+
+	@Before
+	public void createCache() throws Exception {
+		cache = new ContentTypeExtensionCache<>("test", new ContentTypeSpecializationComparator<>());
+		extensions = new ArrayList<>();
+		for (IConfigurationElement element : Platform.getExtensionRegistry().getConfigurationElementsFor(PRESENTATION_RECONCILERS)) {
+			extensions.add(new GenericContentTypeRelatedExtension<>(element));
+		}
+	}
+
+	@After
+	public void disposeCache() {
+		cache.dispose();
+		EnabledPropertyTester.setEnabled(false);
+	}
+
+	@Test
+	public void testSameResultAsUncachedLookup() {
+		Set<IContentType> fooContentTypes = Set.of(getContentType("org.eclipse.core.runtime.text"),
+				getContentType("org.eclipse.ui.genericeditor.tests.content-type"),
+				getContentType("org.eclipse.ui.genericeditor.tests.specialized-content-type"),
+				getContentType("org.eclipse.ui.genericeditor.tests.sub-specialized-content-type"));
+		Set<IContentType> enabledWhenContentTypes = Set.of(getContentType("org.eclipse.core.runtime.text"),
+				getContentType("org.eclipse.ui.genericeditor.tests.enabled-when-content-type"));
+		ISourceViewer viewer = getSourceViewer();
+		assertFalse(resolveUncached(viewer, fooContentTypes).isEmpty());
+
+		for (int i = 0; i < 2; i++) {
+			assertEquals(resolveUncached(viewer, fooContentTypes), cache.resolve(extensions, viewer, editor, fooContentTypes));
+		}
+		// the enabledWhen expressions are evaluated on every lookup
+		for (boolean enabled : new boolean[] { false, true, false }) {
+			EnabledPropertyTester.setEnabled(enabled);
+			List<GenericContentTypeRelatedExtension<IPresentationReconciler>> expected = resolveUncached(viewer, enabledWhenContentTypes);
+			assertEquals(expected, cache.resolve(extensions, viewer, editor, enabledWhenContentTypes));
+		}
+	}
+
+	@Test
+	public void testClearedBySync() {
+		QuickAssistProcessorRegistry registry = new QuickAssistProcessorRegistry();
+		try {
+			registry.getQuickAssistProcessors(getSourceViewer(), editor,
+					Set.of(getContentType("org.eclipse.ui.genericeditor.tests.content-type")));
+			Accessor registryAccessor = new Accessor(registry, QuickAssistProcessorRegistry.class);
+			Map<?, ?> candidates = getCandidates(registryAccessor.get("cache"));
+			assertFalse(candidates.isEmpty());
+
+			registryAccessor.invoke("sync", new Object[0]);
+			assertTrue(candidates.isEmpty());
+		} finally {
+			registry.dispose();
+		}
+	}
+
+	@Test
+	public void testClearedByContentTypeChange() throws Exception {
+		IContentType contentType = getContentType("org.eclipse.ui.genericeditor.tests.content-type-bar");
+		Set<IContentType> contentTypes = Set.of(contentType);
+		cache.resolve(extensions, getSourceViewer(), editor, contentTypes);
+		Map<?, ?> candidates = getCandidates(cache);
+		assertFalse(candidates.isEmpty());
+
+		contentType.addFileSpec("contentTypeExtensionCacheTest", IContentType.FILE_EXTENSION_SPEC);
+		try {
+			assertTrue(candidates.isEmpty());
+
+			// a disposed cache doesn't listen to content type changes anymore
+			cache.resolve(extensions, getSourceViewer(), editor, contentTypes);
+			cache.dispose();
+			cache.resolve(extensions, getSourceViewer(), editor, contentTypes);
+		} finally {
+			contentType.removeFileSpec("contentTypeExtensionCacheTest", IContentType.FILE_EXTENSION_SPEC);
+		}
+		assertFalse(candidates.isEmpty());
+	}
+
+	private List<GenericContentTypeRelatedExtension<IPresentationReconciler>> resolveUncached(ISourceViewer viewer,
+			Set<IContentType> contentTypes) {
+		List<GenericContentTypeRelatedExtension<IPresentationReconciler>> result = new ArrayList<>();
+		for (GenericContentTypeRelatedExtension<IPresentationReconciler> ext : extensions) {
+			if (contentTypes.contains(ext.targetContentType) && ext.matches(viewer, editor)) {
+				result.add(ext);
+			}
+		}
+		result.sort(new ContentTypeSpecializationComparator<>());
+		return result;
+	}
+
+	private static IContentType getContentType(String id) {
+		return Platform.getContentTypeManager().getContentType(id);
+	}
+
+	private static Map<?, ?> getCandidates(Object extensionCache) {
+		return (Map<?, ?>) new Accessor(extensionCache, ContentTypeExtensionCache.class).get("candidates");
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016-2017 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,7 +33,9 @@ import org.junit.runners.Suite.SuiteClasses;
 		HighlightTest.class,
 		IconsTest.class,
 		TestQuickAssist.class,
-		DoubleClickTest.class
+		DoubleClickTest.class,
+		IndentFoldingStrategyTest.class,
+		ContentTypeExtensionCacheTest.class
 })
 public class GenericEditorTestSuite {
 	// see @SuiteClasses
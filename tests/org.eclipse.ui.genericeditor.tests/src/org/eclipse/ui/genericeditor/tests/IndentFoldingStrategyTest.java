@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.genericeditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+import org.eclipse.jface.text.source.projection.ProjectionViewer;
+
+import org.eclipse.ui.internal.genericeditor.folding.IndentFoldingStrategy;
+
+public class IndentFoldingStrategyTest {
+
+	private Shell shell;
+	private final List<IndentFoldingStrategy> strategies = new ArrayList<>();
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+	}
+
+	@After
+	public void tearDown() {
+		for (IndentFoldingStrategy strategy : strategies) {
+			strategy.uninstall();
+		}
+		shell.dispose();
+	}
+
+	@Test
+	public void testInitialRegions() {
+		IDocument document = new Document("<a>\n <b>\n  c\n </b>\n</a>");
+		ProjectionViewer viewer = install(document, new IndentFoldingStrategy());
+		assertEquals(List.of(new Position(0, 19), new Position(4, 9)), getFoldingPositions(viewer));
+	}
+
+	@Test
+	public void testInsertLines() throws BadLocationException {
+		IDocument document = new Document("a\n b\n c\nd\n e\n");
+		IndentFoldingStrategy strategy = new IndentFoldingStrategy();
+		ProjectionViewer viewer = install(document, strategy);
+		assertEquals(List.of(new Position(0, 8), new Position(8, 5)), getFoldingPositions(viewer));
+
+		replace(strategy, document, 4, 0, "  x\n  y\n");
+		assertEquals(List.of(new Position(0, 16), new Position(2, 11), new Position(16, 5)),
+				getFoldingPositions(viewer));
+		assertSameRegions(document, viewer);
+	}
+
+	@Test
+	public void testRemoveLines() throws BadLocationException {
+		IDocument document = new Document("a\n b\n  c\n  d\n e\nf\n g\n");
+		IndentFoldingStrategy strategy = new IndentFoldingStrategy();
+		ProjectionViewer viewer = install(document, strategy);
+		assertEquals(List.of(new Position(0, 16), new Position(2, 11), new Position(16, 5)),
+				getFoldingPositions(viewer));
+
+		replace(strategy, document, 5, 8, "");
+		assertEquals(List.of(new Position(0, 8), new Position(8, 5)), getFoldingPositions(viewer));
+		assertSameRegions(document, viewer);
+	}
+
+	@Test
+	public void testChangeIndentation() throws BadLocationException {
+		IDocument document = new Document("a\n b\nc\n d\n");
+		IndentFoldingStrategy strategy = new IndentFoldingStrategy();
+		ProjectionViewer viewer = install(document, strategy);
+		assertEquals(List.of(new Position(0, 5), new Position(5, 5)), getFoldingPositions(viewer));
+
+		// the lines of the second region become part of the first one
+		replace(strategy, document, 5, 0, " ");
+		assertEquals(List.of(new Position(0, 11)), getFoldingPositions(viewer));
+		assertSameRegions(document, viewer);
+
+		replace(strategy, document, 5, 1, "");
+		assertEquals(List.of(new Position(0, 5), new Position(5, 5)), getFoldingPositions(viewer));
+		assertSameRegions(document, viewer);
+	}
+
+	@Test
+	public void testUnchangedRegionIsKept() throws BadLocationException {
+		IDocument document = new Document("a\n b\nc\n d\n");
+		IndentFoldingStrategy strategy = new IndentFoldingStrategy();
+		ProjectionViewer viewer = install(document, strategy);
+		Annotation first = getFoldingAnnotations(viewer).get(0);
+
+		replace(strategy, document, 8, 1, "e");
+		assertEquals(List.of(new Position(0, 5), new Position(5, 5)), getFoldingPositions(viewer));
+		assertSame(first, getFoldingAnnotations(viewer).get(0));
+	}
+
+	@Test
+	public void testSeveralChangesBeforeReconcile() throws BadLocationException {
+		IDocument document = new Document("a\n b\nc\n d\ne\n f\n");
+		IndentFoldingStrategy strategy = new IndentFoldingStrategy();
+		ProjectionViewer viewer = install(document, strategy);
+
+		document.replace(document.getLength(), 0, "g\n  h\n");
+		document.replace(0, 5, "");
+		document.replace(document.getLineOffset(1), 0, "  i\n");
+		strategy.reconcile(new DirtyRegion(0, document.getLength(), DirtyRegion.INSERT, document.get()), null);
+		assertSameRegions(document, viewer);
+	}
+
+	@Test
+	public void testKeywordRegion() throws BadLocationException {
+		IDocument document = new Document("import a\nimport b\nimport c\nclass X\n y");
+		IndentFoldingStrategy strategy = new IndentFoldingStrategy("import");
+		ProjectionViewer viewer = install(document, strategy);
+		assertEquals(List.of(new Position(0, 27), new Position(27, 10)), getFoldingPositions(viewer));
+
+		// a new keyword line extends the keyword region
+		replace(strategy, document, 27, 0, "import d\n");
+		assertEquals(List.of(new Position(0, 36), new Position(36, 10)), getFoldingPositions(viewer));
+
+		// a line without keyword splits it
+		replace(strategy, document, 9, 0, "x\n");
+		assertEquals(List.of(new Position(0, 9), new Position(11, 27), new Position(38, 10)),
+				getFoldingPositions(viewer));
+	}
+
+	private ProjectionViewer install(IDocument document, IndentFoldingStrategy strategy) {
+		ProjectionViewer viewer = new ProjectionViewer(shell, null, null, false, SWT.NONE);
+		viewer.setDocument(document, new AnnotationModel());
+		viewer.enableProjection();
+		strategy.setViewer(viewer);
+		strategy.setDocument(document);
+		strategy.initialReconcile();
+		strategies.add(strategy);
+		return viewer;
+	}
+
+	private static void replace(IndentFoldingStrategy strategy, IDocument document, int offset, int length,
+			String text) throws BadLocationException {
+		document.replace(offset, length, text);
+		String type = text.isEmpty() ? DirtyRegion.REMOVE : DirtyRegion.INSERT;
+		strategy.reconcile(new DirtyRegion(offset, text.isEmpty() ? length : text.length(), type, text), null);
+	}
+
+	/**
+	 * Asserts that the incrementally updated regions are the regions computed for
+	 * the whole document.
+	 */
+	private void assertSameRegions(IDocument document, ProjectionViewer viewer) {
+		ProjectionViewer expected = install(new Document(document.get()), new IndentFoldingStrategy());
+		assertEquals(getFoldingPositions(expected), getFoldingPositions(viewer));
+	}
+
+	private static List<Annotation> getFoldingAnnotations(ProjectionViewer viewer) {
+		ProjectionAnnotationModel model = viewer.getProjectionAnnotationModel();
+		List<Annotation> annotations = new ArrayList<>();
+		Iterator<Annotation> iter = model.getAnnotationIterator();
+		while (iter.hasNext()) {
+			annotations.add(iter.next());
+		}
+		annotations.sort(Comparator.comparingInt((Annotation a) -> model.getPosition(a).getOffset())
+				.thenComparingInt(a -> model.getPosition(a).getLength()));
+		return annotations;
+	}
+
+	private static List<Position> getFoldingPositions(ProjectionViewer viewer) {
+		ProjectionAnnotationModel model = viewer.getProjectionAnnotationModel();
+		List<Position> positions = new ArrayList<>();
+		for (Annotation annotation : getFoldingAnnotations(viewer)) {
+			Position position = model.getPosition(annotation);
+			positions.add(new Position(position.getOffset(), position.getLength()));
+		}
+		return positions;
+	}
+}
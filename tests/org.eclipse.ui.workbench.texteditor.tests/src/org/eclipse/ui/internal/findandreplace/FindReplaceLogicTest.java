@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Vector Informatik GmbH and others.
+ * Copyright (c) 2023, 2026 Vector Informatik GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -31,6 +32,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Predicate;
 
 import org.junit.After;
@@ -45,6 +49,8 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextSelection;
 import org.eclipse.jface.text.TextViewer;
 
@@ -921,6 +927,69 @@ public class FindReplaceLogicTest {
 		assertThat(findReplaceLogic.getTarget().getSelection(), is(new Point(5, 5)));
 	}
 
+	@Test
+	public void testSearchOccurrences() throws InterruptedException {
+		TextViewer textViewer= setupTextViewer("Hello hello HELLO world");
+		FindReplaceLogic findReplaceLogic= (FindReplaceLogic) setupFindReplaceLogicObject(textViewer);
+		List<IRegion> occurrences= new ArrayList<>();
+		findReplaceLogic.setOccurrencesListener(textViewer.getDocument(), (search, found, done) -> {
+			synchronized (occurrences) {
+				occurrences.addAll(found);
+			}
+		});
+
+		findReplaceLogic.setFindString("hello");
+		findReplaceLogic.getOccurrencesSearch().join();
+		assertThat(occurrences, is(List.of(new Region(0, 5), new Region(6, 5), new Region(12, 5))));
+
+		occurrences.clear();
+		findReplaceLogic.activate(SearchOptions.CASE_SENSITIVE);
+		findReplaceLogic.getOccurrencesSearch().join();
+		assertThat(occurrences, is(List.of(new Region(6, 5))));
+
+		occurrences.clear();
+		findReplaceLogic.setFindString("hel+o");
+		findReplaceLogic.activate(SearchOptions.REGEX);
+		findReplaceLogic.getOccurrencesSearch().join();
+		assertThat(occurrences, is(List.of(new Region(6, 5))));
+	}
+
+	@Test
+	public void testSearchOccurrencesWithEmptyFindString() throws InterruptedException {
+		TextViewer textViewer= setupTextViewer("hello");
+		FindReplaceLogic findReplaceLogic= (FindReplaceLogic) setupFindReplaceLogicObject(textViewer);
+		List<OccurrencesSearch> searches= new ArrayList<>();
+		findReplaceLogic.setOccurrencesListener(textViewer.getDocument(), (search, found, done) -> {
+			synchronized (searches) {
+				searches.add(search);
+			}
+		});
+
+		findReplaceLogic.setFindString("");
+		assertNull(findReplaceLogic.getOccurrencesSearch());
+		assertThat(searches, is(List.of()));
+
+		findReplaceLogic.setFindString("hello");
+		OccurrencesSearch search= findReplaceLogic.getOccurrencesSearch();
+		search.join();
+		findReplaceLogic.setFindString("");
+		// no search is started, the occurrences of the previous one are cleared
+		assertNull(findReplaceLogic.getOccurrencesSearch());
+		assertThat(searches, is(Arrays.asList(search, null)));
+	}
+
+	@Test
+	public void testSearchOccurrencesDisabled() {
+		TextViewer textViewer= setupTextViewer("hello");
+		FindReplaceLogic findReplaceLogic= (FindReplaceLogic) setupFindReplaceLogicObject(textViewer);
+		findReplaceLogic.setOccurrencesListener(textViewer.getDocument(), (search, found, done) -> {
+			// not needed
+		});
+		findReplaceLogic.setOccurrencesListener(null, null);
+		findReplaceLogic.setFindString("hello");
+		assertNull(findReplaceLogic.getOccurrencesSearch());
+	}
+
 	private void expectStatusEmpty(IFindReplaceLogic findReplaceLogic) {
 		assertThat(findReplaceLogic.getStatus(), instanceOf(NoStatus.class));
 	}
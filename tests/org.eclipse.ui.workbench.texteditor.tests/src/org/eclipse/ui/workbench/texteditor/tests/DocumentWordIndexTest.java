@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.ui.internal.texteditor.DocumentWordIndex;
+
+public class DocumentWordIndexTest {
+
+	private static final IntPredicate WORD_PART= DocumentWordIndex.UNICODE_WORD_PART;
+
+	private static final IntPredicate DIGIT= Character::isDigit;
+
+	/**
+	 * A document that is accessed under its lock object, like the documents of
+	 * file buffers.
+	 */
+	private static class SynchronizedDocument extends Document implements ISynchronizable {
+		private final Object lock= new Object();
+
+		SynchronizedDocument(String text) {
+			super(text);
+		}
+
+		@Override
+		public void setLockObject(Object lockObject) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object getLockObject() {
+			return lock;
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) throws BadLocationException {
+			synchronized (lock) {
+				super.replace(offset, length, text);
+			}
+		}
+
+		@Override
+		public String get() {
+			synchronized (lock) {
+				return super.get();
+			}
+		}
+
+		@Override
+		public String get(int offset, int length) throws BadLocationException {
+			synchronized (lock) {
+				return super.get(offset, length);
+			}
+		}
+
+		@Override
+		public int getLineOffset(int line) throws BadLocationException {
+			synchronized (lock) {
+				return super.getLineOffset(line);
+			}
+		}
+
+		@Override
+		public int getLineOfOffset(int offset) throws BadLocationException {
+			synchronized (lock) {
+				return super.getLineOfOffset(offset);
+			}
+		}
+
+		@Override
+		public IRegion getLineInformation(int line) throws BadLocationException {
+			synchronized (lock) {
+				return super.getLineInformation(line);
+			}
+		}
+	}
+
+	@Test
+	public void testWordsStartingWith() throws Exception {
+		IDocument document= new Document("bar barn\nfoo_bar bark\n\nbar");
+		DocumentWordIndex index= DocumentWordIndex.get(document, WORD_PART);
+		assertEquals(List.of("bar", "bark", "barn"), index.getWordsStartingWith(document, "bar"));
+		assertEquals(List.of("foo_bar"), index.getWordsStartingWith(document, "f"));
+		assertEquals(List.of(), index.getWordsStartingWith(document, "x"));
+	}
+
+	@Test
+	public void testWordStarts() throws Exception {
+		IDocument document= new Document("bar barn\nfoo_bar bark\n\nbar");
+		DocumentWordIndex index= DocumentWordIndex.get(document, WORD_PART);
+		assertArrayEquals(new int[] { 0, 4, 17, 23 }, index.getWordStarts(document, "bar"));
+		assertArrayEquals(new int[0], index.getWordStarts(document, "x"));
+	}
+
+	@Test
+	public void testWordDefinitions() throws Exception {
+		IDocument document= new Document("a1 22b 333");
+		assertSame(DocumentWordIndex.get(document, WORD_PART), DocumentWordIndex.get(document, WORD_PART));
+		assertNotSame(DocumentWordIndex.get(document, WORD_PART), DocumentWordIndex.get(document, DIGIT));
+		assertEquals(List.of("22b", "333", "a1"), DocumentWordIndex.get(document, WORD_PART).getWordsStartingWith(document, ""));
+		assertEquals(List.of("1", "22", "333"), DocumentWordIndex.get(document, DIGIT).getWordsStartingWith(document, ""));
+		assertEquals(new Region(1, 1), DocumentWordIndex.get(document, DIGIT).findWord(document, 1));
+	}
+
+	@Test
+	public void testOccurrences() throws Exception {
+		IDocument document= new Document("bar barn\nfoo_bar bar\n\nbar");
+		DocumentWordIndex index= DocumentWordIndex.get(document, WORD_PART);
+		assertEquals(List.of(new Region(0, 3), new Region(17, 3), new Region(22, 3)), index.getOccurrences(document, "bar"));
+		assertEquals(List.of(), index.getOccurrences(document, "ba"));
+	}
+
+	@Test
+	public void testFindWord() throws Exception {
+		IDocument document= new Document("one two\nété");
+		DocumentWordIndex index= DocumentWordIndex.get(document, WORD_PART);
+		assertEquals(new Region(0, 3), index.findWord(document, 0));
+		assertEquals(new Region(0, 3), index.findWord(document, 3));
+		assertEquals(new Region(4, 3), index.findWord(document, 5));
+		assertEquals(new Region(8, 3), index.findWord(document, 9));
+		document.set("one  two");
+		assertNull(index.findWord(document, 4));
+	}
+
+	@Test
+	public void testIncrementalUpdate() throws Exception {
+		IDocument document= new Document("alpha beta\ngamma\ndelta alpha");
+		DocumentWordIndex index= DocumentWordIndex.get(document, WORD_PART);
+		assertEquals(2, index.getOccurrences(document, "alpha").size());
+
+		// join lines and add a word
+		document.replace(10, 7, " alphabet\n");
+		assertEquals("alpha beta alphabet\ndelta alpha", document.get());
+		assertEquals(List.of(), index.getOccurrences(document, "gamma"));
+		assertEquals(List.of("alpha", "alphabet"), index.getWordsStartingWith(document, "alpha"));
+		assertEquals(List.of(new Region(0, 5), new Region(26, 5)), index.getOccurrences(document, "alpha"));
+
+		// split a line
+		document.replace(4, 0, "\n");
+		assertEquals(List.of(new Region(27, 5)), index.getOccurrences(document, "alpha"));
+		assertEquals(List.of(new Region(0, 4)), index.getOccurrences(document, "alph"));
+	}
+
+	@Test
+	public void testChangesBetweenQueries() throws Exception {
+		IDocument document= new Document("a b\nc d\ne f\ng h");
+		DocumentWordIndex index= DocumentWordIndex.get(document, WORD_PART);
+		assertEquals(List.of("a", "b", "c", "d", "e", "f", "g", "h"), index.getWordsStartingWith(document, ""));
+
+		document.replace(2, 3, "x\ny\nz"); // a x / y / z d / e f / g h
+		document.replace(0, 0, "new\n"); // new / a x / y / z d / e f / g h
+		document.replace(document.getLineOffset(4), document.getLineLength(4), ""); // new / a x / y / z d / g h
+		assertEquals("new\na x\ny\nz d\ng h", document.get());
+		assertEquals(List.of("a", "d", "g", "h", "new", "x", "y", "z"), index.getWordsStartingWith(document, ""));
+		assertEquals(List.of(new Region(12, 1)), index.getOccurrences(document, "d"));
+		assertEquals(new Region(16, 1), index.findWord(document, 16));
+	}
+
+	@Test
+	public void testManyChangesBetweenQueries() throws Exception {
+		IDocument document= new Document("start");
+		DocumentWordIndex index= DocumentWordIndex.get(document, WORD_PART);
+		assertEquals(List.of("start"), index.getWordsStartingWith(document, "s"));
+		for (int i= 0; i < 2000; i++) {
+			document.replace(document.getLength(), 0, "\nw" + i);
+		}
+		assertEquals(2000, index.getWordsStartingWith(document, "w").size());
+		assertEquals(List.of(new Region(document.getLength() - 5, 5)), index.getOccurrences(document, "w1999"));
+	}
+
+	@Test
+	public void testConcurrentChanges() throws Exception {
+		SynchronizedDocument document= new SynchronizedDocument("alpha beta\ngamma");
+		DocumentWordIndex index= DocumentWordIndex.get(document, WORD_PART);
+		Thread writer= new Thread(() -> {
+			Random random= new Random(42);
+			try {
+				for (int i= 0; i < 2000; i++) {
+					int offset= random.nextInt(document.getLength() + 1);
+					document.replace(offset, 0, random.nextBoolean() ? " alpha\n" : " beta ");
+				}
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		writer.start();
+		while (writer.isAlive()) {
+			try {
+				index.getWordsStartingWith(document, "al");
+				index.getOccurrences(document, "beta");
+			} catch (BadLocationException e) {
+				// the document has been changed
+			}
+		}
+		writer.join(10000);
+		assertFalse(writer.isAlive());
+
+		IDocument copy= new Document(document.get());
+		assertEquals(DocumentWordIndex.get(copy, WORD_PART).getOccurrences(copy, "alpha"), index.getOccurrences(document, "alpha"));
+		assertEquals(DocumentWordIndex.get(copy, WORD_PART).getOccurrences(copy, "beta"), index.getOccurrences(document, "beta"));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -439,6 +439,27 @@ public class HippieCompletionTest {
 	}
 
 
+	@Test
+	public void testDocumentChanges() throws BadLocationException {
+		IDocument document= new Document("alpha beta\nalphabet\n");
+		assertEquals(Arrays.asList("bet"), fEngine.getCompletionsForward(document, "alpha", 0, false));
+
+		document.replace(0, 0, "alphanumeric ");
+		assertEquals(Arrays.asList("numeric", "bet"), fEngine.getCompletionsForward(document, "alpha", 0, false));
+		assertEquals(Arrays.asList("numeric"), fEngine.getCompletionsBackwards(document, "alpha", 18));
+
+		// join the lines and split a word
+		document.replace(document.get().indexOf("\nalphabet"), 6, " al\npha");
+		assertEquals("alphanumeric alpha beta al\nphabet\n", document.get());
+		assertEquals(Arrays.asList("numeric"), fEngine.getCompletionsForward(document, "alpha", 0, false));
+		assertEquals(Arrays.asList("numeric"), fEngine.getCompletionsBackwards(document, "alpha", document.getLength()));
+		assertEquals(Arrays.asList("bet"), fEngine.getCompletionsForward(document, "pha", 0, false));
+
+		document.set("alphabet");
+		assertEquals(Arrays.asList("bet"), fEngine.getCompletionsForward(document, "alpha", 0, false));
+		assertEquals(0, fEngine.getCompletionsForward(document, "alphanumeric", 0, false).size());
+	}
+
 	/*
 	 * Getting completions lazily
 	 */
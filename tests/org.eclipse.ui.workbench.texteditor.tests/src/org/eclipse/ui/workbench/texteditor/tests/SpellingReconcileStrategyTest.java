@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.preference.PreferenceStore;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.ISourceViewer;
+
+import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
+import org.eclipse.ui.texteditor.spelling.SpellingProblem;
+import org.eclipse.ui.texteditor.spelling.SpellingReconcileStrategy;
+import org.eclipse.ui.texteditor.spelling.SpellingService;
+
+public class SpellingReconcileStrategyTest {
+
+	private static final String MISSPELLED= "teh";
+
+	/**
+	 * Spelling service reporting every occurrence of {@link #MISSPELLED} in the
+	 * checked regions, and recording the checked regions.
+	 */
+	private static class RecordingSpellingService extends SpellingService {
+		final List<IRegion[]> fChecks= new ArrayList<>();
+		boolean fCancel;
+
+		RecordingSpellingService() {
+			super(new PreferenceStore());
+		}
+
+		@Override
+		public void check(IDocument document, IRegion[] regions, SpellingContext context, ISpellingProblemCollector collector, IProgressMonitor monitor) {
+			fChecks.add(regions.clone());
+			collector.beginCollecting();
+			try {
+				for (IRegion region : regions) {
+					String text= document.get(region.getOffset(), region.getLength());
+					for (int i= text.indexOf(MISSPELLED); i != -1; i= text.indexOf(MISSPELLED, i + 1))
+						collector.accept(new Problem(region.getOffset() + i));
+				}
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			}
+			if (fCancel)
+				monitor.setCanceled(true);
+			collector.endCollecting();
+		}
+
+		IRegion[] getLastCheck() {
+			return fChecks.get(fChecks.size() - 1);
+		}
+	}
+
+	private static class Problem extends SpellingProblem {
+		private final int fOffset;
+
+		Problem(int offset) {
+			fOffset= offset;
+		}
+
+		@Override
+		public int getOffset() {
+			return fOffset;
+		}
+
+		@Override
+		public int getLength() {
+			return MISSPELLED.length();
+		}
+
+		@Override
+		public String getMessage() {
+			return MISSPELLED;
+		}
+
+		@Override
+		public ICompletionProposal[] getProposals() {
+			return new ICompletionProposal[0];
+		}
+	}
+
+	private IDocument fDocument;
+	private AnnotationModel fAnnotationModel;
+	private RecordingSpellingService fService;
+	private SpellingReconcileStrategy fStrategy;
+	private IProgressMonitor fMonitor;
+
+	@Before
+	public void setUp() {
+		fDocument= new Document("teh one\ntwo\nteh three\nfour");
+		fAnnotationModel= new AnnotationModel();
+		fAnnotationModel.connect(fDocument);
+		ISourceViewer viewer= mock(ISourceViewer.class);
+		when(viewer.getAnnotationModel()).thenReturn(fAnnotationModel);
+		fService= new RecordingSpellingService();
+		fStrategy= new SpellingReconcileStrategy(viewer, fService);
+		fMonitor= new NullProgressMonitor();
+		fStrategy.setProgressMonitor(fMonitor);
+	}
+
+	@After
+	public void tearDown() {
+		fStrategy.uninstall();
+		fAnnotationModel.disconnect(fDocument);
+	}
+
+	@Test
+	public void testInitialReconcile() {
+		fStrategy.setDocument(fDocument);
+		fStrategy.initialReconcile();
+		assertArrayEquals(new IRegion[] { new Region(0, fDocument.getLength()) }, fService.getLastCheck());
+		assertEquals(List.of(new Region(0, 3), new Region(12, 3)), getAnnotationRegions());
+	}
+
+	@Test
+	public void testReconcileChangedLines() throws BadLocationException {
+		fStrategy.setDocument(fDocument);
+		fStrategy.initialReconcile();
+		Annotation first= getAnnotations().get(0);
+
+		fDocument.replace(8, 0, "teh ");
+		reconcileDocument();
+		assertArrayEquals(new IRegion[] { new Region(8, 7) }, fService.getLastCheck());
+		assertEquals(List.of(new Region(0, 3), new Region(8, 3), new Region(16, 3)), getAnnotationRegions());
+		// the annotations of the unchanged lines are kept
+		assertSame(first, getAnnotations().get(0));
+
+		fDocument.replace(16, 3, "the");
+		fDocument.replace(4, 3, "on");
+		reconcileDocument();
+		assertArrayEquals(new IRegion[] { new Region(0, 6), new Region(15, 9) }, fService.getLastCheck());
+		assertEquals(List.of(new Region(0, 3), new Region(7, 3)), getAnnotationRegions());
+	}
+
+	@Test
+	public void testReconcileWithoutChanges() {
+		fStrategy.setDocument(fDocument);
+		fStrategy.initialReconcile();
+		reconcileDocument();
+		assertArrayEquals(new IRegion[] { new Region(0, fDocument.getLength()) }, fService.getLastCheck());
+	}
+
+	@Test
+	public void testPartitionChange() throws BadLocationException {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] { new MultiLineRule("/*", "*/", new Token("comment"), (char) 0, true) });
+		FastPartitioner partitioner= new FastPartitioner(scanner, new String[] { "comment" });
+		partitioner.connect(fDocument);
+		fDocument.setDocumentPartitioner(partitioner);
+		fStrategy.setDocument(fDocument);
+		fStrategy.initialReconcile();
+
+		// the following lines become a comment
+		fDocument.replace(8, 0, "/*");
+		reconcileDocument();
+		assertArrayEquals(new IRegion[] { new Region(8, fDocument.getLength() - 8) }, fService.getLastCheck());
+	}
+
+	@Test
+	public void testCanceledReconcile() throws BadLocationException {
+		fStrategy.setDocument(fDocument);
+		fStrategy.initialReconcile();
+
+		fDocument.replace(8, 0, "teh ");
+		fService.fCancel= true;
+		reconcileDocument();
+		assertArrayEquals(new IRegion[] { new Region(8, 7) }, fService.getLastCheck());
+
+		// the next reconcile checks the whole document again
+		fService.fCancel= false;
+		fMonitor.setCanceled(false);
+		reconcileDocument();
+		assertArrayEquals(new IRegion[] { new Region(0, fDocument.getLength()) }, fService.getLastCheck());
+	}
+
+	@Test
+	public void testUninstall() throws BadLocationException {
+		fStrategy.setDocument(fDocument);
+		fStrategy.initialReconcile();
+		fStrategy.uninstall();
+
+		// the change is not recorded, the whole document is checked
+		fDocument.replace(8, 0, "teh ");
+		reconcileDocument();
+		assertArrayEquals(new IRegion[] { new Region(0, fDocument.getLength()) }, fService.getLastCheck());
+	}
+
+	@Test
+	public void testSetDocument() throws BadLocationException {
+		fStrategy.setDocument(fDocument);
+		fStrategy.initialReconcile();
+		IDocument other= new Document("teh");
+		fStrategy.setDocument(other);
+		fStrategy.setDocument(fDocument);
+
+		// the change of the previous document is forgotten, the change of the current one recorded
+		fDocument.replace(8, 0, "teh ");
+		reconcileDocument();
+		assertArrayEquals(new IRegion[] { new Region(8, 7) }, fService.getLastCheck());
+	}
+
+	private void reconcileDocument() {
+		fStrategy.reconcile(new Region(0, fDocument.getLength()));
+	}
+
+	private List<Annotation> getAnnotations() {
+		List<Annotation> annotations= new ArrayList<>();
+		Iterator<Annotation> iter= fAnnotationModel.getAnnotationIterator();
+		while (iter.hasNext())
+			annotations.add(iter.next());
+		annotations.sort(Comparator.comparingInt(annotation -> fAnnotationModel.getPosition(annotation).getOffset()));
+		return annotations;
+	}
+
+	private List<IRegion> getAnnotationRegions() {
+		List<IRegion> regions= new ArrayList<>();
+		for (Annotation annotation : getAnnotations())
+			regions.add(new Region(fAnnotationModel.getPosition(annotation).getOffset(), fAnnotationModel.getPosition(annotation).getLength()));
+		return regions;
+	}
+}